@@ -3,6 +3,7 @@ package com.genesys.v1.xxpermission_ktx
 import android.annotation.SuppressLint
 import android.content.Intent
 import android.os.Bundle
+import android.os.Trace
 import androidx.appcompat.app.AlertDialog
 import androidx.appcompat.app.AppCompatActivity
 import com.genesys.v1.xxpermission_ktx.databinding.ActivityMainBinding
@@ -21,24 +22,31 @@ class MainActivity : AppCompatActivity() {
         binding = ActivityMainBinding.inflate(layoutInflater)
         setContentView(binding.root)
         binding.btnTestPermission.setOnClickListener {
-            xxPermissions {
-                permissions(PermissionLists.getReadMediaImagesPermission())
-                permissions(PermissionLists.getReadMediaVisualUserSelectedPermission())
-                permissions(PermissionLists.getWriteExternalStoragePermission())
-                onDoNotAskAgain { permissions, userResult ->
-                    showDoNotAskAgainDialog(permissions[0],userResult)
-                }
-                onResult { allGranted, grantedData, deniedData ->
-                    if (allGranted) {
-                        startActivity(Intent(this@MainActivity, PhotoPickerActivity::class.java))
-                    } else {
-                        Timber.tag("Here").w("Media permission denied: %s", deniedData)
+            // Measured by the :baselineprofile benchmarks
+            Trace.beginSection("PermissionRequest")
+            try {
+                xxPermissions {
+                    permissions(PermissionLists.getReadMediaImagesPermission())
+                    permissions(PermissionLists.getReadMediaVisualUserSelectedPermission())
+                    permissions(PermissionLists.getWriteExternalStoragePermission())
+                    onDoNotAskAgain { permissions, userResult ->
+                        showDoNotAskAgainDialog(permissions[0],userResult)
+                    }
+                    onResult { allGranted, grantedData, deniedData ->
+                        if (allGranted) {
+                            startActivity(Intent(this@MainActivity, PhotoPickerActivity::class.java))
+                        } else {
+                            Timber.tag("Here").w("Media permission denied: %s", deniedData)
+                        }
                     }
                 }
+            } finally {
+                Trace.endSection()
             }
         }
 
         binding.btnCheckRestrict.setOnClickListener {
+            Trace.beginSection("PermissionCheck")
             val hasFullImages = XXPermissions.isGrantedPermission(
                 this@MainActivity,
                 PermissionLists.getReadMediaImagesPermission()
@@ -48,6 +56,7 @@ class MainActivity : AppCompatActivity() {
                 PermissionLists.getReadMediaVisualUserSelectedPermission()
             )
             val isRestricted = hasSelectedOnly && !hasFullImages
+            Trace.endSection()
             Timber.tag("Here").d("Restrict: ${hasFullImages}")
         }
 
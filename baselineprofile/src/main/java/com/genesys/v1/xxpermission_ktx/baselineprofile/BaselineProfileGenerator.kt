@@ -0,0 +1,35 @@
+package com.genesys.v1.xxpermission_ktx.baselineprofile
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.filters.LargeTest
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Generates the baseline profile of the request and check paths.
+ *
+ * Run with `./gradlew :xxpermission:generateBaselineProfile` on a device or emulator (Android 9+),
+ * the rules of the library are written to xxpermission/src/main/generated/baselineProfiles.
+ */
+@RunWith(AndroidJUnit4::class)
+@LargeTest
+class BaselineProfileGenerator {
+
+    @get:Rule
+    val rule = BaselineProfileRule()
+
+    @Test
+    fun generate() = rule.collect(
+        packageName = TARGET_PACKAGE,
+        // The first request usually happens right after launch, during onboarding
+        includeInStartupProfile = true
+    ) {
+        resetMediaPermissions()
+        pressHome()
+        startActivityAndWait()
+        checkPermissions()
+        requestMediaPermissions()
+    }
+}
@@ -0,0 +1,58 @@
+package com.genesys.v1.xxpermission_ktx.baselineprofile
+
+import androidx.benchmark.macro.MacrobenchmarkScope
+import androidx.test.uiautomator.By
+import androidx.test.uiautomator.Until
+import java.util.regex.Pattern
+
+/** Package name of the sample app driven by the journeys */
+internal const val TARGET_PACKAGE = "com.genesys.v1.xxpermission_ktx"
+
+/** Trace section wrapping the grant checks of the sample app (btn_check_restrict) */
+internal const val PERMISSION_CHECK_SECTION = "PermissionCheck"
+
+/** Trace section wrapping the permission request of the sample app (btn_test_permission) */
+internal const val PERMISSION_REQUEST_SECTION = "PermissionRequest"
+
+/** Permissions requested by btn_test_permission */
+private val MEDIA_PERMISSIONS = listOf(
+    "android.permission.READ_MEDIA_IMAGES",
+    "android.permission.READ_MEDIA_VISUAL_USER_SELECTED",
+    "android.permission.READ_EXTERNAL_STORAGE",
+    "android.permission.WRITE_EXTERNAL_STORAGE"
+)
+
+/** Package of the system permission dialog (AOSP or Google builds) */
+private val PERMISSION_CONTROLLER_PATTERN = Pattern.compile("com\\.(google\\.)?android\\.permissioncontroller")
+
+private const val WAIT_TIMEOUT_MILLIS = 5_000L
+
+/**
+ * Put the media permissions back to "never asked", so every run goes through the full request path.
+ */
+internal fun MacrobenchmarkScope.resetMediaPermissions() {
+    for (permission in MEDIA_PERMISSIONS) {
+        // Fails silently for permissions that do not exist on the device
+        device.executeShellCommand("pm revoke $packageName $permission")
+        device.executeShellCommand("pm clear-permission-flags $packageName $permission user-set user-fixed")
+    }
+}
+
+/**
+ * Run the grant checks of the sample app.
+ */
+internal fun MacrobenchmarkScope.checkPermissions() {
+    device.findObject(By.res(packageName, "btn_check_restrict")).click()
+    device.waitForIdle()
+}
+
+/**
+ * Request the media permissions, then deny the system dialog to come back to the sample app.
+ */
+internal fun MacrobenchmarkScope.requestMediaPermissions() {
+    device.findObject(By.res(packageName, "btn_test_permission")).click()
+    if (device.wait(Until.hasObject(By.pkg(PERMISSION_CONTROLLER_PATTERN)), WAIT_TIMEOUT_MILLIS)) {
+        device.pressBack()
+    }
+    device.wait(Until.hasObject(By.res(packageName, "btn_test_permission")), WAIT_TIMEOUT_MILLIS)
+}
@@ -0,0 +1,54 @@
+package com.genesys.v1.xxpermission_ktx.baselineprofile
+
+import androidx.benchmark.macro.BaselineProfileMode
+import androidx.benchmark.macro.CompilationMode
+import androidx.benchmark.macro.ExperimentalMetricApi
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.TraceSectionMetric
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.filters.LargeTest
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Compares the latency of the first grant check and permission request in a cold process,
+ * interpreted versus with the baseline profile installed.
+ *
+ * Run with `./gradlew :baselineprofile:connectedBenchmarkReleaseAndroidTest`.
+ */
+@OptIn(ExperimentalMetricApi::class)
+@RunWith(AndroidJUnit4::class)
+@LargeTest
+class PermissionRequestBenchmarks {
+
+    @get:Rule
+    val rule = MacrobenchmarkRule()
+
+    @Test
+    fun requestWithoutProfile() = benchmarkRequest(CompilationMode.None())
+
+    @Test
+    fun requestWithBaselineProfile() = benchmarkRequest(CompilationMode.Partial(BaselineProfileMode.Require))
+
+    private fun benchmarkRequest(compilationMode: CompilationMode) = rule.measureRepeated(
+        packageName = TARGET_PACKAGE,
+        metrics = listOf(
+            TraceSectionMetric(PERMISSION_CHECK_SECTION),
+            TraceSectionMetric(PERMISSION_REQUEST_SECTION)
+        ),
+        compilationMode = compilationMode,
+        // A cold process is what the first request after install runs in
+        startupMode = StartupMode.COLD,
+        iterations = 10,
+        setupBlock = {
+            resetMediaPermissions()
+            pressHome()
+            startActivityAndWait()
+        }
+    ) {
+        checkPermissions()
+        requestMediaPermissions()
+    }
+}
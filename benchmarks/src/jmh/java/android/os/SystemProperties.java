@@ -0,0 +1,86 @@
+package android.os;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/24
+ *    desc   : Pure Java replacement of the framework SystemProperties for the JVM benchmarks.
+ *             The framework version reads the properties through native methods, which would make
+ *             {@link Build.VERSION} fail to initialize outside of a device.
+ *             Any property can be overridden with a JVM system property of the same key,
+ *             e.g. -Dro.build.version.sdk=30 to run the benchmarks as Android 11.
+ */
+public final class SystemProperties {
+
+    /** Default properties of the simulated device */
+    private static final Map<String, String> DEFAULT_PROPERTIES = new HashMap<>();
+
+    static {
+        DEFAULT_PROPERTIES.put("ro.build.version.sdk", "34");
+        DEFAULT_PROPERTIES.put("ro.build.version.release", "14");
+        DEFAULT_PROPERTIES.put("ro.build.version.codename", "REL");
+        DEFAULT_PROPERTIES.put("ro.build.version.all_codenames", "REL");
+        DEFAULT_PROPERTIES.put("ro.product.manufacturer", "Google");
+        DEFAULT_PROPERTIES.put("ro.product.brand", "google");
+        DEFAULT_PROPERTIES.put("ro.product.model", "JVM");
+    }
+
+    private SystemProperties() {
+        // default implementation ignored
+    }
+
+    public static String get(String key) {
+        return get(key, "");
+    }
+
+    public static String get(String key, String def) {
+        String value = System.getProperty(key);
+        if (value != null) {
+            return value;
+        }
+        value = DEFAULT_PROPERTIES.get(key);
+        return value != null ? value : def;
+    }
+
+    public static int getInt(String key, int def) {
+        try {
+            return Integer.parseInt(get(key));
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    public static long getLong(String key, long def) {
+        try {
+            return Long.parseLong(get(key));
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean def) {
+        String value = get(key);
+        if ("1".equals(value) || "y".equals(value) || "yes".equals(value) || "on".equals(value) || "true".equals(value)) {
+            return true;
+        }
+        if ("0".equals(value) || "n".equals(value) || "no".equals(value) || "off".equals(value) || "false".equals(value)) {
+            return false;
+        }
+        return def;
+    }
+
+    public static void set(String key, String val) {
+        System.setProperty(key, val);
+    }
+
+    public static void addChangeCallback(Runnable callback) {
+        // default implementation ignored
+    }
+
+    public static void removeChangeCallback(Runnable callback) {
+        // default implementation ignored
+    }
+}
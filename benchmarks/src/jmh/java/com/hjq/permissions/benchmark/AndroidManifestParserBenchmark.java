@@ -0,0 +1,40 @@
+package com.hjq.permissions.benchmark;
+
+import com.hjq.permissions.benchmark.fake.FakeXmlResourceParser;
+import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/24
+ *    desc   : Manifest parsing, which the request checks pay once per process
+ */
+@State(Scope.Benchmark)
+public class AndroidManifestParserBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String manifestSize;
+
+    private String mManifest;
+
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.installEnvironment();
+        mManifest = BenchmarkEnvironment.getManifest(manifestSize);
+    }
+
+    @Benchmark
+    public AndroidManifestInfo parseAndroidManifest() throws IOException, XmlPullParserException {
+        try (FakeXmlResourceParser parser = new FakeXmlResourceParser(mManifest)) {
+            return AndroidManifestParser.parseAndroidManifest(parser);
+        }
+    }
+}
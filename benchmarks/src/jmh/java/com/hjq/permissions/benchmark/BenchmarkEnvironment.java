@@ -0,0 +1,119 @@
+package com.hjq.permissions.benchmark;
+
+import android.os.Build;
+import androidx.annotation.NonNull;
+import com.hjq.permissions.XXPermissionsConfig;
+import com.hjq.permissions.benchmark.fake.FakeActivity;
+import com.hjq.permissions.benchmark.fake.FakeContext;
+import com.hjq.permissions.environment.FakePermissionEnvironment;
+import com.hjq.permissions.tools.DeviceProfile;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/24
+ *    desc   : Shared setup of the JVM benchmarks.
+ */
+public final class BenchmarkEnvironment {
+
+    /** Target SDK of the simulated app */
+    public static final int TARGET_SDK_VERSION = 35;
+
+    /** Captured manifest of the sample app */
+    private static final String APP_MANIFEST_PATH = "/manifests/app.xml";
+
+    /** Components added per step when synthesizing the larger manifests */
+    private static final int MEDIUM_MANIFEST_COMPONENTS = 50;
+    private static final int LARGE_MANIFEST_COMPONENTS = 500;
+
+    private BenchmarkEnvironment() {
+        // default implementation ignored
+    }
+
+    /**
+     * Install an in-memory permission environment, so that no benchmark pays for (or depends on)
+     * the OEM system probing, AppOps reflection or system services.
+     */
+    public static void installEnvironment() {
+        XXPermissionsConfig.setPermissionEnvironment(new FakePermissionEnvironment()
+                .setCurrentVersion(Build.VERSION.SDK_INT)
+                .setTargetVersion(TARGET_SDK_VERSION)
+                .setDeviceProfile(new DeviceProfile.Builder().build()));
+    }
+
+    @NonNull
+    public static FakeContext createContext() {
+        installEnvironment();
+        return new FakeContext(TARGET_SDK_VERSION);
+    }
+
+    @NonNull
+    public static FakeActivity createActivity() {
+        return FakeActivity.create(createContext());
+    }
+
+    /**
+     * Get the manifest text of the given size.
+     *
+     * @param size      "small" is the captured sample app manifest, "medium" and "large" add
+     *                  generated permissions and components, like apps pulling in many SDKs do
+     */
+    @NonNull
+    public static String getManifest(@NonNull String size) {
+        String manifest = readResource(APP_MANIFEST_PATH);
+        switch (size) {
+            case "small":
+                return manifest;
+            case "medium":
+                return inflateManifest(manifest, MEDIUM_MANIFEST_COMPONENTS);
+            case "large":
+                return inflateManifest(manifest, LARGE_MANIFEST_COMPONENTS);
+            default:
+                throw new IllegalArgumentException("Unknown manifest size: " + size);
+        }
+    }
+
+    @NonNull
+    private static String inflateManifest(@NonNull String manifest, int count) {
+        StringBuilder permissions = new StringBuilder();
+        StringBuilder components = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            permissions.append("    <uses-permission android:name=\"com.example.sdk")
+                    .append(i).append(".permission.C2D_MESSAGE\" />\n");
+            components.append("        <activity android:name=\"com.example.sdk")
+                    .append(i).append(".SdkActivity\" android:exported=\"false\" />\n")
+                    .append("        <service android:name=\"com.example.sdk")
+                    .append(i).append(".SdkService\" android:exported=\"false\"")
+                    .append(" android:permission=\"android.permission.BIND_JOB_SERVICE\" />\n")
+                    .append("        <receiver android:name=\"com.example.sdk")
+                    .append(i).append(".SdkReceiver\" android:exported=\"false\" />\n")
+                    .append("        <meta-data android:name=\"com.example.sdk")
+                    .append(i).append(".API_KEY\" android:value=\"key").append(i).append("\" />\n");
+        }
+        return manifest
+                .replace("    <application", permissions + "\n    <application")
+                .replace("    </application>", components + "    </application>");
+    }
+
+    @NonNull
+    private static String readResource(@NonNull String path) {
+        try (InputStream inputStream = BenchmarkEnvironment.class.getResourceAsStream(path)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Missing benchmark resource: " + path);
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
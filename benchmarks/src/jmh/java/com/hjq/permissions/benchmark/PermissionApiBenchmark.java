@@ -0,0 +1,72 @@
+package com.hjq.permissions.benchmark;
+
+import android.content.Intent;
+import com.hjq.permissions.benchmark.fake.FakeContext;
+import com.hjq.permissions.permission.PermissionLists;
+import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.tools.PermissionApi;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/24
+ *    desc   : Request list expansion and settings page selection
+ */
+@State(Scope.Benchmark)
+public class PermissionApiBenchmark {
+
+    private FakeContext mContext;
+
+    /** Permissions without legacy permissions on the simulated version */
+    private List<IPermission> mModernPermissions;
+
+    /** Permissions with legacy permissions, only expanded when run with -Dro.build.version.sdk=28 or lower */
+    private List<IPermission> mLegacyPermissions;
+
+    /** Special permissions that share a settings page */
+    private List<IPermission> mSpecialPermissions;
+
+    @Setup
+    public void setup() {
+        mContext = BenchmarkEnvironment.createContext();
+        mModernPermissions = Arrays.asList(
+                PermissionLists.getCameraPermission(),
+                PermissionLists.getRecordAudioPermission(),
+                PermissionLists.getAccessFineLocationPermission(),
+                PermissionLists.getAccessCoarseLocationPermission());
+        mLegacyPermissions = Arrays.asList(
+                PermissionLists.getManageExternalStoragePermission(),
+                PermissionLists.getReadMediaImagesPermission(),
+                PermissionLists.getReadMediaVideoPermission(),
+                PermissionLists.getPostNotificationsPermission());
+        mSpecialPermissions = Arrays.asList(
+                PermissionLists.getSystemAlertWindowPermission(),
+                PermissionLists.getWriteSettingsPermission());
+    }
+
+    @Benchmark
+    public List<IPermission> addOldPermissionsByNewPermissionsModern() {
+        return PermissionApi.addOldPermissionsByNewPermissions(mContext, mModernPermissions);
+    }
+
+    @Benchmark
+    public List<IPermission> addOldPermissionsByNewPermissionsLegacy() {
+        return PermissionApi.addOldPermissionsByNewPermissions(mContext, mLegacyPermissions);
+    }
+
+    @Benchmark
+    public List<Intent> getBestPermissionSettingIntentDangerous() {
+        return PermissionApi.getBestPermissionSettingIntent(mContext, mModernPermissions, false);
+    }
+
+    @Benchmark
+    public List<Intent> getBestPermissionSettingIntentSpecial() {
+        return PermissionApi.getBestPermissionSettingIntent(mContext, mSpecialPermissions, false);
+    }
+}
@@ -0,0 +1,55 @@
+package com.hjq.permissions.benchmark;
+
+import com.hjq.permissions.permission.PermissionLists;
+import com.hjq.permissions.permission.base.IPermission;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/24
+ *    desc   : Cached permission object lookups
+ */
+@State(Scope.Benchmark)
+public class PermissionListsBenchmark {
+
+    /** Number of distinct notification channels the app requests with */
+    @Param({"1", "16", "256"})
+    public int channelCount;
+
+    private String[] mChannelIds;
+
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.installEnvironment();
+        mChannelIds = new String[channelCount];
+        for (int i = 0; i < channelCount; i++) {
+            mChannelIds[i] = "channel_" + i;
+            // Fill the cache, the benchmark measures the lookups
+            PermissionLists.getNotificationServicePermission(mChannelIds[i]);
+        }
+    }
+
+    @Benchmark
+    public IPermission getCameraPermission() {
+        return PermissionLists.getCameraPermission();
+    }
+
+    @Benchmark
+    public IPermission getNotificationServicePermission() {
+        return PermissionLists.getNotificationServicePermission();
+    }
+
+    @Benchmark
+    public IPermission getNotificationServicePermissionByChannel() {
+        String channelId = mChannelIds[mIndex];
+        mIndex = (mIndex + 1) % mChannelIds.length;
+        return PermissionLists.getNotificationServicePermission(channelId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hjq.permissions.benchmark;
+
+import com.hjq.permissions.permission.PermissionLists;
+import com.hjq.permissions.permission.PermissionNames;
+import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.tools.PermissionUtils;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/24
+ *    desc   : Permission name comparison and lookup, run for every permission of every request
+ */
+@State(Scope.Benchmark)
+public class PermissionUtilsBenchmark {
+
+    private List<IPermission> mPermissions;
+
+    /** Same text as the last permission of the list, but a different instance */
+    private String mHitPermissionName;
+
+    /** Shares the "android.permission." prefix with every permission of the list */
+    private String mMissPermissionName;
+
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.installEnvironment();
+        mPermissions = Arrays.asList(
+                PermissionLists.getCameraPermission(),
+                PermissionLists.getRecordAudioPermission(),
+                PermissionLists.getReadContactsPermission(),
+                PermissionLists.getWriteContactsPermission(),
+                PermissionLists.getAccessCoarseLocationPermission(),
+                PermissionLists.getAccessFineLocationPermission(),
+                PermissionLists.getReadMediaImagesPermission(),
+                PermissionLists.getPostNotificationsPermission());
+        mHitPermissionName = new String(PermissionNames.POST_NOTIFICATIONS.toCharArray());
+        mMissPermissionName = new String(PermissionNames.BODY_SENSORS.toCharArray());
+    }
+
+    @Benchmark
+    public boolean containsPermissionHit() {
+        return PermissionUtils.containsPermission(mPermissions, mHitPermissionName);
+    }
+
+    @Benchmark
+    public boolean containsPermissionMiss() {
+        return PermissionUtils.containsPermission(mPermissions, mMissPermissionName);
+    }
+
+    @Benchmark
+    public boolean equalsStringHit() {
+        return PermissionUtils.equalsString(PermissionNames.POST_NOTIFICATIONS, mHitPermissionName);
+    }
+
+    @Benchmark
+    public boolean equalsStringMiss() {
+        return PermissionUtils.equalsString(PermissionNames.POST_NOTIFICATIONS, mMissPermissionName);
+    }
+
+    @Benchmark
+    public boolean equalsPermissionMiss() {
+        return PermissionUtils.equalsPermission(PermissionNames.POST_NOTIFICATIONS, mMissPermissionName);
+    }
+}
@@ -0,0 +1,84 @@
+package com.hjq.permissions.benchmark.fake;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import org.objenesis.ObjenesisStd;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/24
+ *    desc   : Lightweight Activity for the JVM benchmarks, every call is answered by a {@link FakeContext}.
+ *
+ * The framework constructor needs a main Looper, so instances are created without running it
+ * and none of the inherited fields may be used: only the overridden methods below are safe.
+ */
+public final class FakeActivity extends Activity {
+
+    private FakeContext mFakeContext;
+
+    /**
+     * Create an Activity backed by the given context.
+     */
+    public static FakeActivity create(FakeContext fakeContext) {
+        FakeActivity activity = new ObjenesisStd().newInstance(FakeActivity.class);
+        activity.mFakeContext = fakeContext;
+        return activity;
+    }
+
+    private FakeActivity() {
+        // Never called, see create(FakeContext)
+    }
+
+    @Override
+    public String getPackageName() {
+        return mFakeContext.getPackageName();
+    }
+
+    @Override
+    public ApplicationInfo getApplicationInfo() {
+        return mFakeContext.getApplicationInfo();
+    }
+
+    @Override
+    public Context getApplicationContext() {
+        return mFakeContext;
+    }
+
+    @Override
+    public int checkSelfPermission(String permission) {
+        return mFakeContext.checkSelfPermission(permission);
+    }
+
+    @Override
+    public int checkPermission(String permission, int pid, int uid) {
+        return mFakeContext.checkPermission(permission, pid, uid);
+    }
+
+    @Override
+    public boolean shouldShowRequestPermissionRationale(String permission) {
+        return false;
+    }
+
+    @Override
+    public PackageManager getPackageManager() {
+        return null;
+    }
+
+    @Override
+    public Object getSystemService(String name) {
+        return null;
+    }
+
+    @Override
+    public boolean isFinishing() {
+        return false;
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        return false;
+    }
+}
@@ -0,0 +1,79 @@
+package com.hjq.permissions.benchmark.fake;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/24
+ *    desc   : Lightweight Context for the JVM benchmarks.
+ *             Answers the package name, target SDK and runtime permission state from memory;
+ *             system services and the package manager are not available (null).
+ */
+public final class FakeContext extends ContextWrapper {
+
+    /** Package name of the simulated app */
+    public static final String PACKAGE_NAME = "com.hjq.permissions.benchmark";
+
+    private final ApplicationInfo mApplicationInfo = new ApplicationInfo();
+
+    private final Set<String> mGrantedPermissions = new HashSet<>();
+
+    public FakeContext(int targetSdkVersion) {
+        super(null);
+        mApplicationInfo.packageName = PACKAGE_NAME;
+        mApplicationInfo.targetSdkVersion = targetSdkVersion;
+    }
+
+    /**
+     * Mark a runtime permission as granted.
+     */
+    public FakeContext grantPermission(String permission) {
+        mGrantedPermissions.add(permission);
+        return this;
+    }
+
+    public boolean isPermissionGranted(String permission) {
+        return mGrantedPermissions.contains(permission);
+    }
+
+    @Override
+    public String getPackageName() {
+        return PACKAGE_NAME;
+    }
+
+    @Override
+    public ApplicationInfo getApplicationInfo() {
+        return mApplicationInfo;
+    }
+
+    @Override
+    public Context getApplicationContext() {
+        return this;
+    }
+
+    @Override
+    public int checkSelfPermission(String permission) {
+        return isPermissionGranted(permission) ? PackageManager.PERMISSION_GRANTED : PackageManager.PERMISSION_DENIED;
+    }
+
+    @Override
+    public int checkPermission(String permission, int pid, int uid) {
+        return checkSelfPermission(permission);
+    }
+
+    @Override
+    public PackageManager getPackageManager() {
+        return null;
+    }
+
+    @Override
+    public Object getSystemService(String name) {
+        return null;
+    }
+}
@@ -0,0 +1,369 @@
+package com.hjq.permissions.benchmark.fake;
+
+import android.content.res.XmlResourceParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import org.kxml2.io.KXmlParser;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/24
+ *    desc   : {@link XmlResourceParser} replaying a captured manifest on the JVM.
+ *
+ * The framework parser reads compiled (binary) XML through native code, so the captured manifests are
+ * stored as text XML and read by kXML; the typed attribute getters convert the text values the same
+ * way the compiled values would be returned.
+ */
+public final class FakeXmlResourceParser implements XmlResourceParser {
+
+    private final KXmlParser mParser = new KXmlParser();
+
+    public FakeXmlResourceParser(String xml) {
+        try {
+            mParser.setFeature(XmlPullParser.FEATURE_PROCESS_NAMESPACES, true);
+            mParser.setInput(new StringReader(xml));
+        } catch (XmlPullParserException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    // --- AttributeSet ---
+
+    @Override
+    public String getAttributeNamespace(int index) {
+        return mParser.getAttributeNamespace(index);
+    }
+
+    @Override
+    public int getAttributeNameResource(int index) {
+        return 0;
+    }
+
+    @Override
+    public int getAttributeListValue(String namespace, String attribute, String[] options, int defaultValue) {
+        return indexOf(options, getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public boolean getAttributeBooleanValue(String namespace, String attribute, boolean defaultValue) {
+        return toBoolean(getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public int getAttributeResourceValue(String namespace, String attribute, int defaultValue) {
+        return toResource(getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public int getAttributeIntValue(String namespace, String attribute, int defaultValue) {
+        return toInt(getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public int getAttributeUnsignedIntValue(String namespace, String attribute, int defaultValue) {
+        return toInt(getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public float getAttributeFloatValue(String namespace, String attribute, float defaultValue) {
+        return toFloat(getAttributeValue(namespace, attribute), defaultValue);
+    }
+
+    @Override
+    public int getAttributeListValue(int index, String[] options, int defaultValue) {
+        return indexOf(options, getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public boolean getAttributeBooleanValue(int index, boolean defaultValue) {
+        return toBoolean(getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public int getAttributeResourceValue(int index, int defaultValue) {
+        return toResource(getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public int getAttributeIntValue(int index, int defaultValue) {
+        return toInt(getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public int getAttributeUnsignedIntValue(int index, int defaultValue) {
+        return toInt(getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public float getAttributeFloatValue(int index, float defaultValue) {
+        return toFloat(getAttributeValue(index), defaultValue);
+    }
+
+    @Override
+    public String getIdAttribute() {
+        return mParser.getAttributeValue(null, "id");
+    }
+
+    @Override
+    public String getClassAttribute() {
+        return mParser.getAttributeValue(null, "class");
+    }
+
+    @Override
+    public int getIdAttributeResourceValue(int defaultValue) {
+        return toResource(getIdAttribute(), defaultValue);
+    }
+
+    @Override
+    public int getStyleAttribute() {
+        return toResource(mParser.getAttributeValue(null, "style"), 0);
+    }
+
+    @Override
+    public void close() {
+        // default implementation ignored
+    }
+
+    // --- XmlPullParser ---
+
+    @Override
+    public void setFeature(String name, boolean state) throws XmlPullParserException {
+        mParser.setFeature(name, state);
+    }
+
+    @Override
+    public boolean getFeature(String name) {
+        return mParser.getFeature(name);
+    }
+
+    @Override
+    public void setProperty(String name, Object value) throws XmlPullParserException {
+        mParser.setProperty(name, value);
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return mParser.getProperty(name);
+    }
+
+    @Override
+    public void setInput(Reader in) throws XmlPullParserException {
+        mParser.setInput(in);
+    }
+
+    @Override
+    public void setInput(InputStream inputStream, String inputEncoding) throws XmlPullParserException {
+        mParser.setInput(inputStream, inputEncoding);
+    }
+
+    @Override
+    public String getInputEncoding() {
+        return mParser.getInputEncoding();
+    }
+
+    @Override
+    public void defineEntityReplacementText(String entityName, String replacementText) throws XmlPullParserException {
+        mParser.defineEntityReplacementText(entityName, replacementText);
+    }
+
+    @Override
+    public int getNamespaceCount(int depth) throws XmlPullParserException {
+        return mParser.getNamespaceCount(depth);
+    }
+
+    @Override
+    public String getNamespacePrefix(int pos) throws XmlPullParserException {
+        return mParser.getNamespacePrefix(pos);
+    }
+
+    @Override
+    public String getNamespaceUri(int pos) throws XmlPullParserException {
+        return mParser.getNamespaceUri(pos);
+    }
+
+    @Override
+    public String getNamespace(String prefix) {
+        return mParser.getNamespace(prefix);
+    }
+
+    @Override
+    public int getDepth() {
+        return mParser.getDepth();
+    }
+
+    @Override
+    public String getPositionDescription() {
+        return mParser.getPositionDescription();
+    }
+
+    @Override
+    public int getLineNumber() {
+        return mParser.getLineNumber();
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return mParser.getColumnNumber();
+    }
+
+    @Override
+    public boolean isWhitespace() throws XmlPullParserException {
+        return mParser.isWhitespace();
+    }
+
+    @Override
+    public String getText() {
+        return mParser.getText();
+    }
+
+    @Override
+    public char[] getTextCharacters(int[] holderForStartAndLength) {
+        return mParser.getTextCharacters(holderForStartAndLength);
+    }
+
+    @Override
+    public String getNamespace() {
+        return mParser.getNamespace();
+    }
+
+    @Override
+    public String getName() {
+        return mParser.getName();
+    }
+
+    @Override
+    public String getPrefix() {
+        return mParser.getPrefix();
+    }
+
+    @Override
+    public boolean isEmptyElementTag() throws XmlPullParserException {
+        return mParser.isEmptyElementTag();
+    }
+
+    @Override
+    public int getAttributeCount() {
+        return mParser.getAttributeCount();
+    }
+
+    @Override
+    public String getAttributeName(int index) {
+        return mParser.getAttributeName(index);
+    }
+
+    @Override
+    public String getAttributePrefix(int index) {
+        return mParser.getAttributePrefix(index);
+    }
+
+    @Override
+    public String getAttributeType(int index) {
+        return mParser.getAttributeType(index);
+    }
+
+    @Override
+    public boolean isAttributeDefault(int index) {
+        return mParser.isAttributeDefault(index);
+    }
+
+    @Override
+    public String getAttributeValue(int index) {
+        return mParser.getAttributeValue(index);
+    }
+
+    @Override
+    public String getAttributeValue(String namespace, String name) {
+        return mParser.getAttributeValue(namespace, name);
+    }
+
+    @Override
+    public int getEventType() throws XmlPullParserException {
+        return mParser.getEventType();
+    }
+
+    @Override
+    public int next() throws XmlPullParserException, IOException {
+        return mParser.next();
+    }
+
+    @Override
+    public int nextToken() throws XmlPullParserException, IOException {
+        return mParser.nextToken();
+    }
+
+    @Override
+    public void require(int type, String namespace, String name) throws XmlPullParserException, IOException {
+        mParser.require(type, namespace, name);
+    }
+
+    @Override
+    public String nextText() throws XmlPullParserException, IOException {
+        return mParser.nextText();
+    }
+
+    @Override
+    public int nextTag() throws XmlPullParserException, IOException {
+        return mParser.nextTag();
+    }
+
+    // --- Value conversions ---
+
+    private static boolean toBoolean(String value, boolean defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        return "true".equals(value);
+    }
+
+    private static int toInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            if (value.startsWith("0x")) {
+                return (int) Long.parseLong(value.substring(2), 16);
+            }
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static float toFloat(String value, float defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Resource references are compiled to ids, the captures keep them as "@0x7f..." (anything else has no id)
+     */
+    private static int toResource(String value, int defaultValue) {
+        if (value == null || !value.startsWith("@0x")) {
+            return defaultValue;
+        }
+        return toInt(value.substring(1), defaultValue);
+    }
+
+    private static int indexOf(String[] options, String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].equals(value)) {
+                return i;
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,69 @@
+package com.hjq.permissions.core;
+
+import com.hjq.permissions.benchmark.BenchmarkEnvironment;
+import com.hjq.permissions.benchmark.fake.FakeActivity;
+import com.hjq.permissions.permission.PermissionLists;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/24
+ *    desc   : Grouping of a request into request batches
+ *             (lives in the core package to reach {@link PermissionRequestMainLogic#getUnauthorizedList})
+ */
+@State(Scope.Benchmark)
+public class UnauthorizedListBenchmark {
+
+    /** Dangerous permissions the request lists are built from, in order */
+    private static final IPermission[] PERMISSION_POOL = {
+            PermissionLists.getCameraPermission(),
+            PermissionLists.getRecordAudioPermission(),
+            PermissionLists.getAccessCoarseLocationPermission(),
+            PermissionLists.getAccessFineLocationPermission(),
+            PermissionLists.getReadContactsPermission(),
+            PermissionLists.getWriteContactsPermission(),
+            PermissionLists.getGetAccountsPermission(),
+            PermissionLists.getReadCalendarPermission(),
+            PermissionLists.getWriteCalendarPermission(),
+            PermissionLists.getReadPhoneStatePermission(),
+            PermissionLists.getCallPhonePermission(),
+            PermissionLists.getReadCallLogPermission(),
+            PermissionLists.getWriteCallLogPermission(),
+            PermissionLists.getSendSmsPermission(),
+            PermissionLists.getReceiveSmsPermission(),
+            PermissionLists.getReadSmsPermission(),
+            PermissionLists.getBodySensorsPermission(),
+            PermissionLists.getActivityRecognitionPermission(),
+            PermissionLists.getReadMediaImagesPermission(),
+            PermissionLists.getReadMediaVideoPermission()
+    };
+
+    @Param({"1", "5", "20"})
+    public int permissionCount;
+
+    private FakeActivity mActivity;
+
+    private List<IPermission> mRequestList;
+
+    @Setup
+    public void setup() {
+        mActivity = BenchmarkEnvironment.createActivity();
+        mRequestList = new ArrayList<>(permissionCount);
+        for (int i = 0; i < permissionCount; i++) {
+            mRequestList.add(PERMISSION_POOL[i]);
+        }
+    }
+
+    @Benchmark
+    public List<List<IPermission>> getUnauthorizedList() {
+        return PermissionRequestMainLogic.getUnauthorizedList(mActivity, mRequestList);
+    }
+}
@@ -0,0 +1,38 @@
+package com.hjq.permissions.lint;
+
+import com.android.tools.lint.client.api.IssueRegistry;
+import com.android.tools.lint.client.api.Vendor;
+import com.android.tools.lint.detector.api.ApiKt;
+import com.android.tools.lint.detector.api.Issue;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/29
+ *    desc   : Lint issue registry of the framework
+ */
+public final class PermissionIssueRegistry extends IssueRegistry {
+
+    @Override
+    public List<Issue> getIssues() {
+        return Collections.singletonList(PermissionRegisterDetector.ISSUE);
+    }
+
+    @Override
+    public int getApi() {
+        return ApiKt.CURRENT_API;
+    }
+
+    @Override
+    public int getMinApi() {
+        return 12;
+    }
+
+    @Override
+    public Vendor getVendor() {
+        return new Vendor("XXPermissions", "com.github.getActivity:XXPermissions",
+                "https://github.com/getActivity/XXPermissions/issues", null);
+    }
+}
@@ -0,0 +1,176 @@
+package com.hjq.permissions.lint;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/29
+ *    desc   : Permissions of PermissionLists that must be registered in the manifest file
+ *             Generated from PermissionLists, keep in sync when a permission is added: only the getters of the permissions
+ *             whose isRegisterPermissionByManifestFile returns true are listed, the ones with custom manifest checks
+ *             (e.g. WRITE_EXTERNAL_STORAGE) are left to the runtime check mode.
+ */
+final class PermissionManifestTable {
+
+    /** Getter name of PermissionLists -> permission name to register in the manifest file */
+    private static final Map<String, String> PERMISSION_NAME_MAP = new HashMap<>();
+
+    static {
+        PERMISSION_NAME_MAP.put("getGetInstalledAppsPermission", "com.android.permission.GET_INSTALLED_APPS");
+        PERMISSION_NAME_MAP.put("getUseFullScreenIntentPermission", "android.permission.USE_FULL_SCREEN_INTENT");
+        PERMISSION_NAME_MAP.put("getManageExternalStoragePermission", "android.permission.MANAGE_EXTERNAL_STORAGE");
+        PERMISSION_NAME_MAP.put("getRequestInstallPackagesPermission", "android.permission.REQUEST_INSTALL_PACKAGES");
+        PERMISSION_NAME_MAP.put("getSystemAlertWindowPermission", "android.permission.SYSTEM_ALERT_WINDOW");
+        PERMISSION_NAME_MAP.put("getWriteSettingsPermission", "android.permission.WRITE_SETTINGS");
+        PERMISSION_NAME_MAP.put("getRequestIgnoreBatteryOptimizationsPermission", "android.permission.REQUEST_IGNORE_BATTERY_OPTIMIZATIONS");
+        PERMISSION_NAME_MAP.put("getAccessNotificationPolicyPermission", "android.permission.ACCESS_NOTIFICATION_POLICY");
+        PERMISSION_NAME_MAP.put("getPackageUsageStatsPermission", "android.permission.PACKAGE_USAGE_STATS");
+        PERMISSION_NAME_MAP.put("getReadMediaVisualUserSelectedPermission", "android.permission.READ_MEDIA_VISUAL_USER_SELECTED");
+        PERMISSION_NAME_MAP.put("getPostNotificationsPermission", "android.permission.POST_NOTIFICATIONS");
+        PERMISSION_NAME_MAP.put("getNearbyWifiDevicesPermission", "android.permission.NEARBY_WIFI_DEVICES");
+        PERMISSION_NAME_MAP.put("getBodySensorsBackgroundPermission", "android.permission.BODY_SENSORS_BACKGROUND");
+        PERMISSION_NAME_MAP.put("getReadMediaImagesPermission", "android.permission.READ_MEDIA_IMAGES");
+        PERMISSION_NAME_MAP.put("getReadMediaVideoPermission", "android.permission.READ_MEDIA_VIDEO");
+        PERMISSION_NAME_MAP.put("getReadMediaAudioPermission", "android.permission.READ_MEDIA_AUDIO");
+        PERMISSION_NAME_MAP.put("getBluetoothScanPermission", "android.permission.BLUETOOTH_SCAN");
+        PERMISSION_NAME_MAP.put("getBluetoothConnectPermission", "android.permission.BLUETOOTH_CONNECT");
+        PERMISSION_NAME_MAP.put("getBluetoothAdvertisePermission", "android.permission.BLUETOOTH_ADVERTISE");
+        PERMISSION_NAME_MAP.put("getAccessBackgroundLocationPermission", "android.permission.ACCESS_BACKGROUND_LOCATION");
+        PERMISSION_NAME_MAP.put("getActivityRecognitionPermission", "android.permission.ACTIVITY_RECOGNITION");
+        PERMISSION_NAME_MAP.put("getAccessMediaLocationPermission", "android.permission.ACCESS_MEDIA_LOCATION");
+        PERMISSION_NAME_MAP.put("getAcceptHandoverPermission", "android.permission.ACCEPT_HANDOVER");
+        PERMISSION_NAME_MAP.put("getReadPhoneNumbersPermission", "android.permission.READ_PHONE_NUMBERS");
+        PERMISSION_NAME_MAP.put("getAnswerPhoneCallsPermission", "android.permission.ANSWER_PHONE_CALLS");
+        PERMISSION_NAME_MAP.put("getReadExternalStoragePermission", "android.permission.READ_EXTERNAL_STORAGE");
+        PERMISSION_NAME_MAP.put("getCameraPermission", "android.permission.CAMERA");
+        PERMISSION_NAME_MAP.put("getRecordAudioPermission", "android.permission.RECORD_AUDIO");
+        PERMISSION_NAME_MAP.put("getAccessFineLocationPermission", "android.permission.ACCESS_FINE_LOCATION");
+        PERMISSION_NAME_MAP.put("getAccessCoarseLocationPermission", "android.permission.ACCESS_COARSE_LOCATION");
+        PERMISSION_NAME_MAP.put("getReadContactsPermission", "android.permission.READ_CONTACTS");
+        PERMISSION_NAME_MAP.put("getWriteContactsPermission", "android.permission.WRITE_CONTACTS");
+        PERMISSION_NAME_MAP.put("getGetAccountsPermission", "android.permission.GET_ACCOUNTS");
+        PERMISSION_NAME_MAP.put("getReadCalendarPermission", "android.permission.READ_CALENDAR");
+        PERMISSION_NAME_MAP.put("getWriteCalendarPermission", "android.permission.WRITE_CALENDAR");
+        PERMISSION_NAME_MAP.put("getReadPhoneStatePermission", "android.permission.READ_PHONE_STATE");
+        PERMISSION_NAME_MAP.put("getCallPhonePermission", "android.permission.CALL_PHONE");
+        PERMISSION_NAME_MAP.put("getReadCallLogPermission", "android.permission.READ_CALL_LOG");
+        PERMISSION_NAME_MAP.put("getWriteCallLogPermission", "android.permission.WRITE_CALL_LOG");
+        PERMISSION_NAME_MAP.put("getAddVoicemailPermission", "com.android.voicemail.permission.ADD_VOICEMAIL");
+        PERMISSION_NAME_MAP.put("getUseSipPermission", "android.permission.USE_SIP");
+        PERMISSION_NAME_MAP.put("getProcessOutgoingCallsPermission", "android.permission.PROCESS_OUTGOING_CALLS");
+        PERMISSION_NAME_MAP.put("getBodySensorsPermission", "android.permission.BODY_SENSORS");
+        PERMISSION_NAME_MAP.put("getSendSmsPermission", "android.permission.SEND_SMS");
+        PERMISSION_NAME_MAP.put("getReceiveSmsPermission", "android.permission.RECEIVE_SMS");
+        PERMISSION_NAME_MAP.put("getReadSmsPermission", "android.permission.READ_SMS");
+        PERMISSION_NAME_MAP.put("getReceiveWapPushPermission", "android.permission.RECEIVE_WAP_PUSH");
+        PERMISSION_NAME_MAP.put("getReceiveMmsPermission", "android.permission.RECEIVE_MMS");
+        PERMISSION_NAME_MAP.put("getReadHealthDataInBackgroundPermission", "android.permission.health.READ_HEALTH_DATA_IN_BACKGROUND");
+        PERMISSION_NAME_MAP.put("getReadHealthDataHistoryPermission", "android.permission.health.READ_HEALTH_DATA_HISTORY");
+        PERMISSION_NAME_MAP.put("getReadActiveCaloriesBurnedPermission", "android.permission.health.READ_ACTIVE_CALORIES_BURNED");
+        PERMISSION_NAME_MAP.put("getWriteActiveCaloriesBurnedPermission", "android.permission.health.WRITE_ACTIVE_CALORIES_BURNED");
+        PERMISSION_NAME_MAP.put("getReadActivityIntensityPermission", "android.permission.health.READ_ACTIVITY_INTENSITY");
+        PERMISSION_NAME_MAP.put("getWriteActivityIntensityPermission", "android.permission.health.WRITE_ACTIVITY_INTENSITY");
+        PERMISSION_NAME_MAP.put("getReadBasalBodyTemperaturePermission", "android.permission.health.READ_BASAL_BODY_TEMPERATURE");
+        PERMISSION_NAME_MAP.put("getWriteBasalBodyTemperaturePermission", "android.permission.health.WRITE_BASAL_BODY_TEMPERATURE");
+        PERMISSION_NAME_MAP.put("getReadBasalMetabolicRatePermission", "android.permission.health.READ_BASAL_METABOLIC_RATE");
+        PERMISSION_NAME_MAP.put("getWriteBasalMetabolicRatePermission", "android.permission.health.WRITE_BASAL_METABOLIC_RATE");
+        PERMISSION_NAME_MAP.put("getReadBloodGlucosePermission", "android.permission.health.READ_BLOOD_GLUCOSE");
+        PERMISSION_NAME_MAP.put("getWriteBloodGlucosePermission", "android.permission.health.WRITE_BLOOD_GLUCOSE");
+        PERMISSION_NAME_MAP.put("getReadBloodPressurePermission", "android.permission.health.READ_BLOOD_PRESSURE");
+        PERMISSION_NAME_MAP.put("getWriteBloodPressurePermission", "android.permission.health.WRITE_BLOOD_PRESSURE");
+        PERMISSION_NAME_MAP.put("getReadBodyFatPermission", "android.permission.health.READ_BODY_FAT");
+        PERMISSION_NAME_MAP.put("getWriteBodyFatPermission", "android.permission.health.WRITE_BODY_FAT");
+        PERMISSION_NAME_MAP.put("getReadBodyTemperaturePermission", "android.permission.health.READ_BODY_TEMPERATURE");
+        PERMISSION_NAME_MAP.put("getWriteBodyTemperaturePermission", "android.permission.health.WRITE_BODY_TEMPERATURE");
+        PERMISSION_NAME_MAP.put("getReadBodyWaterMassPermission", "android.permission.health.READ_BODY_WATER_MASS");
+        PERMISSION_NAME_MAP.put("getWriteBodyWaterMassPermission", "android.permission.health.WRITE_BODY_WATER_MASS");
+        PERMISSION_NAME_MAP.put("getReadBoneMassPermission", "android.permission.health.READ_BONE_MASS");
+        PERMISSION_NAME_MAP.put("getWriteBoneMassPermission", "android.permission.health.WRITE_BONE_MASS");
+        PERMISSION_NAME_MAP.put("getReadCervicalMucusPermission", "android.permission.health.READ_CERVICAL_MUCUS");
+        PERMISSION_NAME_MAP.put("getWriteCervicalMucusPermission", "android.permission.health.WRITE_CERVICAL_MUCUS");
+        PERMISSION_NAME_MAP.put("getReadDistancePermission", "android.permission.health.READ_DISTANCE");
+        PERMISSION_NAME_MAP.put("getWriteDistancePermission", "android.permission.health.WRITE_DISTANCE");
+        PERMISSION_NAME_MAP.put("getReadElevationGainedPermission", "android.permission.health.READ_ELEVATION_GAINED");
+        PERMISSION_NAME_MAP.put("getWriteElevationGainedPermission", "android.permission.health.WRITE_ELEVATION_GAINED");
+        PERMISSION_NAME_MAP.put("getReadExercisePermission", "android.permission.health.READ_EXERCISE");
+        PERMISSION_NAME_MAP.put("getWriteExercisePermission", "android.permission.health.WRITE_EXERCISE");
+        PERMISSION_NAME_MAP.put("getReadExerciseRoutesPermission", "android.permission.health.READ_EXERCISE_ROUTES");
+        PERMISSION_NAME_MAP.put("getWriteExerciseRoutePermission", "android.permission.health.WRITE_EXERCISE_ROUTE");
+        PERMISSION_NAME_MAP.put("getReadFloorsClimbedPermission", "android.permission.health.READ_FLOORS_CLIMBED");
+        PERMISSION_NAME_MAP.put("getWriteFloorsClimbedPermission", "android.permission.health.WRITE_FLOORS_CLIMBED");
+        PERMISSION_NAME_MAP.put("getReadHeartRatePermission", "android.permission.health.READ_HEART_RATE");
+        PERMISSION_NAME_MAP.put("getWriteHeartRatePermission", "android.permission.health.WRITE_HEART_RATE");
+        PERMISSION_NAME_MAP.put("getReadHeartRateVariabilityPermission", "android.permission.health.READ_HEART_RATE_VARIABILITY");
+        PERMISSION_NAME_MAP.put("getWriteHeartRateVariabilityPermission", "android.permission.health.WRITE_HEART_RATE_VARIABILITY");
+        PERMISSION_NAME_MAP.put("getReadHeightPermission", "android.permission.health.READ_HEIGHT");
+        PERMISSION_NAME_MAP.put("getWriteHeightPermission", "android.permission.health.WRITE_HEIGHT");
+        PERMISSION_NAME_MAP.put("getReadHydrationPermission", "android.permission.health.READ_HYDRATION");
+        PERMISSION_NAME_MAP.put("getWriteHydrationPermission", "android.permission.health.WRITE_HYDRATION");
+        PERMISSION_NAME_MAP.put("getReadIntermenstrualBleedingPermission", "android.permission.health.READ_INTERMENSTRUAL_BLEEDING");
+        PERMISSION_NAME_MAP.put("getWriteIntermenstrualBleedingPermission", "android.permission.health.WRITE_INTERMENSTRUAL_BLEEDING");
+        PERMISSION_NAME_MAP.put("getReadLeanBodyMassPermission", "android.permission.health.READ_LEAN_BODY_MASS");
+        PERMISSION_NAME_MAP.put("getWriteLeanBodyMassPermission", "android.permission.health.WRITE_LEAN_BODY_MASS");
+        PERMISSION_NAME_MAP.put("getReadMenstruationPermission", "android.permission.health.READ_MENSTRUATION");
+        PERMISSION_NAME_MAP.put("getWriteMenstruationPermission", "android.permission.health.WRITE_MENSTRUATION");
+        PERMISSION_NAME_MAP.put("getReadMindfulnessPermission", "android.permission.health.READ_MINDFULNESS");
+        PERMISSION_NAME_MAP.put("getWriteMindfulnessPermission", "android.permission.health.WRITE_MINDFULNESS");
+        PERMISSION_NAME_MAP.put("getReadNutritionPermission", "android.permission.health.READ_NUTRITION");
+        PERMISSION_NAME_MAP.put("getWriteNutritionPermission", "android.permission.health.WRITE_NUTRITION");
+        PERMISSION_NAME_MAP.put("getReadOvulationTestPermission", "android.permission.health.READ_OVULATION_TEST");
+        PERMISSION_NAME_MAP.put("getWriteOvulationTestPermission", "android.permission.health.WRITE_OVULATION_TEST");
+        PERMISSION_NAME_MAP.put("getReadOxygenSaturationPermission", "android.permission.health.READ_OXYGEN_SATURATION");
+        PERMISSION_NAME_MAP.put("getWriteOxygenSaturationPermission", "android.permission.health.WRITE_OXYGEN_SATURATION");
+        PERMISSION_NAME_MAP.put("getReadPlannedExercisePermission", "android.permission.health.READ_PLANNED_EXERCISE");
+        PERMISSION_NAME_MAP.put("getWritePlannedExercisePermission", "android.permission.health.WRITE_PLANNED_EXERCISE");
+        PERMISSION_NAME_MAP.put("getReadPowerPermission", "android.permission.health.READ_POWER");
+        PERMISSION_NAME_MAP.put("getWritePowerPermission", "android.permission.health.WRITE_POWER");
+        PERMISSION_NAME_MAP.put("getReadRespiratoryRatePermission", "android.permission.health.READ_RESPIRATORY_RATE");
+        PERMISSION_NAME_MAP.put("getWriteRespiratoryRatePermission", "android.permission.health.WRITE_RESPIRATORY_RATE");
+        PERMISSION_NAME_MAP.put("getReadRestingHeartRatePermission", "android.permission.health.READ_RESTING_HEART_RATE");
+        PERMISSION_NAME_MAP.put("getWriteRestingHeartRatePermission", "android.permission.health.WRITE_RESTING_HEART_RATE");
+        PERMISSION_NAME_MAP.put("getReadSexualActivityPermission", "android.permission.health.READ_SEXUAL_ACTIVITY");
+        PERMISSION_NAME_MAP.put("getWriteSexualActivityPermission", "android.permission.health.WRITE_SEXUAL_ACTIVITY");
+        PERMISSION_NAME_MAP.put("getReadSkinTemperaturePermission", "android.permission.health.READ_SKIN_TEMPERATURE");
+        PERMISSION_NAME_MAP.put("getWriteSkinTemperaturePermission", "android.permission.health.WRITE_SKIN_TEMPERATURE");
+        PERMISSION_NAME_MAP.put("getReadSleepPermission", "android.permission.health.READ_SLEEP");
+        PERMISSION_NAME_MAP.put("getWriteSleepPermission", "android.permission.health.WRITE_SLEEP");
+        PERMISSION_NAME_MAP.put("getReadSpeedPermission", "android.permission.health.READ_SPEED");
+        PERMISSION_NAME_MAP.put("getWriteSpeedPermission", "android.permission.health.WRITE_SPEED");
+        PERMISSION_NAME_MAP.put("getReadStepsPermission", "android.permission.health.READ_STEPS");
+        PERMISSION_NAME_MAP.put("getWriteStepsPermission", "android.permission.health.WRITE_STEPS");
+        PERMISSION_NAME_MAP.put("getReadTotalCaloriesBurnedPermission", "android.permission.health.READ_TOTAL_CALORIES_BURNED");
+        PERMISSION_NAME_MAP.put("getWriteTotalCaloriesBurnedPermission", "android.permission.health.WRITE_TOTAL_CALORIES_BURNED");
+        PERMISSION_NAME_MAP.put("getReadVo2MaxPermission", "android.permission.health.READ_VO2_MAX");
+        PERMISSION_NAME_MAP.put("getWriteVo2MaxPermission", "android.permission.health.WRITE_VO2_MAX");
+        PERMISSION_NAME_MAP.put("getReadWeightPermission", "android.permission.health.READ_WEIGHT");
+        PERMISSION_NAME_MAP.put("getWriteWeightPermission", "android.permission.health.WRITE_WEIGHT");
+        PERMISSION_NAME_MAP.put("getReadWheelchairPushesPermission", "android.permission.health.READ_WHEELCHAIR_PUSHES");
+        PERMISSION_NAME_MAP.put("getWriteWheelchairPushesPermission", "android.permission.health.WRITE_WHEELCHAIR_PUSHES");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataAllergiesIntolerancesPermission", "android.permission.health.READ_MEDICAL_DATA_ALLERGIES_INTOLERANCES");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataConditionsPermission", "android.permission.health.READ_MEDICAL_DATA_CONDITIONS");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataLaboratoryResultsPermission", "android.permission.health.READ_MEDICAL_DATA_LABORATORY_RESULTS");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataMedicationsPermission", "android.permission.health.READ_MEDICAL_DATA_MEDICATIONS");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataPersonalDetailsPermission", "android.permission.health.READ_MEDICAL_DATA_PERSONAL_DETAILS");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataPractitionerDetailsPermission", "android.permission.health.READ_MEDICAL_DATA_PRACTITIONER_DETAILS");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataPregnancyPermission", "android.permission.health.READ_MEDICAL_DATA_PREGNANCY");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataProceduresPermission", "android.permission.health.READ_MEDICAL_DATA_PROCEDURES");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataSocialHistoryPermission", "android.permission.health.READ_MEDICAL_DATA_SOCIAL_HISTORY");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataVaccinesPermission", "android.permission.health.READ_MEDICAL_DATA_VACCINES");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataVisitsPermission", "android.permission.health.READ_MEDICAL_DATA_VISITS");
+        PERMISSION_NAME_MAP.put("getReadMedicalDataVitalSignsPermission", "android.permission.health.READ_MEDICAL_DATA_VITAL_SIGNS");
+        PERMISSION_NAME_MAP.put("getWriteMedicalDataPermission", "android.permission.health.WRITE_MEDICAL_DATA");
+    }
+
+    private PermissionManifestTable() {
+        // default implementation ignored
+    }
+
+    /**
+     * Get the permission name the getter of PermissionLists requires in the manifest file, null if it requires none.
+     */
+    static String getRegisterPermissionName(String getterName) {
+        return PERMISSION_NAME_MAP.get(getterName);
+    }
+}
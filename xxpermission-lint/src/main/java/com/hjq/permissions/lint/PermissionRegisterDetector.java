@@ -0,0 +1,128 @@
+package com.hjq.permissions.lint;
+
+import com.android.SdkConstants;
+import com.android.tools.lint.detector.api.Category;
+import com.android.tools.lint.detector.api.Detector;
+import com.android.tools.lint.detector.api.Implementation;
+import com.android.tools.lint.detector.api.Issue;
+import com.android.tools.lint.detector.api.JavaContext;
+import com.android.tools.lint.detector.api.Scope;
+import com.android.tools.lint.detector.api.Severity;
+import com.android.tools.lint.detector.api.SourceCodeScanner;
+import com.intellij.psi.PsiMethod;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.jetbrains.uast.UCallExpression;
+import org.jetbrains.uast.UExpression;
+import org.jetbrains.uast.UQualifiedReferenceExpression;
+import org.jetbrains.uast.UastExpressionUtils;
+import org.jetbrains.uast.UastUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/29
+ *    desc   : Build-time version of the manifest registration check of the check mode
+ *             Looks at the permissions passed to XXPermissions.permission / permissions and reports the ones that are
+ *             not registered in the merged manifest file, so the mistake is caught before a release build, where the
+ *             runtime check mode is off. It is the only rule of the check mode ported to lint: the other rules
+ *             (manifest attributes, targetSdk, legacy permissions...) still need the runtime check mode in debug builds.
+ */
+public final class PermissionRegisterDetector extends Detector implements SourceCodeScanner {
+
+    private static final String CLASS_XX_PERMISSIONS = "com.hjq.permissions.XXPermissions";
+
+    private static final String CLASS_PERMISSION_LISTS = "com.hjq.permissions.permission.PermissionLists";
+
+    /** Calls whose arguments are the elements of the list or array they create */
+    private static final Set<String> COLLECTION_FACTORY_SET = new HashSet<>(Arrays.asList(
+            "asList", "singletonList", "listOf", "mutableListOf", "arrayListOf", "arrayOf"));
+
+    public static final Issue ISSUE = Issue.create(
+            "XXPermissionsUnregistered",
+            "Requested permission is not registered in the manifest file",
+            "The permission is requested through XXPermissions but is missing from the merged `AndroidManifest.xml`, " +
+                    "the system will deny it without showing any dialog. The runtime check mode of XXPermissions throws " +
+                    "for this in debug builds, this check reports it at build time (it only covers the registration, the other " +
+                    "rules of the check mode still run at runtime). Register it with a `<uses-permission>` tag.",
+            Category.CORRECTNESS, 8, Severity.ERROR,
+            new Implementation(PermissionRegisterDetector.class, Scope.JAVA_FILE_SCOPE));
+
+    @Override
+    public List<String> getApplicableMethodNames() {
+        return Arrays.asList("permission", "permissions");
+    }
+
+    @Override
+    public void visitMethodCall(JavaContext context, UCallExpression node, PsiMethod method) {
+        if (!context.getEvaluator().isMemberInClass(method, CLASS_XX_PERMISSIONS)) {
+            return;
+        }
+        // Only the app module has a merged manifest, in the other modules there is nothing to compare against
+        Document mergedManifest = context.getMainProject().getMergedManifest();
+        if (mergedManifest == null || mergedManifest.getDocumentElement() == null) {
+            return;
+        }
+        Set<String> registeredPermissions = getRegisteredPermissions(mergedManifest.getDocumentElement());
+        for (UExpression argument : node.getValueArguments()) {
+            checkPermissionArgument(context, argument, registeredPermissions);
+        }
+    }
+
+    private void checkPermissionArgument(JavaContext context, UExpression argument, Set<String> registeredPermissions) {
+        UExpression expression = UastUtils.skipParenthesizedExprDown(argument);
+        if (expression instanceof UQualifiedReferenceExpression) {
+            expression = ((UQualifiedReferenceExpression) expression).getSelector();
+        }
+        if (!(expression instanceof UCallExpression)) {
+            // Variables and fields are not followed, the runtime check mode still covers them
+            return;
+        }
+        UCallExpression call = (UCallExpression) expression;
+
+        if (UastExpressionUtils.isNewArrayWithInitializer(call) || COLLECTION_FACTORY_SET.contains(call.getMethodName())) {
+            for (UExpression element : call.getValueArguments()) {
+                checkPermissionArgument(context, element, registeredPermissions);
+            }
+            return;
+        }
+
+        PsiMethod getter = call.resolve();
+        if (getter == null || !context.getEvaluator().isMemberInClass(getter, CLASS_PERMISSION_LISTS)) {
+            return;
+        }
+        String permissionName = PermissionManifestTable.getRegisterPermissionName(getter.getName());
+        if (permissionName == null || registeredPermissions.contains(permissionName)) {
+            return;
+        }
+        context.report(ISSUE, call, context.getLocation(call),
+                "`" + permissionName + "` is requested but not registered in the merged `AndroidManifest.xml`");
+    }
+
+    /**
+     * Get the permissions registered in the merged manifest file.
+     */
+    private static Set<String> getRegisteredPermissions(Element manifestElement) {
+        Set<String> permissions = new HashSet<>();
+        for (Node child = manifestElement.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            String tagName = child.getNodeName();
+            if (!SdkConstants.TAG_USES_PERMISSION.equals(tagName) &&
+                    !SdkConstants.TAG_USES_PERMISSION_SDK_23.equals(tagName)) {
+                continue;
+            }
+            String permissionName = ((Element) child).getAttributeNS(SdkConstants.ANDROID_URI, SdkConstants.ATTR_NAME);
+            if (!permissionName.isEmpty()) {
+                permissions.add(permissionName);
+            }
+        }
+        return permissions;
+    }
+}
@@ -0,0 +1,22 @@
+package com.hjq.permissions;
+
+import androidx.annotation.NonNull;
+import java.util.List;
+
+/**
+ *    author : Android Wheel Brother
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/23
+ *    desc   : Warm-up result callback interface
+ */
+public interface OnPermissionWarmUpCallback {
+
+    /**
+     * Warm-up finished (called on the main thread)
+     *
+     * @param preloadedList     steps that were done, e.g. "DeviceProfile", "Permission: android.permission.CAMERA"
+     * @param skippedList       steps that were skipped because the time budget ran out
+     * @param costTime          time spent on the background thread, in milliseconds
+     */
+    void onWarmUpFinish(@NonNull List<String> preloadedList, @NonNull List<String> skippedList, long costTime);
+}
@@ -1,6 +1,7 @@
 package com.hjq.permissions;
 
 import android.app.Activity;
+import android.app.Application;
 import android.app.Fragment;
 import android.content.Context;
 
@@ -9,18 +10,41 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.FragmentActivity;
 
+import com.hjq.permissions.core.PermissionChannelImpl;
+import com.hjq.permissions.core.PermissionRequestMainLogic;
 import com.hjq.permissions.fragment.factory.PermissionFragmentFactory;
 import com.hjq.permissions.fragment.factory.PermissionFragmentFactoryByApp;
+import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manager.ActivityOrientationManager;
+import com.hjq.permissions.manager.AlreadyRequestPermissionsManager;
+import com.hjq.permissions.manager.PermissionChangeMonitor;
+import com.hjq.permissions.manager.PermissionRequestCodeManager;
 import com.hjq.permissions.manifest.AndroidManifestParser;
 import com.hjq.permissions.permission.PermissionChannel;
+import com.hjq.permissions.permission.PermissionLists;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.start.StartActivityAgent;
+import com.hjq.permissions.start.StartActivityRouteCache;
 import com.hjq.permissions.tools.PermissionApi;
+import com.hjq.permissions.tools.PermissionBudgetGuard;
+import com.hjq.permissions.tools.PermissionBudgetReporter;
 import com.hjq.permissions.tools.PermissionChecker;
+import com.hjq.permissions.tools.PermissionComplianceAudit;
+import com.hjq.permissions.tools.PermissionComplianceReporter;
+import com.hjq.permissions.tools.PermissionLog;
+import com.hjq.permissions.tools.PermissionLogger;
+import com.hjq.permissions.tools.PermissionMetrics;
 import com.hjq.permissions.tools.PermissionSettingPage;
+import com.hjq.permissions.tools.PermissionTaskHandler;
+import com.hjq.permissions.tools.PermissionTrace;
+import com.hjq.permissions.tools.PermissionTracer;
+import com.hjq.permissions.tools.PermissionTracer.Stage;
 import com.hjq.permissions.tools.PermissionUtils;
+import com.hjq.permissions.tools.PermissionWarmUp;
 
+import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -37,15 +61,6 @@ public final class XXPermissions {
     /** Request code for jumping to the permission settings page */
     public static final int REQUEST_CODE = 1024 + 1;
 
-    /** Type of the permission request interceptor (applies globally) */
-    private static Class<? extends OnPermissionInterceptor> sPermissionInterceptorClass;
-
-    /** Type of the permission description handler (applies globally) */
-    private static Class<? extends OnPermissionDescription> sPermissionDescriptionClass;
-
-    /** Whether error-checking mode is enabled (applies globally) */
-    private static Boolean sCheckMode;
-
     /**
      * Create a builder bound to the given context.
      *
@@ -60,16 +75,22 @@ public final class XXPermissions {
     }
     /**
      * Enable or disable error-checking mode (global setting).
+     *
+     * The lint check shipped with the library only covers the manifest registration rule at build time, every other rule
+     * of the check mode runs at runtime only. The check mode is a runtime switch, it stays compiled into release builds.
      */
     public static void setCheckMode(boolean checkMode) {
-        sCheckMode = checkMode;
+        XXPermissionsConfig.setCheckMode(checkMode);
     }
 
     /**
      * Set the permission request interceptor (global setting).
+     *
+     * The class must have a no-arg constructor, it is resolved once and called for every request.
+     * Prefer {@link XXPermissionsConfig#setPermissionInterceptor(androidx.core.util.Supplier)}, which needs no reflection.
      */
     public static void setPermissionInterceptor(Class<? extends OnPermissionInterceptor> clazz) {
-        sPermissionInterceptorClass = clazz;
+        XXPermissionsConfig.setPermissionInterceptor(clazz != null ? XXPermissionsConfig.<OnPermissionInterceptor>createSupplierByClass(clazz) : null);
     }
 
     /**
@@ -77,14 +98,7 @@ public final class XXPermissions {
      */
     @NonNull
     public static OnPermissionInterceptor getPermissionInterceptor() {
-        if (sPermissionInterceptorClass != null) {
-            try {
-                return sPermissionInterceptorClass.newInstance();
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
-        return new DefaultPermissionInterceptor();
+        return XXPermissionsConfig.getPermissionInterceptor();
     }
 
     /**
@@ -94,9 +108,10 @@ public final class XXPermissions {
      * If a normal object were used, that single instance would be reused globally.
      * That can lead to conflicts when fields inside the handler are used concurrently.
      * To avoid such issues, the best solution is to NOT reuse the same instance.
+     * {@link XXPermissionsConfig#setPermissionDescription(androidx.core.util.Supplier)} follows the same rule without reflection.
      */
     public static void setPermissionDescription(Class<? extends OnPermissionDescription> clazz) {
-        sPermissionDescriptionClass = clazz;
+        XXPermissionsConfig.setPermissionDescription(clazz != null ? XXPermissionsConfig.<OnPermissionDescription>createSupplierByClass(clazz) : null);
     }
 
     /**
@@ -104,14 +119,109 @@ public final class XXPermissions {
      */
     @NonNull
     public static OnPermissionDescription getPermissionDescription() {
-        if (sPermissionDescriptionClass != null) {
-            try {
-                return sPermissionDescriptionClass.newInstance();
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
-        return new DefaultPermissionDescription();
+        return XXPermissionsConfig.getPermissionDescription();
+    }
+
+    /**
+     * Set the framework logger (global setting).
+     *
+     * Nothing is logged by default; pass {@link PermissionLogger#LOGCAT} in debug builds to see diagnostics in Logcat.
+     */
+    public static void setPermissionLogger(@Nullable PermissionLogger permissionLogger) {
+        PermissionLog.setPermissionLogger(permissionLogger);
+    }
+
+    /**
+     * Set the tracer of the request stages (global setting).
+     *
+     * Stages are emitted as android.os.Trace sections by default ({@link PermissionTracer#SYSTEM}); pass null to disable tracing.
+     */
+    public static void setPermissionTracer(@Nullable PermissionTracer permissionTracer) {
+        PermissionTrace.setPermissionTracer(permissionTracer);
+    }
+
+    /**
+     * Enable the main-thread budget guard (global setting, meant for debug builds).
+     *
+     * Every isGrantedPermission / getPermissionSettingIntents call that the framework APIs make on the main thread is
+     * timed, the ones over budget are reported with their call site and the cost accumulated within the current frame.
+     *
+     * @param budgetMillis                  budget of a call and of the calls of one frame, 0 or less disables the guard
+     * @param permissionBudgetReporter      e.g. {@link PermissionBudgetReporter#LOGCAT}, pass null to disable the guard
+     */
+    public static void setMainThreadBudget(long budgetMillis, @Nullable PermissionBudgetReporter permissionBudgetReporter) {
+        PermissionBudgetGuard.setBudget(budgetMillis, permissionBudgetReporter);
+    }
+
+    /**
+     * Enable the compliance audit (global setting, meant for the builds that run without check mode).
+     *
+     * A sampled fraction of the requests is checked on a background thread with the rules of the check mode,
+     * and every violation found (e.g. a permission stripped from the merged manifest) is reported instead of thrown.
+     * The audit never delays the request. It is skipped for the requests made in check mode, which already throw.
+     *
+     * @param sampleRate                        fraction of the requests audited, e.g. 0.01f, 0 disables the audit
+     * @param permissionComplianceReporter      receives the violations, pass null to disable the audit
+     */
+    public static void setComplianceAudit(float sampleRate, @Nullable PermissionComplianceReporter permissionComplianceReporter) {
+        PermissionComplianceAudit.setAudit(sampleRate, permissionComplianceReporter);
+    }
+
+    /**
+     * Warm up the framework on a background thread, so the first permission request is not slowed
+     * down by class loading, OEM system probing, reflection and manifest parsing.
+     *
+     * Call it from {@link Application#onCreate()}, after the global settings (e.g. check mode).
+     */
+    public static void warmUp(@NonNull Application application) {
+        warmUp(application, null, null);
+    }
+
+    /**
+     * Warm up the framework and the permissions the app will request.
+     *
+     * @param permissions       permissions to preload, may be null
+     * @param callback          receives what was preloaded, may be null
+     */
+    public static void warmUp(@NonNull Application application, @Nullable List<IPermission> permissions,
+                              @Nullable OnPermissionWarmUpCallback callback) {
+        warmUp(application, permissions, PermissionWarmUp.DEFAULT_BUDGET_MILLIS, callback);
+    }
+
+    /**
+     * Warm up the framework and the permissions the app will request.
+     *
+     * @param budgetMillis      time budget, steps that would start after it are skipped (it is checked between steps,
+     *                          so a step that has started, e.g. the manifest parsing, always runs to its end)
+     */
+    public static void warmUp(@NonNull Application application, @Nullable List<IPermission> permissions,
+                              long budgetMillis, @Nullable OnPermissionWarmUpCallback callback) {
+        PermissionWarmUp.start(application, permissions, budgetMillis, callback);
+    }
+
+    /**
+     * Print the internal state of the framework: in-flight requests, live permission Fragments,
+     * reserved request codes, locked orientations, pending tasks, caches and metrics.
+     *
+     * Meant for diagnosing a request that never finished, e.g. from {@link Activity#dump} (adb shell dumpsys activity)
+     * or a debug drawer. It only copies small in-memory collections, so it is cheap and can be called from any thread.
+     */
+    public static void dump(@NonNull PrintWriter writer) {
+        String prefix = "  ";
+        writer.println("XXPermissions:");
+        PermissionRequestMainLogic.dump(prefix, writer);
+        PermissionChannelImpl.dump(prefix, writer);
+        PermissionRequestCodeManager.dump(prefix, writer);
+        ActivityOrientationManager.dump(prefix, writer);
+        AlreadyRequestPermissionsManager.dump(prefix, writer);
+        PermissionTaskHandler.dump(prefix, writer);
+        PermissionLists.dump(prefix, writer);
+        PermissionChangeMonitor.dump(prefix, writer);
+        AndroidManifestParser.dump(prefix, writer);
+        StartActivityRouteCache.dump(prefix, writer);
+        PermissionComplianceAudit.dump(prefix, writer);
+        PermissionMetrics.dump(prefix, writer);
+        writer.flush();
     }
 
     /** List of permissions to request */
@@ -150,11 +260,17 @@ public final class XXPermissions {
 
     /**
      * Add a single permission.
+     *
+     * A permission added twice is only requested once, the last added entry takes precedence. Permissions of the same
+     * name bound to different parameters (e.g. two notification channels) are different permissions and are all kept.
      */
     public XXPermissions permission(@NonNull IPermission permission) {
-        // Purpose of this approach: if a duplicate permission is added,
-        // the last added entry takes precedence.
-        mRequestList.remove(permission);
+        Iterator<IPermission> iterator = mRequestList.iterator();
+        while (iterator.hasNext()) {
+            if (PermissionUtils.equalsPermissionIdentity(iterator.next(), permission)) {
+                iterator.remove();
+            }
+        }
         mRequestList.add(permission);
         return this;
     }
@@ -233,43 +349,90 @@ public final class XXPermissions {
         // Obtain the Activity from the Context
         Activity activity = PermissionUtils.findActivity(context);
 
-        if (isCheckMode(context)) {
-            // Verify that the provided Activity or Fragment state is valid
-            PermissionChecker.checkActivityStatus(activity);
-            if (appFragment != null) {
-                PermissionChecker.checkAppFragmentStatus(appFragment);
+        final int requestId = PermissionTrace.newRequestId();
+        PermissionTrace.beginStage(requestId, Stage.REQUEST);
+
+        // REQUEST is an async slice, ended by the request logic once the request finishes; if anything below throws
+        // (e.g. the checks of the check mode, which throw on purpose) there is no request logic to end it, so end it here
+        try {
+            if (isCheckMode(context)) {
+                PermissionTrace.beginStage(requestId, Stage.CHECK_MODE);
+                try {
+                    // Verify that the provided Activity or Fragment state is valid
+                    PermissionChecker.checkActivityStatus(activity);
+                    if (appFragment != null) {
+                        PermissionChecker.checkAppFragmentStatus(appFragment);
+                    }
+                    PermissionTrace.beginStage(requestId, Stage.MANIFEST_PARSING);
+                    AndroidManifestInfo manifestInfo;
+                    try {
+                        manifestInfo = AndroidManifestParser.getAndroidManifestInfo(context);
+                    } finally {
+                        PermissionTrace.endStage(requestId, Stage.MANIFEST_PARSING);
+                    }
+                    // Validate the requested permissions
+                    PermissionChecker.checkPermissionList(activity, requestList, manifestInfo);
+                } finally {
+                    PermissionTrace.endStage(requestId, Stage.CHECK_MODE);
+                }
+            } else if (activity != null && PermissionComplianceAudit.isEnabled()) {
+                // Same checks, on a background thread and for a sample of the requests only
+                PermissionComplianceAudit.audit(activity, requestList);
             }
-            // Validate the requested permissions
-            PermissionChecker.checkPermissionList(activity, requestList, AndroidManifestParser.getAndroidManifestInfo(context));
-        }
 
-        // Check whether the Activity is unavailable
-        if (PermissionUtils.isActivityUnavailable(activity)) {
-            return;
-        }
+            // Check whether the Activity is unavailable
+            if (PermissionUtils.isActivityUnavailable(activity)) {
+                PermissionTrace.endStage(requestId, Stage.REQUEST);
+                return;
+            }
 
-        // Optimize the list of requested permissions (e.g., add legacy counterparts for newer ones)
-        PermissionApi.addOldPermissionsByNewPermissions(activity, requestList);
+            // Optimize the list of requested permissions (e.g., add legacy counterparts for newer ones)
+            requestList = PermissionApi.addOldPermissionsByNewPermissions(activity, requestList);
+
+            // If all requested permissions are already granted
+            if (PermissionApi.isGrantedPermissions(context, requestList)) {
+                // Do not request again; notify success directly
+                PermissionTrace.beginStage(requestId, Stage.INTERCEPTOR_END);
+                try {
+                    permissionInterceptor.onRequestPermissionEnd(activity, true, requestList, requestList, new ArrayList<>(), callback);
+                } finally {
+                    PermissionTrace.endStage(requestId, Stage.INTERCEPTOR_END);
+                }
+                PermissionTrace.endStage(requestId, Stage.REQUEST);
+                return;
+            }
 
-        // If all requested permissions are already granted
-        if (PermissionApi.isGrantedPermissions(context, requestList)) {
-            // Do not request again; notify success directly
-            permissionInterceptor.onRequestPermissionEnd(activity, true, requestList, requestList, new ArrayList<>(), callback);
-            return;
-        }
+            final PermissionFragmentFactory<?, ?> fragmentFactory;
+            if (appFragment != null) {
+                if (PermissionUtils.isFragmentUnavailable(appFragment)) {
+                    PermissionTrace.endStage(requestId, Stage.REQUEST);
+                    return;
+                }
+                fragmentFactory = generatePermissionFragmentFactory(activity, appFragment);
+            } else {
+                fragmentFactory = generatePermissionFragmentFactory(activity);
+            }
 
-        final PermissionFragmentFactory<?, ?> fragmentFactory;
-        if (appFragment != null) {
-            if (PermissionUtils.isFragmentUnavailable(appFragment)) {
-                return;
+            // Request the permissions that have not yet been granted
+            // (the request logic created by the interceptor takes over the request id to continue the trace)
+            PermissionTrace.beginStage(requestId, Stage.INTERCEPTOR_START);
+            PermissionTrace.setCurrentRequestId(requestId);
+            boolean dispatched;
+            try {
+                permissionInterceptor.onRequestPermissionStart(activity, requestList, fragmentFactory, permissionDescription, callback);
+            } finally {
+                dispatched = PermissionTrace.takeCurrentRequestId() != requestId;
+                PermissionTrace.endStage(requestId, Stage.INTERCEPTOR_START);
             }
-            fragmentFactory = generatePermissionFragmentFactory(activity, appFragment);
-        } else {
-            fragmentFactory = generatePermissionFragmentFactory(activity);
+            if (!dispatched) {
+                // The interceptor deferred the request (e.g. behind a rationale dialog) or dropped it: nothing will end
+                // this slice, and a request logic created later traces itself under a new request id
+                PermissionTrace.endStage(requestId, Stage.REQUEST);
+            }
+        } catch (RuntimeException e) {
+            PermissionTrace.endStage(requestId, Stage.REQUEST);
+            throw e;
         }
-
-        // Request the permissions that have not yet been granted
-        permissionInterceptor.onRequestPermissionStart(activity, requestList, fragmentFactory, permissionDescription, callback);
     }
 
     /**
@@ -277,10 +440,7 @@ public final class XXPermissions {
      */
     private boolean isCheckMode(@NonNull Context context) {
         if (mCheckMode == null) {
-            if (sCheckMode == null) {
-                sCheckMode = PermissionUtils.isDebugMode(context);
-            }
-            mCheckMode = sCheckMode;
+            mCheckMode = XXPermissionsConfig.isCheckMode(context);
         }
         return mCheckMode;
     }
@@ -289,7 +449,7 @@ public final class XXPermissions {
      * Determine whether a permission is granted.
      */
     public static boolean isGrantedPermission(@NonNull Context context, @NonNull IPermission permission) {
-        return permission.isGrantedPermission(context);
+        return PermissionApi.isGrantedPermission(context, permission);
     }
 
     public static boolean isGrantedPermissions(@NonNull Context context, @NonNull IPermission[] permissions) {
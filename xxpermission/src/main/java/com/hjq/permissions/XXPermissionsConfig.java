@@ -0,0 +1,179 @@
+package com.hjq.permissions;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.Supplier;
+import com.hjq.permissions.environment.AndroidPermissionEnvironment;
+import com.hjq.permissions.environment.PermissionEnvironment;
+import com.hjq.permissions.tools.PermissionLog;
+import com.hjq.permissions.tools.PermissionUtils;
+import java.lang.reflect.Constructor;
+
+/**
+ *    author : Android Wheel Brother
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/20
+ *    desc   : Global configuration of the permission framework.
+ *
+ * Interceptors and description handlers are provided through a {@link Supplier} (a new object per request)
+ * or as a shared instance (only for stateless implementations), so that request setup does not go through
+ * reflection. Check mode is resolved once and then reused by every request.
+ */
+public final class XXPermissionsConfig {
+
+    /** Shared default interceptor (stateless) */
+    private static final OnPermissionInterceptor DEFAULT_PERMISSION_INTERCEPTOR = new DefaultPermissionInterceptor();
+
+    /** Shared default description handler (stateless) */
+    private static final OnPermissionDescription DEFAULT_PERMISSION_DESCRIPTION = new DefaultPermissionDescription();
+
+    /** Supplier of the permission request interceptor (applies globally) */
+    @Nullable
+    private static volatile Supplier<? extends OnPermissionInterceptor> sPermissionInterceptorSupplier;
+
+    /** Supplier of the permission description handler (applies globally) */
+    @Nullable
+    private static volatile Supplier<? extends OnPermissionDescription> sPermissionDescriptionSupplier;
+
+    /** Environment of the running device */
+    private static final PermissionEnvironment DEFAULT_PERMISSION_ENVIRONMENT = new AndroidPermissionEnvironment();
+
+    /** Environment the permission checks read the system through */
+    @NonNull
+    private static volatile PermissionEnvironment sPermissionEnvironment = DEFAULT_PERMISSION_ENVIRONMENT;
+
+    /** Whether error-checking mode is enabled (null means not resolved yet) */
+    @Nullable
+    private static volatile Boolean sCheckMode;
+
+    private XXPermissionsConfig() {
+        // default implementation ignored
+    }
+
+    /**
+     * Set the supplier of the permission request interceptor, called once per request.
+     */
+    public static void setPermissionInterceptor(@Nullable Supplier<? extends OnPermissionInterceptor> supplier) {
+        sPermissionInterceptorSupplier = supplier;
+    }
+
+    /**
+     * Set a permission request interceptor shared by every request.
+     *
+     * Only pass a stateless implementation: the same object may serve several requests at the same time.
+     */
+    public static void setPermissionInterceptor(@Nullable OnPermissionInterceptor permissionInterceptor) {
+        sPermissionInterceptorSupplier = permissionInterceptor != null ? () -> permissionInterceptor : null;
+    }
+
+    /**
+     * Set the supplier of the permission description handler, called once per request.
+     */
+    public static void setPermissionDescription(@Nullable Supplier<? extends OnPermissionDescription> supplier) {
+        sPermissionDescriptionSupplier = supplier;
+    }
+
+    /**
+     * Set a permission description handler shared by every request.
+     *
+     * Only pass a stateless implementation: the same object may serve several requests at the same time.
+     */
+    public static void setPermissionDescription(@Nullable OnPermissionDescription permissionDescription) {
+        sPermissionDescriptionSupplier = permissionDescription != null ? () -> permissionDescription : null;
+    }
+
+    /**
+     * Enable or disable error-checking mode.
+     */
+    public static void setCheckMode(boolean checkMode) {
+        sCheckMode = checkMode;
+    }
+
+    /**
+     * Replace the environment the permission checks read the system through
+     * (e.g. with a {@link com.hjq.permissions.environment.FakePermissionEnvironment} in tests).
+     *
+     * @param permissionEnvironment     pass null to go back to the running device
+     */
+    public static void setPermissionEnvironment(@Nullable PermissionEnvironment permissionEnvironment) {
+        sPermissionEnvironment = permissionEnvironment != null ? permissionEnvironment : DEFAULT_PERMISSION_ENVIRONMENT;
+    }
+
+    /**
+     * Get the environment the permission checks read the system through.
+     */
+    @NonNull
+    public static PermissionEnvironment getPermissionEnvironment() {
+        return sPermissionEnvironment;
+    }
+
+    /**
+     * Get the permission request interceptor for a new request.
+     */
+    @NonNull
+    public static OnPermissionInterceptor getPermissionInterceptor() {
+        Supplier<? extends OnPermissionInterceptor> supplier = sPermissionInterceptorSupplier;
+        if (supplier != null) {
+            OnPermissionInterceptor permissionInterceptor = supplier.get();
+            if (permissionInterceptor != null) {
+                return permissionInterceptor;
+            }
+        }
+        return DEFAULT_PERMISSION_INTERCEPTOR;
+    }
+
+    /**
+     * Get the permission description handler for a new request.
+     */
+    @NonNull
+    public static OnPermissionDescription getPermissionDescription() {
+        Supplier<? extends OnPermissionDescription> supplier = sPermissionDescriptionSupplier;
+        if (supplier != null) {
+            OnPermissionDescription permissionDescription = supplier.get();
+            if (permissionDescription != null) {
+                return permissionDescription;
+            }
+        }
+        return DEFAULT_PERMISSION_DESCRIPTION;
+    }
+
+    /**
+     * Whether error-checking mode is enabled; if it was never set, it follows whether the app is debuggable.
+     */
+    public static boolean isCheckMode(@NonNull Context context) {
+        Boolean checkMode = sCheckMode;
+        if (checkMode == null) {
+            checkMode = PermissionUtils.isDebugMode(context);
+            sCheckMode = checkMode;
+        }
+        return checkMode;
+    }
+
+    /**
+     * Create a supplier that instantiates the given class through its no-arg constructor.
+     *
+     * The constructor is resolved once, so each request only pays for the instantiation itself.
+     *
+     * @return null if the class has no accessible no-arg constructor
+     */
+    @Nullable
+    static <T> Supplier<T> createSupplierByClass(@NonNull Class<? extends T> clazz) {
+        final Constructor<? extends T> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (Exception e) {
+            PermissionLog.log(clazz.getName() + " has no accessible no-arg constructor", e);
+            return null;
+        }
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (Exception e) {
+                PermissionLog.log("Create " + clazz.getName() + " failed", e);
+                return null;
+            }
+        };
+    }
+}
@@ -15,6 +15,13 @@ public interface OnPermissionFragmentCallback {
         // default implementation ignored
     }
 
+    /**
+     * Callback when the system delivered the result, the state is then given some time to settle before finishing
+     */
+    default void onRequestPermissionResult() {
+        // default implementation ignored
+    }
+
     /**
      * Callback when permission request is finished
      */
@@ -0,0 +1,178 @@
+package com.hjq.permissions.core;
+
+import android.app.Activity;
+import androidx.annotation.NonNull;
+import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.tools.PermissionUtils;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/10/03
+ *    desc   : Orders the batches of a request by the dependencies of their permissions.
+ *             A background permission can only be granted once one of its foreground permissions is, and a new permission
+ *             is asked after the old permissions it replaces on older systems, so the batch that holds it depends on the
+ *             batches that hold those permissions. The batches are scheduled in topological order (keeping the request
+ *             order where there is no dependency), then the batches that can not be granted any more are pruned in one pass.
+ */
+final class PermissionBatchScheduler {
+
+    private PermissionBatchScheduler() {
+        // default implementation ignored
+    }
+
+    /**
+     * Sort the batches so that every batch comes after the batches it depends on.
+     */
+    @NonNull
+    static List<List<IPermission>> sortByDependency(@NonNull Activity activity, @NonNull List<List<IPermission>> batchList) {
+        int batchCount = batchList.size();
+        if (batchCount < 2) {
+            return batchList;
+        }
+
+        // Edges of the graph: dependentBatches[i] holds the batches that must wait for batch i
+        List<List<Integer>> dependentBatches = new ArrayList<>(batchCount);
+        int[] prerequisiteCounts = new int[batchCount];
+        boolean hasDependency = false;
+        for (int i = 0; i < batchCount; i++) {
+            dependentBatches.add(new ArrayList<>(0));
+        }
+        for (int i = 0; i < batchCount; i++) {
+            List<IPermission> prerequisitePermissions = getPrerequisitePermissions(activity, batchList.get(i));
+            if (prerequisitePermissions.isEmpty()) {
+                continue;
+            }
+            for (int j = 0; j < batchCount; j++) {
+                if (j == i || !containsAnyPermission(batchList.get(j), prerequisitePermissions)) {
+                    continue;
+                }
+                dependentBatches.get(j).add(i);
+                prerequisiteCounts[i]++;
+                hasDependency = true;
+            }
+        }
+        if (!hasDependency) {
+            return batchList;
+        }
+
+        // Kahn's algorithm, always taking the ready batch that comes first in the request
+        List<List<IPermission>> sortedList = new ArrayList<>(batchCount);
+        boolean[] scheduled = new boolean[batchCount];
+        while (sortedList.size() < batchCount) {
+            int readyIndex = -1;
+            for (int i = 0; i < batchCount; i++) {
+                if (!scheduled[i] && prerequisiteCounts[i] == 0) {
+                    readyIndex = i;
+                    break;
+                }
+            }
+            if (readyIndex == -1) {
+                // A cycle, which well-formed permissions never declare: keep the rest in request order
+                for (int i = 0; i < batchCount; i++) {
+                    if (!scheduled[i]) {
+                        sortedList.add(batchList.get(i));
+                        scheduled[i] = true;
+                    }
+                }
+                break;
+            }
+            scheduled[readyIndex] = true;
+            sortedList.add(batchList.get(readyIndex));
+            for (int dependentIndex : dependentBatches.get(readyIndex)) {
+                prerequisiteCounts[dependentIndex]--;
+            }
+        }
+        return sortedList;
+    }
+
+    /**
+     * Remove the batches from the given index on that can not be granted any more, in one pass over the sorted plan:
+     * every background permission of a batch needs one of its foreground permissions to be granted already, or to be
+     * requested by a kept batch before it. A pruned batch grants nothing, so the batches that only wait for it are
+     * pruned in the same pass (the batches before the index are done, what they did not grant stays denied).
+     *
+     * @return              the number of pruned batches
+     */
+    static int pruneUnreachableBatches(@NonNull Activity activity, @NonNull List<List<IPermission>> batchList, int fromIndex) {
+        int prunedCount = 0;
+        List<IPermission> scheduledPermissions = new ArrayList<>();
+        int index = fromIndex;
+        while (index < batchList.size()) {
+            List<IPermission> batch = batchList.get(index);
+            if (isBatchReachable(activity, batch, scheduledPermissions)) {
+                scheduledPermissions.addAll(batch);
+                index++;
+                continue;
+            }
+            batchList.remove(index);
+            prunedCount++;
+        }
+        return prunedCount;
+    }
+
+    /**
+     * Whether the batch can still be granted: every background permission of it needs one of its foreground permissions
+     * to be granted or scheduled before it (a background permission that declares no foreground permission is assumed
+     * to be satisfied).
+     */
+    private static boolean isBatchReachable(@NonNull Activity activity, @NonNull List<IPermission> batch,
+                                            @NonNull List<IPermission> scheduledPermissions) {
+        for (IPermission permission : batch) {
+            if (!permission.isBackgroundPermission(activity)) {
+                continue;
+            }
+            List<IPermission> foregroundPermissions = permission.getForegroundPermissions(activity);
+            if (foregroundPermissions == null || foregroundPermissions.isEmpty()) {
+                continue;
+            }
+            boolean reachableForegroundPermission = false;
+            for (IPermission foregroundPermission : foregroundPermissions) {
+                // As long as any of the foreground permissions can be granted, it is considered reachable
+                // (the plan is checked first, it costs no grant check)
+                if (PermissionUtils.containsPermission(scheduledPermissions, foregroundPermission) ||
+                        foregroundPermission.isGrantedPermission(activity)) {
+                    reachableForegroundPermission = true;
+                    break;
+                }
+            }
+            if (!reachableForegroundPermission) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the permissions a batch waits for: the foreground permissions of its background permissions, and the old
+     * permissions of its permissions.
+     */
+    @NonNull
+    private static List<IPermission> getPrerequisitePermissions(@NonNull Activity activity, @NonNull List<IPermission> batch) {
+        List<IPermission> prerequisitePermissions = new ArrayList<>(0);
+        for (IPermission permission : batch) {
+            if (permission.isBackgroundPermission(activity)) {
+                List<IPermission> foregroundPermissions = permission.getForegroundPermissions(activity);
+                if (foregroundPermissions != null) {
+                    prerequisitePermissions.addAll(foregroundPermissions);
+                }
+            }
+            List<IPermission> oldPermissions = permission.getOldPermissions(activity);
+            if (oldPermissions != null) {
+                prerequisitePermissions.addAll(oldPermissions);
+            }
+        }
+        return prerequisitePermissions;
+    }
+
+    private static boolean containsAnyPermission(@NonNull List<IPermission> batch, @NonNull List<IPermission> permissions) {
+        for (IPermission permission : permissions) {
+            if (PermissionUtils.containsPermission(batch, permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -14,9 +14,15 @@ import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.start.IStartActivityDelegate;
 import com.hjq.permissions.tools.PermissionVersion;
 import com.hjq.permissions.tools.PermissionApi;
+import com.hjq.permissions.tools.PermissionLog;
 import com.hjq.permissions.tools.PermissionTaskHandler;
 import com.hjq.permissions.tools.PermissionUtils;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  *    author : Android 轮子哥
@@ -32,6 +38,9 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
     /** Request code (auto-generated) */
     public static final String REQUEST_CODE = "request_code";
 
+    /** Channels whose Fragment has not been destroyed yet (weakly held, so a Fragment dropped without onDestroy is not leaked) */
+    private static final Set<PermissionChannelImpl> LIVE_CHANNEL_SET = Collections.newSetFromMap(new WeakHashMap<>());
+
     /** Task token */
     @NonNull
     private final Object mTaskToken = new Object();
@@ -55,6 +64,47 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
 
     protected PermissionChannelImpl(@NonNull IFragmentMethod<?, ?> fragmentMethod) {
         mFragmentMethod = fragmentMethod;
+        synchronized (LIVE_CHANNEL_SET) {
+            LIVE_CHANNEL_SET.add(this);
+        }
+    }
+
+    /**
+     * Print the permission Fragments that are still alive
+     */
+    public static void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        List<PermissionChannelImpl> channels;
+        synchronized (LIVE_CHANNEL_SET) {
+            channels = new ArrayList<>(LIVE_CHANNEL_SET);
+        }
+        writer.print(prefix);
+        writer.print("Permission fragments (");
+        writer.print(channels.size());
+        writer.println("):");
+        for (PermissionChannelImpl channel : channels) {
+            IFragmentMethod<?, ?> fragmentMethod = channel.mFragmentMethod;
+            Activity activity = fragmentMethod.getActivity();
+            writer.print(prefix);
+            writer.print("  ");
+            writer.print(fragmentMethod.getClass().getSimpleName());
+            writer.print(" activity=");
+            writer.print(activity != null ? activity.getClass().getName() : null);
+            writer.print(" requestCode=");
+            writer.print(channel.getPermissionRequestCode());
+            writer.print(" added=");
+            writer.print(fragmentMethod.isAdded());
+            writer.print(" removing=");
+            writer.print(fragmentMethod.isRemoving());
+            writer.print(" alreadyRequest=");
+            writer.print(channel.mAlreadyRequest);
+            writer.print(" manualDetach=");
+            writer.print(channel.mManualDetach);
+            writer.print(" callbackPending=");
+            writer.println(channel.mPermissionFragmentCallback != null);
+            writer.print(prefix);
+            writer.print("    permissions=");
+            writer.println(channel.getPermissionRequestList());
+        }
     }
 
     public void setNonSystemRestartMark(boolean nonSystemRestartMark) {
@@ -71,7 +121,7 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
     }
 
     @Nullable
-    private Activity getActivity() {
+    protected Activity getActivity() {
         return mFragmentMethod.getActivity();
     }
 
@@ -135,7 +185,7 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
             // Example exception:
             // android.content.ActivityNotFoundException: No Activity found to handle Intent
             // { act=android.content.pm.action.REQUEST_PERMISSIONS pkg=com.android.packageinstaller (has extras) }
-            e.printStackTrace();
+            PermissionLog.log("Request permissions failed", e);
         }
     }
 
@@ -218,6 +268,9 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
 
     @Override
     public void onFragmentDestroy() {
+        synchronized (LIVE_CHANNEL_SET) {
+            LIVE_CHANNEL_SET.remove(this);
+        }
         // Cancel pending tasks
         cancelTask();
         OnPermissionFragmentCallback callback = getPermissionFragmentCallback();
@@ -249,6 +302,10 @@ public abstract class PermissionChannelImpl implements IFragmentCallback {
         if (PermissionUtils.isActivityUnavailable(activity)) {
             return;
         }
+        OnPermissionFragmentCallback callback = getPermissionFragmentCallback();
+        if (callback != null) {
+            callback.onRequestPermissionResult();
+        }
         // Delay handling of permission request results
         sendTask(this::handlerPermissionCallback, PermissionApi.getMaxWaitTimeByPermissions(activity, getPermissionRequestList()));
     }
@@ -1,13 +1,17 @@
 package com.hjq.permissions.core;
 
 import android.app.Activity;
+import android.content.pm.PackageManager;
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.fragment.IFragmentMethod;
 import com.hjq.permissions.manager.AlreadyRequestPermissionsManager;
 import com.hjq.permissions.manager.PermissionRequestCodeManager;
+import com.hjq.permissions.permission.base.BasePermission;
 import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.tools.PermissionMetrics;
+import com.hjq.permissions.tools.PermissionMetrics.PermissionCounter;
 import com.hjq.permissions.tools.PermissionVersion;
 import com.hjq.permissions.tools.PermissionUtils;
 import java.util.List;
@@ -20,6 +24,14 @@ import java.util.List;
  */
 public final class PermissionChannelImplByRequestPermissions extends PermissionChannelImpl {
 
+    /** Permissions of the system dialog (only kept while the metrics are enabled) */
+    @Nullable
+    private List<IPermission> mRequestPermissions;
+
+    /** Whether the user had seen the system dialog of each permission before this one */
+    @Nullable
+    private boolean[] mAlreadyAskedStates;
+
     public PermissionChannelImplByRequestPermissions(@NonNull IFragmentMethod<?, ?> fragmentMethod) {
         super(fragmentMethod);
     }
@@ -35,6 +47,18 @@ public final class PermissionChannelImplByRequestPermissions extends PermissionC
             return;
         }
 
+        if (PermissionMetrics.isEnabled()) {
+            // Read before the request, which changes both states
+            boolean[] alreadyAskedStates = new boolean[permissions.size()];
+            for (int i = 0; i < permissions.size(); i++) {
+                IPermission permission = permissions.get(i);
+                alreadyAskedStates[i] = AlreadyRequestPermissionsManager.isAlreadyRequestPermissions(permission) ||
+                        BasePermission.shouldShowRequestPermissionRationale(activity, permission.getRequestPermissionName(activity));
+            }
+            mRequestPermissions = permissions;
+            mAlreadyAskedStates = alreadyAskedStates;
+        }
+
         // If necessary, directly request all dangerous permissions
         requestPermissions(PermissionUtils.convertPermissionArray(activity, permissions), requestCode);
         // Record the already requested permissions (used to more accurately determine whether the user has checked "Don't ask again")
@@ -50,7 +74,39 @@ public final class PermissionChannelImplByRequestPermissions extends PermissionC
         }
         // Release the occupancy of this request code
         PermissionRequestCodeManager.releaseRequestCode(requestCode);
+        recordDoNotAskAgain(permissions, grantResults);
         // Notify the permission request callback
         notificationPermissionCallback();
     }
+
+    /**
+     * Count the permissions the user denied for good on this system dialog: denied, no rationale to show any more,
+     * and the dialog had been seen before (otherwise it may just have been dismissed the first time it showed up)
+     */
+    private void recordDoNotAskAgain(@Nullable String[] permissions, @Nullable int[] grantResults) {
+        List<IPermission> requestPermissions = mRequestPermissions;
+        boolean[] alreadyAskedStates = mAlreadyAskedStates;
+        mRequestPermissions = null;
+        mAlreadyAskedStates = null;
+        Activity activity = getActivity();
+        // The results are empty if the request was interrupted, nothing was answered then
+        if (requestPermissions == null || alreadyAskedStates == null || activity == null ||
+                permissions == null || grantResults == null) {
+            return;
+        }
+        int count = Math.min(requestPermissions.size(), Math.min(permissions.length, grantResults.length));
+        for (int i = 0; i < count; i++) {
+            if (!alreadyAskedStates[i] || grantResults[i] == PackageManager.PERMISSION_GRANTED) {
+                continue;
+            }
+            IPermission permission = requestPermissions.get(i);
+            // The results follow the order of the request
+            if (!PermissionUtils.equalsString(permissions[i], permission.getRequestPermissionName(activity))) {
+                continue;
+            }
+            if (!BasePermission.shouldShowRequestPermissionRationale(activity, permissions[i])) {
+                PermissionMetrics.increment(permission.getPermissionName(), PermissionCounter.DO_NOT_ASK_AGAIN);
+            }
+        }
+    }
 }
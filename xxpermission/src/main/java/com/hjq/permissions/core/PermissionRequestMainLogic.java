@@ -1,6 +1,9 @@
 package com.hjq.permissions.core;
 
 import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.os.SystemClock;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import android.text.TextUtils;
@@ -12,12 +15,21 @@ import com.hjq.permissions.manager.ActivityOrientationManager;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.tools.PermissionApi;
+import com.hjq.permissions.tools.PermissionMetrics;
+import com.hjq.permissions.tools.PermissionMetrics.GlobalLatency;
+import com.hjq.permissions.tools.PermissionMetrics.PermissionCounter;
+import com.hjq.permissions.tools.PermissionMetrics.PermissionLatency;
 import com.hjq.permissions.tools.PermissionTaskHandler;
+import com.hjq.permissions.tools.PermissionTrace;
+import com.hjq.permissions.tools.PermissionTracer.Stage;
 import com.hjq.permissions.tools.PermissionUtils;
 import com.hjq.permissions.tools.PermissionVersion;
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  *    author : Android Wheel Brother
@@ -27,6 +39,9 @@ import java.util.List;
  */
 public final class PermissionRequestMainLogic {
 
+    /** Requests that have started and not delivered their result yet, keyed by request id */
+    private static final Map<Integer, PermissionRequestMainLogic> IN_FLIGHT_REQUEST_MAP = new LinkedHashMap<>();
+
     @NonNull
     private final Activity mActivity;
 
@@ -45,6 +60,34 @@ public final class PermissionRequestMainLogic {
     @Nullable
     private final OnPermissionCallback mCallBack;
 
+    /** Id of the request in the trace */
+    private final int mRequestId;
+
+    /** Time the request started at (elapsed realtime) */
+    private final long mRequestStartTime = SystemClock.elapsedRealtime();
+
+    /** Whether the first system dialog (or settings page) of the request has shown up */
+    private boolean mFirstDialogShown;
+
+    /** Batch of permissions being requested right now */
+    @Nullable
+    private volatile List<IPermission> mCurrentPermissions;
+
+    /** Stage the request is waiting in right now */
+    @Nullable
+    private volatile Stage mCurrentStage;
+
+    /** Batches planned for the request, in order (main thread only) */
+    @Nullable
+    private List<List<IPermission>> mPlanList;
+
+    /** Index of the next batch of {@link #mPlanList} to take */
+    private int mPlanIndex;
+
+    /** Next batch of the plan as prepared on the background thread, while the current one was on screen */
+    @Nullable
+    private volatile PreparedBatch mPreparedBatch;
+
     public PermissionRequestMainLogic(@NonNull Activity activity,
                                            @NonNull List<IPermission> requestList,
                                            @NonNull PermissionFragmentFactory<?, ?> fragmentFactory,
@@ -57,6 +100,13 @@ public final class PermissionRequestMainLogic {
         mPermissionInterceptor = permissionInterceptor;
         mPermissionDescription = permissionDescription;
         mCallBack = callback;
+        int requestId = PermissionTrace.takeCurrentRequestId();
+        if (requestId == PermissionTrace.NO_REQUEST_ID) {
+            // Not dispatched from XXPermissions.request (e.g. an interceptor that dispatches later), trace it on its own
+            requestId = PermissionTrace.newRequestId();
+            PermissionTrace.beginStage(requestId, Stage.REQUEST);
+        }
+        mRequestId = requestId;
     }
 
     /**
@@ -64,26 +114,56 @@ public final class PermissionRequestMainLogic {
      */
     public void request() {
         if (mRequestList.isEmpty()) {
+            PermissionTrace.endStage(mRequestId, Stage.REQUEST);
             return;
         }
 
-        List<List<IPermission>> unauthorizedList = getUnauthorizedList(mActivity, mRequestList);
+        final int requestId = mRequestId;
+
+        synchronized (IN_FLIGHT_REQUEST_MAP) {
+            IN_FLIGHT_REQUEST_MAP.put(requestId, this);
+        }
+
+        for (IPermission permission : mRequestList) {
+            PermissionMetrics.increment(permission.getPermissionName(), PermissionCounter.REQUESTED);
+        }
+
+        List<List<IPermission>> unauthorizedList;
+        PermissionTrace.beginStage(requestId, Stage.PLAN_BUILDING);
+        try {
+            unauthorizedList = getUnauthorizedList(mActivity, mRequestList);
+        } finally {
+            PermissionTrace.endStage(requestId, Stage.PLAN_BUILDING);
+        }
         if (unauthorizedList.isEmpty()) {
             // Indicates that there are no permissions to request, directly handle the permission request result
             handlePermissionRequestResult();
             return;
         }
 
-        Iterator<List<IPermission>> iterator = unauthorizedList.iterator();
+        mPlanList = unauthorizedList;
+        mPlanIndex = 0;
         List<IPermission> firstPermissions = null;
-        while (iterator.hasNext() && (firstPermissions == null || firstPermissions.isEmpty())) {
-            firstPermissions = iterator.next();
+        while (mPlanIndex < unauthorizedList.size()) {
+            List<IPermission> permissions = unauthorizedList.get(mPlanIndex++);
+            if (permissions == null || permissions.isEmpty()) {
+                continue;
+            }
+            firstPermissions = permissions;
+            break;
         }
         if (firstPermissions == null || firstPermissions.isEmpty()) {
             // Indicates that there are no permissions to request, directly handle the permission request result
             handlePermissionRequestResult();
             return;
         }
+        PermissionTrace.beginStage(requestId, Stage.PLAN_BUILDING);
+        try {
+            firstPermissions = mergeSettingsVisitBatches(unauthorizedList, mPlanIndex - 1,
+                    findSettingsVisitBatches(mActivity, unauthorizedList, mPlanIndex - 1));
+        } finally {
+            PermissionTrace.endStage(requestId, Stage.PLAN_BUILDING);
+        }
 
         final Activity activity = mActivity;
         final PermissionFragmentFactory<?, ?> fragmentFactory = mFragmentFactory;
@@ -97,9 +177,57 @@ public final class PermissionRequestMainLogic {
 
             @Override
             public void run() {
+                PermissionTrace.beginStage(requestId, Stage.PLAN_BUILDING);
+                List<IPermission> nextPermissions;
+                PreparedBatch preparedBatch = mPreparedBatch;
+                mPreparedBatch = null;
+                try {
+                    // The answer to the batch just requested is known now: drop in one step the batches it made
+                    // unreachable, together with the batches that only wait for them
+                    PermissionBatchScheduler.pruneUnreachableBatches(activity, unauthorizedList, mPlanIndex);
+                    nextPermissions = findNextPermissions(preparedBatch);
+                    if (preparedBatch != null && preparedBatch.mPermissions != nextPermissions) {
+                        // Prepared for a batch that is not requested next
+                        preparedBatch = null;
+                    }
+                    if (nextPermissions != null) {
+                        List<List<IPermission>> visitBatches = preparedBatch != null ?
+                                preparedBatch.mVisitBatches : findSettingsVisitBatches(activity, unauthorizedList, mPlanIndex - 1);
+                        nextPermissions = mergeSettingsVisitBatches(unauthorizedList, mPlanIndex - 1, visitBatches);
+                    }
+                } finally {
+                    PermissionTrace.endStage(requestId, Stage.PLAN_BUILDING);
+                }
+
+                if (nextPermissions == null || nextPermissions.isEmpty()) {
+                    // Indicates that all requests are complete, delay sending the permission handling result
+                    postDelayedHandlerRequestPermissionsResult();
+                    return;
+                }
+
+                final List<IPermission> finalPermissions = nextPermissions;
+                int maxWaitTime = preparedBatch != null ?
+                        preparedBatch.mIntervalTime : PermissionApi.getMaxIntervalTimeByPermissions(activity, nextPermissions);
+                if (maxWaitTime == 0) {
+                    requestPermissionsByFragment(activity, finalPermissions, fragmentFactory, permissionDescription, this);
+                } else {
+                    PermissionTrace.beginStage(requestId, Stage.REQUEST_INTERVAL);
+                    mCurrentStage = Stage.REQUEST_INTERVAL;
+                    PermissionTaskHandler.sendTask(() -> {
+                        PermissionTrace.endStage(requestId, Stage.REQUEST_INTERVAL);
+                        requestPermissionsByFragment(activity, finalPermissions, fragmentFactory, permissionDescription, this);
+                    }, maxWaitTime);
+                }
+            }
+
+            /**
+             * Take the next batch that still has to be requested from the plan
+             */
+            @Nullable
+            private List<IPermission> findNextPermissions(@Nullable PreparedBatch preparedBatch) {
                 List<IPermission> nextPermissions = null;
-                while (iterator.hasNext()) {
-                    nextPermissions = iterator.next();
+                while (mPlanIndex < unauthorizedList.size()) {
+                    nextPermissions = unauthorizedList.get(mPlanIndex++);
 
                     if (nextPermissions == null || nextPermissions.isEmpty()) {
                         // The obtained permission list does not meet the requirements, continue to get the next one. Although it has been filtered before, theoretically it should not reach here, but for code robustness, this check is still added.
@@ -110,7 +238,18 @@ public final class PermissionRequestMainLogic {
                     // 1. The user initiates a request for camera permission and floating window permission. When the system pops up the camera permission dialog, the user does not grant it, but instead goes to the system settings, finds the floating window permission option for the current app, and grants it. Then returns to the app, where the system is still waiting for the camera permission. After granting the camera permission, the next permission to be requested is the floating window permission. However, since the user has already granted it, if we do not check again, the framework will still jump to the floating window settings page.
                     // 2. In a test on an Android 12 emulator, requesting foreground location permission (including coarse and fine location) and background location permission, if the user selects "Approximate location" (the system defaults to "Precise location"), the foreground location permission is not considered granted because fine location is not granted. If the user selects "Precise location", both are granted. If the next permission is background location, and the user selects "Always allow" but does not select "Use precise location", then returns to the app and requests permission again, the system will prompt to change from "Approximate location" to "Precise location". After changing, the foreground location is granted, and the next is background location. If we do not check again, the framework will request again, possibly triggering a dialog, but the permission is already granted, so the system will not show any dialog but will report success.
                     // Summary: The issue arises because there is no delay between the first permission requests, so we can trust the permissions are still not granted. But for the second batch, the situation is more complex because we cannot know what the user did during the first request.
-                    if (PermissionApi.isGrantedPermissions(activity, nextPermissions)) {
+                    // The grant state prepared in the background is reused where being wrong costs nothing: a granted batch
+                    // stays granted (taking a permission back restarts the process), and a batch granted meanwhile on a
+                    // system dialog only reports success again. A batch that jumps to a settings page is checked again,
+                    // since a needless jump is exactly the first scenario.
+                    boolean granted;
+                    if (preparedBatch != null && preparedBatch.mPermissions == nextPermissions &&
+                            (preparedBatch.mGranted || !preparedBatch.mStartActivityForResult)) {
+                        granted = preparedBatch.mGranted;
+                    } else {
+                        granted = PermissionApi.isGrantedPermissions(activity, nextPermissions);
+                    }
+                    if (granted) {
                         // Set the next permission list to null, indicating it will not be requested
                         nextPermissions = null;
                         // The above permission list does not meet the requirements, continue to get the next one
@@ -120,58 +259,16 @@ public final class PermissionRequestMainLogic {
                     // If the code reaches here, it means the next permission list is valid. Use break to exit the loop and proceed to the next step (permission request)
                     break;
                 }
-
-                if (nextPermissions == null || nextPermissions.isEmpty()) {
-                    // Indicates that all requests are complete, delay sending the permission handling result
-                    postDelayedHandlerRequestPermissionsResult();
-                    return;
-                }
-
-                // Get the first permission in the next batch to be requested
-                IPermission firstNextPermission = nextPermissions.get(0);
-                // If the next permission is a background permission
-                if (firstNextPermission.isBackgroundPermission(activity)) {
-                    List<IPermission> foregroundPermissions = firstNextPermission.getForegroundPermissions(activity);
-                    boolean grantedForegroundPermission = false;
-                    // If the corresponding foreground permission for this background permission has not been granted, do not request the background permission, as the system will not approve it anyway
-                    // If you still request in this case, it may trigger a permission explanation dialog, but no actual permission request will occur
-                    if (foregroundPermissions != null && !foregroundPermissions.isEmpty()) {
-                        for (IPermission foregroundPermission : foregroundPermissions) {
-                            if (!foregroundPermission.isGrantedPermission(activity)) {
-                                continue;
-                            }
-                            // As long as any of the foreground permissions are granted, it is considered granted
-                            grantedForegroundPermission = true;
-                        }
-                    } else {
-                        // If a permission is a background permission but does not return its corresponding foreground permission, assume the foreground permission is already granted, then request the background permission
-                        grantedForegroundPermission = true;
-                    }
-
-                    if (!grantedForegroundPermission) {
-                        // If the foreground permission is not granted, do not request the background permission, proceed to the next round
-                        this.run();
-                        return;
-                    }
-                }
-
-                final List<IPermission> finalPermissions = nextPermissions;
-                int maxWaitTime = PermissionApi.getMaxIntervalTimeByPermissions(activity, nextPermissions);
-                if (maxWaitTime == 0) {
-                    requestPermissionsByFragment(activity, finalPermissions, fragmentFactory, permissionDescription, this);
-                } else {
-                    PermissionTaskHandler.sendTask(() ->
-                        requestPermissionsByFragment(activity, finalPermissions, fragmentFactory, permissionDescription, this), maxWaitTime);
-                }
+                return nextPermissions;
             }
         });
     }
 
     /**
-     * Get the list of unauthorized permissions
+     * Get the list of unauthorized permissions (package-private so that the benchmarks can measure it)
      */
     @NonNull
-    private static List<List<IPermission>> getUnauthorizedList(@NonNull Activity activity, @NonNull List<IPermission> requestList) {
+    static List<List<IPermission>> getUnauthorizedList(@NonNull Activity activity, @NonNull List<IPermission> requestList) {
         // List of permissions to request
         List<List<IPermission>> unauthorizedList = new ArrayList<>(requestList.size());
         // List of already processed permissions
@@ -182,7 +279,8 @@ public final class PermissionRequestMainLogic {
             IPermission permission = requestList.get(i);
 
             // If this permission has already been processed, skip it
-            if (PermissionUtils.containsPermission(alreadyDoneList, permission)) {
+            // (by identity: the channels of a notification permission share its name, but each one is requested)
+            if (PermissionUtils.containsPermissionIdentity(alreadyDoneList, permission)) {
                 continue;
             }
             alreadyDoneList.add(permission);
@@ -201,6 +299,7 @@ public final class PermissionRequestMainLogic {
 
             if (permission.getPermissionChannel(activity) == PermissionChannel.START_ACTIVITY_FOR_RESULT) {
                 // If this is a permission that requires a page jump to authorize, treat it as a separate permission request
+                // (the batches that land on the same settings page are merged when the first of them is requested, see findSettingsVisitBatches)
                 unauthorizedList.add(PermissionUtils.asArrayList(permission));
                 continue;
             }
@@ -244,7 +343,7 @@ public final class PermissionRequestMainLogic {
                 todoPermissions.add(todoPermission);
 
                 // If this dangerous permission has already been processed, do not add it again
-                if (PermissionUtils.containsPermission(alreadyDoneList, todoPermission)) {
+                if (PermissionUtils.containsPermissionIdentity(alreadyDoneList, todoPermission)) {
                     continue;
                 }
                 // Add to the list of already processed permissions
@@ -262,7 +361,7 @@ public final class PermissionRequestMainLogic {
             }
 
             // Check if the permission group to be requested contains background permissions (e.g., background location, background sensors). If so, they cannot be requested together and need to be split.
-            List<IPermission> backgroundPermissions = null;
+            List<List<IPermission>> backgroundBatches = null;
             Iterator<IPermission> iterator = todoPermissions.iterator();
             while (iterator.hasNext()) {
                 IPermission todoPermission = iterator.next();
@@ -270,12 +369,12 @@ public final class PermissionRequestMainLogic {
                 if (!todoPermission.isBackgroundPermission(activity)) {
                     continue;
                 }
-                // Take out the background permission and put it in another collection, then treat it as a separate request
+                // Take out every background permission and treat each of them as a separate request
                 iterator.remove();
-                backgroundPermissions = new ArrayList<>();
-                backgroundPermissions.add(todoPermission);
-                // Task complete, break the loop
-                break;
+                if (backgroundBatches == null) {
+                    backgroundBatches = new ArrayList<>(1);
+                }
+                backgroundBatches.add(PermissionUtils.asArrayList(todoPermission));
             }
 
             List<IPermission> foregroundPermissions = todoPermissions;
@@ -285,22 +384,107 @@ public final class PermissionRequestMainLogic {
                 unauthorizedList.add(foregroundPermissions);
             }
             // Add background permissions (if not already granted)
-            if (backgroundPermissions != null && !backgroundPermissions.isEmpty()) {
-                unauthorizedList.add(backgroundPermissions);
+            if (backgroundBatches != null) {
+                unauthorizedList.addAll(backgroundBatches);
+            }
+        }
+
+        // A background permission may depend on foreground permissions of another group, requested later in the list
+        // (e.g. reading health data in the background), so the batches are put in dependency order
+        List<List<IPermission>> sortedList = PermissionBatchScheduler.sortByDependency(activity, unauthorizedList);
+        // If none of the foreground permissions of a background permission is granted or requested before it, do not
+        // request it, as the system will not approve it anyway (it may show a rationale dialog, but no actual request)
+        PermissionBatchScheduler.pruneUnreachableBatches(activity, sortedList, 0);
+        return sortedList;
+    }
+
+    /**
+     * Get the later batches of the plan that land on the same settings page as the batch at the index, so that a single
+     * visit grants them all (e.g. several notification channels while notifications are off, or the app details page
+     * where a device without the dedicated pages sends several special permissions). It builds and resolves the chains
+     * of the batches, call it off the main thread when possible. (package-private for the unit tests)
+     */
+    @NonNull
+    static List<List<IPermission>> findSettingsVisitBatches(@NonNull Context context, @NonNull List<List<IPermission>> planList, int index) {
+        List<List<IPermission>> visitBatches = new ArrayList<>(0);
+        List<IPermission> firstBatch = planList.get(index);
+        if (!isSettingsVisitBatch(context, firstBatch)) {
+            return visitBatches;
+        }
+        Intent destination = null;
+        for (int i = index + 1; i < planList.size(); i++) {
+            List<IPermission> batch = planList.get(i);
+            if (!isSettingsVisitBatch(context, batch)) {
+                continue;
+            }
+            if (destination == null) {
+                // Only resolved once there is another batch to share the visit with
+                destination = PermissionApi.getPermissionSettingDestination(context, firstBatch, false);
+                if (destination == null) {
+                    return visitBatches;
+                }
+            }
+            Intent batchDestination = PermissionApi.getPermissionSettingDestination(context, batch, false);
+            if (batchDestination != null && PermissionUtils.equalsIntent(destination, batchDestination)) {
+                visitBatches.add(batch);
+            }
+        }
+        return visitBatches;
+    }
+
+    /**
+     * Whether the batch is granted on a settings page, and can share its visit with other batches
+     * (a background permission keeps its own batch, it waits for its foreground permissions)
+     */
+    private static boolean isSettingsVisitBatch(@NonNull Context context, @Nullable List<IPermission> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return false;
+        }
+        for (IPermission permission : batch) {
+            if (permission.getPermissionChannel(context) != PermissionChannel.START_ACTIVITY_FOR_RESULT ||
+                    permission.isBackgroundPermission(context)) {
+                return false;
             }
         }
+        return true;
+    }
 
-        return unauthorizedList;
+    /**
+     * Merge into the batch at the index the later batches of the plan that are granted in the same settings visit,
+     * the merged batch keeps the position of the first one and its results are evaluated together when the visit returns
+     */
+    @NonNull
+    private static List<IPermission> mergeSettingsVisitBatches(@NonNull List<List<IPermission>> planList, int index,
+                                                               @NonNull List<List<IPermission>> visitBatches) {
+        List<IPermission> batch = planList.get(index);
+        if (visitBatches.isEmpty()) {
+            return batch;
+        }
+        List<IPermission> mergedBatch = new ArrayList<>(batch);
+        for (List<IPermission> visitBatch : visitBatches) {
+            // By reference: a batch pruned in the meantime stays out
+            for (int i = index + 1; i < planList.size(); i++) {
+                if (planList.get(i) == visitBatch) {
+                    planList.remove(i);
+                    mergedBatch.addAll(visitBatch);
+                    break;
+                }
+            }
+        }
+        planList.set(index, mergedBatch);
+        return mergedBatch;
     }
 
     /**
      * Initiate authorization via Fragment
      */
-    private static void requestPermissionsByFragment(@NonNull Activity activity,
-                                                     @NonNull List<IPermission> permissions,
-                                                     @NonNull PermissionFragmentFactory<?, ?> fragmentFactory,
-                                                     @NonNull OnPermissionDescription permissionDescription,
-                                                     @NonNull Runnable finishRunnable) {
+    private void requestPermissionsByFragment(@NonNull Activity activity,
+                                              @NonNull List<IPermission> permissions,
+                                              @NonNull PermissionFragmentFactory<?, ?> fragmentFactory,
+                                              @NonNull OnPermissionDescription permissionDescription,
+                                              @NonNull Runnable finishRunnable) {
+        final int requestId = mRequestId;
+
         if (permissions.isEmpty()) {
             finishRunnable.run();
             return;
@@ -322,27 +506,195 @@ public final class PermissionRequestMainLogic {
         }
 
         PermissionChannel finalPermissionChannel = permissionChannel;
-        Runnable continueRequestRunnable = () ->
-            fragmentFactory.createAndCommitFragment(permissions, finalPermissionChannel, new OnPermissionFragmentCallback() {
+        Runnable continueRequestRunnable = () -> {
+            PermissionTrace.endStage(requestId, Stage.DESCRIPTION);
+            PermissionTrace.beginStage(requestId, Stage.FRAGMENT_COMMIT);
+            try {
+                fragmentFactory.createAndCommitFragment(permissions, finalPermissionChannel, new OnPermissionFragmentCallback() {
 
-            @Override
-            public void onRequestPermissionNow() {
-                permissionDescription.onRequestPermissionStart(activity, permissions);
+                    /** Asynchronous stage the batch is in */
+                    @Nullable
+                    private Stage mWaitingStage = Stage.WAIT_FOR_RESUME;
+
+                    /** Time the system dialog (or settings page) showed up at (elapsed realtime) */
+                    private long mDialogStartTime;
+
+                    {
+                        PermissionTrace.beginStage(requestId, Stage.WAIT_FOR_RESUME);
+                    }
+
+                    @Override
+                    public void onRequestPermissionNow() {
+                        switchWaitingStage(Stage.SYSTEM_DIALOG);
+                        mDialogStartTime = SystemClock.elapsedRealtime();
+                        if (!mFirstDialogShown) {
+                            mFirstDialogShown = true;
+                            PermissionMetrics.recordLatency(GlobalLatency.TIME_TO_FIRST_DIALOG, mDialogStartTime - mRequestStartTime);
+                        }
+                        permissionDescription.onRequestPermissionStart(activity, permissions);
+                        prefetchNextPermissions(activity);
+                    }
+
+                    @Override
+                    public void onRequestPermissionResult() {
+                        switchWaitingStage(Stage.RESULT_WAIT);
+                        if (mDialogStartTime == 0) {
+                            return;
+                        }
+                        long latency = SystemClock.elapsedRealtime() - mDialogStartTime;
+                        PermissionLatency permissionLatency = finalPermissionChannel == PermissionChannel.REQUEST_PERMISSIONS ?
+                                PermissionLatency.DIALOG_TO_RESULT : PermissionLatency.SETTINGS_ROUND_TRIP;
+                        for (int i = 0; i < permissions.size(); i++) {
+                            PermissionMetrics.recordLatency(permissions.get(i).getPermissionName(), permissionLatency, latency);
+                        }
+                    }
+
+                    @Override
+                    public void onRequestPermissionFinish() {
+                        switchWaitingStage(null);
+                        permissionDescription.onRequestPermissionEnd(activity, permissions);
+                        finishRunnable.run();
+                    }
+
+                    @Override
+                    public void onRequestPermissionAnomaly() {
+                        switchWaitingStage(null);
+                        // The request stops here, its result will never be delivered
+                        PermissionTrace.endStage(requestId, Stage.REQUEST);
+                        removeInFlightRequest();
+                        permissionDescription.onRequestPermissionEnd(activity, permissions);
+                    }
+
+                    private void switchWaitingStage(@Nullable Stage nextStage) {
+                        if (mWaitingStage != null) {
+                            PermissionTrace.endStage(requestId, mWaitingStage);
+                        }
+                        mWaitingStage = nextStage;
+                        if (nextStage != null) {
+                            PermissionTrace.beginStage(requestId, nextStage);
+                            mCurrentStage = nextStage;
+                        }
+                    }
+                });
+            } finally {
+                PermissionTrace.endStage(requestId, Stage.FRAGMENT_COMMIT);
             }
+        };
 
-            @Override
-            public void onRequestPermissionFinish() {
-                permissionDescription.onRequestPermissionEnd(activity, permissions);
-                finishRunnable.run();
+        Runnable skipRequestRunnable = () -> {
+            PermissionTrace.endStage(requestId, Stage.DESCRIPTION);
+            finishRunnable.run();
+        };
+
+        mCurrentPermissions = permissions;
+        mCurrentStage = Stage.DESCRIPTION;
+        PermissionTrace.beginStage(requestId, Stage.DESCRIPTION);
+        permissionDescription.askWhetherRequestPermission(activity, permissions, continueRequestRunnable, skipRequestRunnable);
+    }
+
+    /**
+     * Prepare the next batch of the plan on a background thread, while the user is busy with the current one
+     *
+     * The grant state and the interval of the batch are worked out ahead, and when the batch jumps to a settings page,
+     * the later batches that land on the same page and the settings Intent chain of the visit too (it is the costly part:
+     * Intents built per permission, then one package manager query per Intent). The foreground gating depends on what
+     * the user answers now, so it stays with the pruning done when the current batch returns. Only the batches whose
+     * permissions opt in with {@link IPermission#isPermissionSettingIntentsStable(Context)} are prepared, the others are
+     * not expected to be called off the main thread. A prepared batch that is not used simply expires.
+     */
+    private void prefetchNextPermissions(@NonNull Activity activity) {
+        mPreparedBatch = null;
+        List<List<IPermission>> planList = mPlanList;
+        if (planList == null) {
+            return;
+        }
+        for (int i = mPlanIndex; i < planList.size(); i++) {
+            List<IPermission> nextPermissions = planList.get(i);
+            if (nextPermissions == null || nextPermissions.isEmpty()) {
+                continue;
+            }
+            Context context = activity.getApplicationContext();
+            if (!isPermissionSettingIntentsStable(context, nextPermissions)) {
+                return;
+            }
+            // The plan belongs to the main thread: the background thread gets a copy, without the batches it may not call
+            List<List<IPermission>> remainingList = new ArrayList<>(planList.size() - i);
+            remainingList.add(nextPermissions);
+            for (int j = i + 1; j < planList.size(); j++) {
+                List<IPermission> permissions = planList.get(j);
+                if (permissions != null && isPermissionSettingIntentsStable(context, permissions)) {
+                    remainingList.add(permissions);
+                }
             }
+            PermissionTaskHandler.sendBackgroundTask(() -> {
+                boolean granted = PermissionApi.isGrantedPermissions(context, nextPermissions);
+                boolean startActivityForResult = PermissionApi.containsPermissionByStartActivityForResult(context, nextPermissions);
+                List<List<IPermission>> visitBatches = new ArrayList<>(0);
+                List<IPermission> visitPermissions = nextPermissions;
+                if (!granted && startActivityForResult) {
+                    visitBatches = findSettingsVisitBatches(context, remainingList, 0);
+                    visitPermissions = mergeSettingsVisitBatches(remainingList, 0, visitBatches);
+                    PermissionApi.prepareBestPermissionSettingIntent(context, visitPermissions, false);
+                }
+                mPreparedBatch = new PreparedBatch(nextPermissions, granted, startActivityForResult, visitBatches,
+                        PermissionApi.getMaxIntervalTimeByPermissions(context, visitPermissions));
+            });
+            return;
+        }
+    }
 
-            @Override
-            public void onRequestPermissionAnomaly() {
-                permissionDescription.onRequestPermissionEnd(activity, permissions);
+    /**
+     * Whether every permission of the batch opts in to be prepared off the main thread
+     */
+    private static boolean isPermissionSettingIntentsStable(@NonNull Context context, @NonNull List<IPermission> permissions) {
+        for (IPermission permission : permissions) {
+            if (!permission.isPermissionSettingIntentsStable(context)) {
+                return false;
             }
-        });
+        }
+        return true;
+    }
 
-        permissionDescription.askWhetherRequestPermission(activity, permissions, continueRequestRunnable, finishRunnable);
+    /**
+     * The request is over (or will never be over), stop listing it as in flight
+     */
+    private void removeInFlightRequest() {
+        synchronized (IN_FLIGHT_REQUEST_MAP) {
+            IN_FLIGHT_REQUEST_MAP.remove(mRequestId);
+        }
+    }
+
+    /**
+     * Print the requests that have not delivered their result yet
+     */
+    public static void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        List<PermissionRequestMainLogic> requests;
+        synchronized (IN_FLIGHT_REQUEST_MAP) {
+            requests = new ArrayList<>(IN_FLIGHT_REQUEST_MAP.values());
+        }
+        long currentTime = SystemClock.elapsedRealtime();
+        writer.print(prefix);
+        writer.print("In-flight requests (");
+        writer.print(requests.size());
+        writer.println("):");
+        for (PermissionRequestMainLogic request : requests) {
+            writer.print(prefix);
+            writer.print("  #");
+            writer.print(request.mRequestId);
+            writer.print(" activity=");
+            writer.print(request.mActivity.getClass().getName());
+            writer.print(" age=");
+            writer.print(currentTime - request.mRequestStartTime);
+            writer.print("ms stage=");
+            writer.print(request.mCurrentStage);
+            writer.print(" firstDialogShown=");
+            writer.println(request.mFirstDialogShown);
+            writer.print(prefix);
+            writer.print("    permissions=");
+            writer.print(request.mRequestList);
+            writer.print(" currentBatch=");
+            writer.println(request.mCurrentPermissions);
+        }
     }
 
     /**
@@ -364,12 +716,15 @@ public final class PermissionRequestMainLogic {
      * Handle permission request result
      */
     private void handlePermissionRequestResult() {
+        removeInFlightRequest();
+
         final Activity activity = mActivity;
 
         final List<IPermission> requestList = mRequestList;
 
         // If the current Activity is unavailable, do not continue
         if (PermissionUtils.isActivityUnavailable(activity)) {
+            PermissionTrace.endStage(mRequestId, Stage.REQUEST);
             return;
         }
 
@@ -379,15 +734,55 @@ public final class PermissionRequestMainLogic {
         for (IPermission permission : requestList) {
             if (permission.isGrantedPermission(activity, false)) {
                 grantedList.add(permission);
+                PermissionMetrics.increment(permission.getPermissionName(), PermissionCounter.GRANTED);
             } else {
                 deniedList.add(permission);
+                PermissionMetrics.increment(permission.getPermissionName(), PermissionCounter.DENIED);
             }
         }
 
         // Permission request finished
-        mPermissionInterceptor.onRequestPermissionEnd(activity, false, requestList, grantedList, deniedList, mCallBack);
+        PermissionTrace.beginStage(mRequestId, Stage.INTERCEPTOR_END);
+        try {
+            mPermissionInterceptor.onRequestPermissionEnd(activity, false, requestList, grantedList, deniedList, mCallBack);
+        } finally {
+            PermissionTrace.endStage(mRequestId, Stage.INTERCEPTOR_END);
+            PermissionTrace.endStage(mRequestId, Stage.REQUEST);
+        }
 
         // Delay unlocking Activity screen orientation
         postDelayedUnlockActivityOrientation(activity);
     }
-}
\ No newline at end of file
+
+    /**
+     * What the background thread worked out about a batch of the plan ahead of its turn
+     */
+    private static final class PreparedBatch {
+
+        /** Batch of the plan that was prepared (compared by reference) */
+        @NonNull
+        private final List<IPermission> mPermissions;
+
+        /** Whether the batch was granted already */
+        private final boolean mGranted;
+
+        /** Whether the batch jumps to a settings page */
+        private final boolean mStartActivityForResult;
+
+        /** Later batches of the plan granted in the same settings visit (see {@link #findSettingsVisitBatches}) */
+        @NonNull
+        private final List<List<IPermission>> mVisitBatches;
+
+        /** Interval to wait before requesting the batch, with the batches of its settings visit */
+        private final int mIntervalTime;
+
+        private PreparedBatch(@NonNull List<IPermission> permissions, boolean granted, boolean startActivityForResult,
+                              @NonNull List<List<IPermission>> visitBatches, int intervalTime) {
+            mPermissions = permissions;
+            mGranted = granted;
+            mStartActivityForResult = startActivityForResult;
+            mVisitBatches = visitBatches;
+            mIntervalTime = intervalTime;
+        }
+    }
+}
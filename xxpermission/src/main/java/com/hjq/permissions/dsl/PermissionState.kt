@@ -0,0 +1,14 @@
+package com.hjq.permissions.dsl
+
+/**
+ * Grant state of a permission, as emitted by [stateFlow].
+ */
+enum class PermissionState {
+    GRANTED,
+    DENIED;
+
+    companion object {
+        @JvmStatic
+        fun of(granted: Boolean): PermissionState = if (granted) GRANTED else DENIED
+    }
+}
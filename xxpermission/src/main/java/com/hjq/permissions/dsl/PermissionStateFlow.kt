@@ -0,0 +1,72 @@
+@file:JvmName("PermissionStateFlow")
+
+package com.hjq.permissions.dsl
+
+import android.content.Context
+import com.hjq.permissions.manager.PermissionChangeMonitor
+import com.hjq.permissions.permission.base.IPermission
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.callbackFlow
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.map
+
+/**
+ * Observe the grant state of this permission.
+ *
+ * Emits the current state on collection, then re-evaluates only when one of the change signals declared by
+ * the permission fires (see [IPermission.getPermissionChangeSignals]).
+ * Consecutive identical states are not emitted twice.
+ */
+fun IPermission.stateFlow(context: Context): Flow<PermissionState> {
+    val permission = this
+    val appContext = context.applicationContext
+    return listOf(permission).changeSignals(appContext)
+        .conflate()
+        .map { PermissionState.of(PermissionChangeMonitor.isGrantedPermission(appContext, permission)) }
+        .distinctUntilChanged()
+        .flowOn(Dispatchers.Default)
+}
+
+/**
+ * Observe the grant state of several permissions at once, the map keeps the order of this collection.
+ */
+fun Collection<IPermission>.stateFlow(context: Context): Flow<Map<IPermission, PermissionState>> {
+    val permissions = this.toList()
+    val appContext = context.applicationContext
+    return permissions.changeSignals(appContext)
+        .conflate()
+        .map {
+            val states = LinkedHashMap<IPermission, PermissionState>(permissions.size)
+            for (permission in permissions) {
+                states[permission] = PermissionState.of(PermissionChangeMonitor.isGrantedPermission(appContext, permission))
+            }
+            states
+        }
+        .distinctUntilChanged()
+        .flowOn(Dispatchers.Default)
+}
+
+/**
+ * Emits once on collection, then every time the state of one of the permissions may have changed.
+ *
+ * The signals are registered in [PermissionChangeMonitor] while collecting, so every distinct signal is only
+ * registered once no matter how many flows observe it, and nothing stays registered once no one is observing.
+ */
+private fun List<IPermission>.changeSignals(appContext: Context): Flow<Unit> = callbackFlow {
+    val permissions = this@changeSignals
+    val listener = PermissionChangeMonitor.OnPermissionChangeListener { trySend(Unit) }
+    for (permission in permissions) {
+        PermissionChangeMonitor.registerListener(appContext, permission, listener)
+    }
+    // Registered before the first check, so a change in between is not missed
+    trySend(Unit)
+    awaitClose {
+        for (permission in permissions) {
+            PermissionChangeMonitor.unregisterListener(appContext, permission, listener)
+        }
+    }
+}
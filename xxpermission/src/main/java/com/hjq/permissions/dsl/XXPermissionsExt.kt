@@ -95,98 +95,115 @@ class XXPermissionsExt private constructor(private val activity: Activity) {
     fun request() {
         XXPermissions.with(activity)
             .permissions(permissionList)
-            .interceptor(
-                object : OnPermissionInterceptor {
-                    @Suppress("TooGenericExceptionCaught")
-                    override fun onRequestPermissionStart(
-                        activity: Activity,
-                        requestList: List<IPermission>,
-                        fragmentFactory: PermissionFragmentFactory<*, *>,
-                        permissionDescription: OnPermissionDescription,
-                        callback: OnPermissionCallback?
-                    ) {
-                        val rationale = onShouldShowRationale
-                        if (rationale == null) {
-                            // No custom rationale, proceed directly
-                            dispatchPermissionRequest(activity, requestList, fragmentFactory, permissionDescription, callback)
-                            return
-                        }
+            .interceptor(DslPermissionInterceptor(onShouldShowRationale, onDoNotAskAgain))
+            .request(DslPermissionCallback(onResult))
+    }
 
-                        // Build a list of permissions that need rationale
-                        val rationalePermissions = requestList.filter { perm ->
-                            try {
-                                if (perm.getPermissionChannel(activity) != PermissionChannel.START_ACTIVITY_FOR_RESULT) {
-                                    // For dangerous permissions, use the standard API
-                                    ActivityCompat.shouldShowRequestPermissionRationale(
-                                        activity,
-                                        perm.getRequestPermissionName(activity)
-                                    )
-                                } else if (perm is SpecialPermission) {
-                                    // For special permissions, show rationale if not granted,
-                                    // as we are about to ask the user to go to settings.
-                                    !perm.isGrantedPermission(activity)
-                                } else {
-                                    false
-                                }
-                            } catch (_: Exception) {
-                                false
-                            }
-                        }.map { it.getPermissionName() }
-
-                        if (rationalePermissions.isEmpty()) {
-                            // Nothing to explain, continue
-                            dispatchPermissionRequest(activity, requestList, fragmentFactory, permissionDescription, callback)
-                            return
-                        }
+    /**
+     * Callback of a DSL request, maps the result to the names the DSL handlers expect.
+     */
+    private class DslPermissionCallback(
+        private val onResult: OnPermissionResult?
+    ) : OnPermissionCallback {
+
+        override fun onResult(grantedList: List<IPermission>, deniedList: List<IPermission>) {
+            val grantedNames = grantedList.map { it.permissionName }
+            val deniedNames = deniedList.map { it.permissionName }
+            val allGranted = deniedNames.isEmpty()
+            onResult?.onResult(allGranted, grantedNames, deniedNames)
+        }
+    }
 
-                        rationale.onShouldShowRationale(rationalePermissions) { isAgree ->
-                            if (isAgree) {
-                                dispatchPermissionRequest(activity, requestList, fragmentFactory, permissionDescription, callback)
-                            } else {
-                                // User declined; synthesize a result based on current grant state
-                                val granted = requestList.filter { it.isGrantedPermission(activity) }
-                                val denied = requestList.filter { !it.isGrantedPermission(activity) }
-                                callback?.onResult(granted, denied)
-                            }
-                        }
+    /**
+     * Interceptor of a DSL request, created per request with the handlers of that request.
+     */
+    private class DslPermissionInterceptor(
+        private val onShouldShowRationale: OnPermissionsShouldShowRationale?,
+        private val onDoNotAskAgain: OnPermissionsDoNotAskAgain?
+    ) : OnPermissionInterceptor {
+
+        @Suppress("TooGenericExceptionCaught")
+        override fun onRequestPermissionStart(
+            activity: Activity,
+            requestList: List<IPermission>,
+            fragmentFactory: PermissionFragmentFactory<*, *>,
+            permissionDescription: OnPermissionDescription,
+            callback: OnPermissionCallback?
+        ) {
+            val rationale = onShouldShowRationale
+            if (rationale == null) {
+                // No custom rationale, proceed directly
+                dispatchPermissionRequest(activity, requestList, fragmentFactory, permissionDescription, callback)
+                return
+            }
+
+            // Build a list of permissions that need rationale
+            val rationalePermissions = requestList.filter { perm ->
+                try {
+                    if (perm.getPermissionChannel(activity) != PermissionChannel.START_ACTIVITY_FOR_RESULT) {
+                        // For dangerous permissions, use the standard API
+                        ActivityCompat.shouldShowRequestPermissionRationale(
+                            activity,
+                            perm.getRequestPermissionName(activity)
+                        )
+                    } else if (perm is SpecialPermission) {
+                        // For special permissions, show rationale if not granted,
+                        // as we are about to ask the user to go to settings.
+                        !perm.isGrantedPermission(activity)
+                    } else {
+                        false
                     }
+                } catch (_: Exception) {
+                    false
+                }
+            }.map { it.getPermissionName() }
+
+            if (rationalePermissions.isEmpty()) {
+                // Nothing to explain, continue
+                dispatchPermissionRequest(activity, requestList, fragmentFactory, permissionDescription, callback)
+                return
+            }
 
-                    override fun onRequestPermissionEnd(
-                        activity: Activity,
-                        skipRequest: Boolean,
-                        requestList: List<IPermission>,
-                        grantedList: List<IPermission>,
-                        deniedList: List<IPermission>,
-                        callback: OnPermissionCallback?
-                    ) {
-                        val doNotAskAgainHandler = onDoNotAskAgain
-                        if (deniedList.isNotEmpty() && doNotAskAgainHandler != null) {
-                            // Extract the list of permissions marked as "Do not ask again"
-                            val dnaList = deniedList.filter { it.isDoNotAskAgainPermission(activity) }
-                            if (dnaList.isNotEmpty()) {
-                                val dnaNames = dnaList.map { it.getPermissionName() }
-                                doNotAskAgainHandler.onDoNotAskAgain(dnaNames) { isAgree ->
-                                    if (isAgree) {
-                                        // Try to navigate to settings for these permissions
-                                        val intents = PermissionSettingPage.getCommonPermissionSettingIntent(activity, *dnaList.toTypedArray())
-                                        StartActivityAgent.startActivityForResult(activity, intents, XXPermissions.REQUEST_CODE)
-                                    }
-                                    // Regardless, pass the current result through
-                                    callback?.onResult(grantedList, deniedList)
-                                }
-                                return
-                            }
+            rationale.onShouldShowRationale(rationalePermissions) { isAgree ->
+                if (isAgree) {
+                    dispatchPermissionRequest(activity, requestList, fragmentFactory, permissionDescription, callback)
+                } else {
+                    // User declined; synthesize a result based on current grant state
+                    val granted = requestList.filter { it.isGrantedPermission(activity) }
+                    val denied = requestList.filter { !it.isGrantedPermission(activity) }
+                    callback?.onResult(granted, denied)
+                }
+            }
+        }
+
+        override fun onRequestPermissionEnd(
+            activity: Activity,
+            skipRequest: Boolean,
+            requestList: List<IPermission>,
+            grantedList: List<IPermission>,
+            deniedList: List<IPermission>,
+            callback: OnPermissionCallback?
+        ) {
+            val doNotAskAgainHandler = onDoNotAskAgain
+            if (deniedList.isNotEmpty() && doNotAskAgainHandler != null) {
+                // Extract the list of permissions marked as "Do not ask again"
+                val dnaList = deniedList.filter { it.isDoNotAskAgainPermission(activity) }
+                if (dnaList.isNotEmpty()) {
+                    val dnaNames = dnaList.map { it.getPermissionName() }
+                    doNotAskAgainHandler.onDoNotAskAgain(dnaNames) { isAgree ->
+                        if (isAgree) {
+                            // Try to navigate to settings for these permissions
+                            val intents = PermissionSettingPage.getCommonPermissionSettingIntent(activity, *dnaList.toTypedArray())
+                            StartActivityAgent.startActivityForResult(activity, intents, XXPermissions.REQUEST_CODE)
                         }
-                        // Default behavior: forward the result
+                        // Regardless, pass the current result through
                         callback?.onResult(grantedList, deniedList)
                     }
+                    return
                 }
-            )
-            .request { grantedList, deniedList ->
-                val grantedNames = grantedList.map { it.permissionName }
-                val deniedNames = deniedList.map { it.permissionName }
-                val allGranted = deniedNames.isEmpty()
-                onResult?.onResult(allGranted, grantedNames, deniedNames)
             }
+            // Default behavior: forward the result
+            callback?.onResult(grantedList, deniedList)
+        }
     }
 }
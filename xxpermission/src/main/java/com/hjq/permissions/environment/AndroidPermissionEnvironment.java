@@ -0,0 +1,188 @@
+package com.hjq.permissions.environment;
+
+import android.app.AppOpsManager;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.provider.Settings;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import com.hjq.permissions.tools.DeviceProfile;
+import com.hjq.permissions.tools.PermissionLog;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/25
+ *    desc   : Permission environment of the running device (the default one).
+ */
+public final class AndroidPermissionEnvironment implements PermissionEnvironment {
+
+    /** Cached value of an {@link AppOpsManager} field that does not exist */
+    private static final int OP_FIELD_MISSING = -1;
+
+    /** Cached value of an {@link AppOpsManager} field that exists but can not be read */
+    private static final int OP_FIELD_INACCESSIBLE = -2;
+
+    /** Values of the {@link AppOpsManager} op fields looked up so far, the misses included (see OP_FIELD_*) */
+    @NonNull
+    private final Map<String, Integer> mAppOpsFieldValueCache = new ConcurrentHashMap<>();
+
+    /** AppOpsManager.checkOpNoThrow(int, int, String) method */
+    @Nullable
+    private volatile Method mCheckOpNoThrowMethod;
+
+    /** Whether {@link #mCheckOpNoThrowMethod} has been resolved (it stays null if the method does not exist) */
+    private volatile boolean mCheckOpNoThrowMethodResolved;
+
+    @Override
+    public int getCurrentVersion() {
+        return Build.VERSION.SDK_INT;
+    }
+
+    @Override
+    public int getTargetVersion(@NonNull Context context) {
+        return context.getApplicationInfo().targetSdkVersion;
+    }
+
+    @Override
+    public boolean checkSelfPermission(@NonNull Context context, @NonNull String permission) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            return context.checkPermission(permission, android.os.Process.myPid(), android.os.Process.myUid()) ==
+                    PackageManager.PERMISSION_GRANTED;
+        }
+        return context.checkSelfPermission(permission) == PackageManager.PERMISSION_GRANTED;
+    }
+
+    @Override
+    public int getOpPermissionMode(@NonNull Context context, @NonNull String opName) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+            return MODE_UNKNOWN;
+        }
+        AppOpsManager appOpsManager = getSystemService(context, AppOpsManager.class);
+        // This SystemService should never be null, but defensive programming just in case
+        if (appOpsManager == null) {
+            return MODE_UNKNOWN;
+        }
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                return appOpsManager.unsafeCheckOpNoThrow(opName, context.getApplicationInfo().uid, context.getPackageName());
+            } else {
+                return appOpsManager.checkOpNoThrow(opName, context.getApplicationInfo().uid, context.getPackageName());
+            }
+        } catch (Throwable e) {
+            PermissionLog.log("AppOpsManager check \"" + opName + "\" failed", e);
+            return MODE_UNKNOWN;
+        }
+    }
+
+    @Override
+    public int getOpPermissionMode(@NonNull Context context, @NonNull String opFieldName, int opDefaultValue) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+            return MODE_UNKNOWN;
+        }
+        AppOpsManager appOpsManager = getSystemService(context, AppOpsManager.class);
+        // This SystemService should never be null, but defensive programming just in case
+        if (appOpsManager == null) {
+            return MODE_UNKNOWN;
+        }
+        Method checkOpNoThrowMethod = getCheckOpNoThrowMethod();
+        if (checkOpNoThrowMethod == null) {
+            return MODE_UNKNOWN;
+        }
+        int opValue = getAppOpsFieldValue(opFieldName);
+        if (opValue == OP_FIELD_INACCESSIBLE) {
+            return MODE_UNKNOWN;
+        }
+        if (opValue == OP_FIELD_MISSING) {
+            opValue = opDefaultValue;
+        }
+        try {
+            return ((int) checkOpNoThrowMethod.invoke(appOpsManager, opValue,
+                    context.getApplicationInfo().uid, context.getPackageName()));
+        } catch (Exception e) {
+            PermissionLog.log("AppOpsManager.checkOpNoThrow \"" + opFieldName + "\" failed", e);
+            return MODE_UNKNOWN;
+        }
+    }
+
+    @Override
+    public boolean isExistOpPermission(@NonNull String opFieldName) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+            return false;
+        }
+        return getAppOpsFieldValue(opFieldName) != OP_FIELD_MISSING;
+    }
+
+    @Nullable
+    @Override
+    public String getSecureString(@NonNull Context context, @NonNull String name) {
+        return Settings.Secure.getString(context.getContentResolver(), name);
+    }
+
+    @Override
+    public int getSecureInt(@NonNull Context context, @NonNull String name, int defaultValue) {
+        // Read with a default value instead of catching SettingNotFoundException when the property does not exist
+        return Settings.Secure.getInt(context.getContentResolver(), name, defaultValue);
+    }
+
+    @Nullable
+    @Override
+    public <T> T getSystemService(@NonNull Context context, @NonNull Class<T> serviceClass) {
+        // Also resolves the service name below Android 6.0, where Context.getSystemService(Class) does not exist
+        return ContextCompat.getSystemService(context, serviceClass);
+    }
+
+    @NonNull
+    @Override
+    public DeviceProfile getDeviceProfile() {
+        return DeviceProfile.getByCurrentDevice();
+    }
+
+    /**
+     * Get the value of an op field of {@link AppOpsManager}
+     *
+     * Only the requested field is looked up (most of them are hidden APIs, each access may be reported), and the
+     * result is cached, misses included, so a field that does not exist on this device throws only once.
+     *
+     * @return {@link #OP_FIELD_MISSING} or {@link #OP_FIELD_INACCESSIBLE} if the value can not be read
+     */
+    private int getAppOpsFieldValue(@NonNull String opFieldName) {
+        Integer cachedValue = mAppOpsFieldValueCache.get(opFieldName);
+        if (cachedValue != null) {
+            return cachedValue;
+        }
+        int opValue;
+        try {
+            Field opField = AppOpsManager.class.getDeclaredField(opFieldName);
+            opValue = opField.getInt(null);
+        } catch (NoSuchFieldException e) {
+            PermissionLog.log("AppOpsManager." + opFieldName + " does not exist");
+            opValue = OP_FIELD_MISSING;
+        } catch (Exception e) {
+            PermissionLog.log("AppOpsManager." + opFieldName + " is not accessible", e);
+            opValue = OP_FIELD_INACCESSIBLE;
+        }
+        mAppOpsFieldValueCache.put(opFieldName, opValue);
+        return opValue;
+    }
+
+    @Nullable
+    private Method getCheckOpNoThrowMethod() {
+        if (mCheckOpNoThrowMethodResolved) {
+            return mCheckOpNoThrowMethod;
+        }
+        try {
+            mCheckOpNoThrowMethod = AppOpsManager.class.getMethod("checkOpNoThrow", Integer.TYPE, Integer.TYPE, String.class);
+        } catch (NoSuchMethodException e) {
+            PermissionLog.log("AppOpsManager.checkOpNoThrow(int, int, String) does not exist", e);
+        }
+        mCheckOpNoThrowMethodResolved = true;
+        return mCheckOpNoThrowMethod;
+    }
+}
@@ -0,0 +1,168 @@
+package com.hjq.permissions.environment;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.tools.DeviceProfile;
+import com.hjq.permissions.tools.PermissionVersion;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/25
+ *    desc   : In-memory permission environment, for tests and benchmarks.
+ *
+ * Every value starts at a neutral default (no permission granted, no op known, no setting, no system service,
+ * a device without OEM system) and can be changed at any time, from any thread.
+ *
+ * The simulated Android version only drives the decisions of the permission logic ({@link PermissionVersion#getCurrentVersion()}),
+ * the guards of the framework API calls ({@link PermissionVersion#isAndroid13()} and so on) keep following the running device.
+ */
+public final class FakePermissionEnvironment implements PermissionEnvironment {
+
+    private volatile int mCurrentVersion = PermissionVersion.ANDROID_14;
+
+    private volatile int mTargetVersion = PermissionVersion.ANDROID_14;
+
+    @NonNull
+    private volatile DeviceProfile mDeviceProfile = new DeviceProfile.Builder().build();
+
+    @NonNull
+    private final Set<String> mGrantedPermissions = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /** Op name (OPSTR value or field name) -> mode */
+    @NonNull
+    private final Map<String, Integer> mOpPermissionModes = new ConcurrentHashMap<>();
+
+    @NonNull
+    private final Map<String, String> mSecureSettings = new ConcurrentHashMap<>();
+
+    @NonNull
+    private final Map<Class<?>, Object> mSystemServices = new ConcurrentHashMap<>();
+
+    public FakePermissionEnvironment setCurrentVersion(int currentVersion) {
+        mCurrentVersion = currentVersion;
+        return this;
+    }
+
+    public FakePermissionEnvironment setTargetVersion(int targetVersion) {
+        mTargetVersion = targetVersion;
+        return this;
+    }
+
+    public FakePermissionEnvironment setDeviceProfile(@NonNull DeviceProfile deviceProfile) {
+        mDeviceProfile = deviceProfile;
+        return this;
+    }
+
+    public FakePermissionEnvironment grantPermission(@NonNull String permission) {
+        mGrantedPermissions.add(permission);
+        return this;
+    }
+
+    public FakePermissionEnvironment revokePermission(@NonNull String permission) {
+        mGrantedPermissions.remove(permission);
+        return this;
+    }
+
+    /**
+     * Set the mode of an op.
+     *
+     * @param opName                OPSTR value or AppOpsManager field name, as the permission checks it
+     * @param mode                  one of the AppOpsManager.MODE_* constants
+     */
+    public FakePermissionEnvironment setOpPermissionMode(@NonNull String opName, int mode) {
+        mOpPermissionModes.put(opName, mode);
+        return this;
+    }
+
+    /**
+     * Set a value of {@link android.provider.Settings.Secure}, pass null to remove it.
+     */
+    public FakePermissionEnvironment putSecureSetting(@NonNull String name, @Nullable String value) {
+        if (value == null) {
+            mSecureSettings.remove(name);
+        } else {
+            mSecureSettings.put(name, value);
+        }
+        return this;
+    }
+
+    /**
+     * Provide a system service (e.g. a mocked NotificationManager), pass null to remove it.
+     */
+    public <T> FakePermissionEnvironment putSystemService(@NonNull Class<T> serviceClass, @Nullable T service) {
+        if (service == null) {
+            mSystemServices.remove(serviceClass);
+        } else {
+            mSystemServices.put(serviceClass, service);
+        }
+        return this;
+    }
+
+    @Override
+    public int getCurrentVersion() {
+        return mCurrentVersion;
+    }
+
+    @Override
+    public int getTargetVersion(@NonNull Context context) {
+        return mTargetVersion;
+    }
+
+    @Override
+    public boolean checkSelfPermission(@NonNull Context context, @NonNull String permission) {
+        return mGrantedPermissions.contains(permission);
+    }
+
+    @Override
+    public int getOpPermissionMode(@NonNull Context context, @NonNull String opName) {
+        Integer mode = mOpPermissionModes.get(opName);
+        return mode != null ? mode : MODE_UNKNOWN;
+    }
+
+    @Override
+    public int getOpPermissionMode(@NonNull Context context, @NonNull String opFieldName, int opDefaultValue) {
+        return getOpPermissionMode(context, opFieldName);
+    }
+
+    @Override
+    public boolean isExistOpPermission(@NonNull String opFieldName) {
+        return mOpPermissionModes.containsKey(opFieldName);
+    }
+
+    @Nullable
+    @Override
+    public String getSecureString(@NonNull Context context, @NonNull String name) {
+        return mSecureSettings.get(name);
+    }
+
+    @Override
+    public int getSecureInt(@NonNull Context context, @NonNull String name, int defaultValue) {
+        String value = mSecureSettings.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    @Nullable
+    @Override
+    public <T> T getSystemService(@NonNull Context context, @NonNull Class<T> serviceClass) {
+        return serviceClass.cast(mSystemServices.get(serviceClass));
+    }
+
+    @NonNull
+    @Override
+    public DeviceProfile getDeviceProfile() {
+        return mDeviceProfile;
+    }
+}
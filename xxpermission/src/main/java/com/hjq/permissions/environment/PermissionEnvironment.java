@@ -0,0 +1,91 @@
+package com.hjq.permissions.environment;
+
+import android.app.AppOpsManager;
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.XXPermissionsConfig;
+import com.hjq.permissions.tools.DeviceProfile;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/25
+ *    desc   : Everything the permission checks read from the system.
+ *
+ * Permissions never reach into {@link android.os.Build}, {@link AppOpsManager}, {@link android.provider.Settings}
+ * or the system services directly, they go through the environment set in
+ * {@link XXPermissionsConfig#setPermissionEnvironment(PermissionEnvironment)}, so that a single
+ * implementation can cache, batch or fake what the checks see.
+ *
+ * Implementations are called from any thread and must be thread-safe.
+ */
+public interface PermissionEnvironment {
+
+    /** Op permission mode: unknown mode (the op does not exist or cannot be read) */
+    int MODE_UNKNOWN = -1;
+
+    /**
+     * Get the Android SDK version of the device, as used by the permission logic (never by the guards of API calls).
+     */
+    int getCurrentVersion();
+
+    /**
+     * Get the targetSdkVersion of the application.
+     */
+    int getTargetVersion(@NonNull Context context);
+
+    /**
+     * Whether a runtime permission is granted to the application (Android 6.0 and above).
+     */
+    boolean checkSelfPermission(@NonNull Context context, @NonNull String permission);
+
+    /**
+     * Get the mode of an op from {@link AppOpsManager} (Android 4.4 and above).
+     *
+     * @param opName                must be a field from {@link AppOpsManager} starting with OPSTR
+     * @return one of the AppOpsManager.MODE_* constants, or {@link #MODE_UNKNOWN}
+     */
+    int getOpPermissionMode(@NonNull Context context, @NonNull String opName);
+
+    /**
+     * Get the mode of an op from {@link AppOpsManager} by the name of its (possibly hidden) int constant.
+     *
+     * @param opFieldName           field name in {@link AppOpsManager}
+     * @param opDefaultValue        op value to use if the field does not exist
+     * @return one of the AppOpsManager.MODE_* constants, or {@link #MODE_UNKNOWN}
+     */
+    int getOpPermissionMode(@NonNull Context context, @NonNull String opFieldName, int opDefaultValue);
+
+    /**
+     * Whether {@link AppOpsManager} declares an int constant with this name.
+     */
+    boolean isExistOpPermission(@NonNull String opFieldName);
+
+    /**
+     * Read a string from {@link android.provider.Settings.Secure}.
+     *
+     * @return null if the setting does not exist
+     */
+    @Nullable
+    String getSecureString(@NonNull Context context, @NonNull String name);
+
+    /**
+     * Read an int from {@link android.provider.Settings.Secure}.
+     */
+    int getSecureInt(@NonNull Context context, @NonNull String name, int defaultValue);
+
+    /**
+     * Get a system service (e.g. NotificationManager, PowerManager, AlarmManager).
+     *
+     * @return null if the service is not available
+     */
+    @Nullable
+    <T> T getSystemService(@NonNull Context context, @NonNull Class<T> serviceClass);
+
+    /**
+     * Get the profile of the device (OEM system, optimization toggles, OS version).
+     */
+    @NonNull
+    DeviceProfile getDeviceProfile();
+}
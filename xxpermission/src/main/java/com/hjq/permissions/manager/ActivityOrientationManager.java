@@ -9,8 +9,10 @@ import android.view.WindowManager;
 
 import androidx.annotation.NonNull;
 
+import com.hjq.permissions.tools.PermissionLog;
 import com.hjq.permissions.tools.PermissionVersion;
 
+import java.io.PrintWriter;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -66,7 +68,7 @@ public final class ActivityOrientationManager {
             }
         } catch (IllegalStateException e) {
             // java.lang.IllegalStateException: Only fullscreen activities can request orientation
-            e.printStackTrace();
+            PermissionLog.log("Lock activity orientation failed", e);
         }
     }
 
@@ -93,6 +95,23 @@ public final class ActivityOrientationManager {
         activity.setRequestedOrientation(ActivityInfo.SCREEN_ORIENTATION_UNSPECIFIED);
     }
 
+    /**
+     * Print the Activity orientations locked by the framework
+     */
+    public static synchronized void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        writer.print(prefix);
+        writer.print("Locked orientations (");
+        writer.print(ACTIVITY_ORIENTATION_MAP.size());
+        writer.println("):");
+        for (Map.Entry<Integer, Integer> entry : ACTIVITY_ORIENTATION_MAP.entrySet()) {
+            writer.print(prefix);
+            writer.print("  activity@");
+            writer.print(Integer.toHexString(entry.getKey()));
+            writer.print(" -> orientation ");
+            writer.println(entry.getValue());
+        }
+    }
+
     /**
      * Determine whether the Activity is rotated in reverse
      */
@@ -1,8 +1,10 @@
 package com.hjq.permissions.manager;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.tools.PermissionUtils;
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -52,4 +54,17 @@ public final class AlreadyRequestPermissionsManager {
         }
         return PermissionUtils.containsPermission(ALREADY_REQUEST_PERMISSIONS_LIST, permission.getPermissionName());
     }
+
+    /**
+     * Print the permissions that have already been requested
+     */
+    public static void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        // Copied first, the list is only written on the main thread while the dump may run on any thread
+        List<String> permissions = new ArrayList<>(ALREADY_REQUEST_PERMISSIONS_LIST);
+        writer.print(prefix);
+        writer.print("Already requested permissions (");
+        writer.print(permissions.size());
+        writer.print("): ");
+        writer.println(permissions);
+    }
 }
@@ -0,0 +1,499 @@
+package com.hjq.permissions.manager;
+
+import android.app.Activity;
+import android.app.AppOpsManager;
+import android.app.Application;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.database.ContentObserver;
+import android.net.Uri;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import com.hjq.permissions.permission.PermissionChangeSignal;
+import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.tools.PermissionApi;
+import com.hjq.permissions.tools.PermissionLog;
+import com.hjq.permissions.tools.PermissionTaskHandler;
+import com.hjq.permissions.tools.PermissionUtils;
+import com.hjq.permissions.tools.PermissionVersion;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/22
+ *    desc   : Permission change monitor.
+ *             Registers each distinct {@link PermissionChangeSignal} of the observed permissions once,
+ *             caches the grant state of every observed permission and only invalidates the permissions
+ *             whose signals actually fired.
+ */
+public final class PermissionChangeMonitor {
+
+    /**
+     * Permission change listener, always called on the main thread
+     */
+    public interface OnPermissionChangeListener {
+
+        /**
+         * The grant state of the permission may have changed
+         */
+        void onPermissionChange(@NonNull IPermission permission);
+    }
+
+    /** Lock guarding the observed permissions and the registered signals */
+    private static final Object LOCK = new Object();
+
+    /** Observed permissions, keyed by their identity (see PermissionUtils.getPermissionIdentity) */
+    private static final Map<String, PermissionEntry> PERMISSION_ENTRY_MAP = new HashMap<>();
+
+    /** Registered signals */
+    private static final Map<PermissionChangeSignal, SignalObserver> SIGNAL_OBSERVER_MAP = new HashMap<>();
+
+    /** Checks answered from a cached grant state (guarded by {@link #LOCK}) */
+    private static long sCacheHitCount;
+
+    /** Checks of observed permissions that had to ask the system (guarded by {@link #LOCK}) */
+    private static long sCacheMissCount;
+
+    /** Private constructor to prevent instantiation */
+    private PermissionChangeMonitor() {
+        // default implementation ignored
+    }
+
+    /**
+     * Start observing a permission, the signals it declares are registered if no one registered them yet
+     */
+    public static void registerListener(@NonNull Context context, @NonNull IPermission permission,
+                                        @NonNull OnPermissionChangeListener listener) {
+        Context appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        synchronized (LOCK) {
+            String permissionIdentity = PermissionUtils.getPermissionIdentity(permission);
+            PermissionEntry entry = PERMISSION_ENTRY_MAP.get(permissionIdentity);
+            if (entry == null) {
+                entry = new PermissionEntry(permission, permission.getPermissionChangeSignals(appContext));
+                PERMISSION_ENTRY_MAP.put(permissionIdentity, entry);
+                for (PermissionChangeSignal signal : entry.mSignals) {
+                    SignalObserver observer = SIGNAL_OBSERVER_MAP.get(signal);
+                    if (observer == null) {
+                        observer = createSignalObserver(signal);
+                        if (!observer.register(appContext)) {
+                            // The signal can not be observed on this device, fall back to Activity resume
+                            PermissionLog.log("Observe " + signal + " failed, fall back to " + PermissionChangeSignal.RESUME);
+                            observer = SIGNAL_OBSERVER_MAP.get(PermissionChangeSignal.RESUME);
+                            if (observer == null) {
+                                observer = createSignalObserver(PermissionChangeSignal.RESUME);
+                                observer.register(appContext);
+                            }
+                            signal = PermissionChangeSignal.RESUME;
+                        }
+                        SIGNAL_OBSERVER_MAP.put(signal, observer);
+                    }
+                    observer.mPermissionIdentities.add(permissionIdentity);
+                }
+            }
+            entry.mListeners.add(listener);
+        }
+    }
+
+    /**
+     * Stop observing a permission, signals no longer needed by any observed permission are unregistered
+     */
+    public static void unregisterListener(@NonNull Context context, @NonNull IPermission permission,
+                                          @NonNull OnPermissionChangeListener listener) {
+        Context appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        synchronized (LOCK) {
+            String permissionIdentity = PermissionUtils.getPermissionIdentity(permission);
+            PermissionEntry entry = PERMISSION_ENTRY_MAP.get(permissionIdentity);
+            if (entry == null || !entry.mListeners.remove(listener) || !entry.mListeners.isEmpty()) {
+                return;
+            }
+            PERMISSION_ENTRY_MAP.remove(permissionIdentity);
+            List<PermissionChangeSignal> unusedSignals = null;
+            for (Map.Entry<PermissionChangeSignal, SignalObserver> observerEntry : SIGNAL_OBSERVER_MAP.entrySet()) {
+                SignalObserver observer = observerEntry.getValue();
+                if (!observer.mPermissionIdentities.remove(permissionIdentity) || !observer.mPermissionIdentities.isEmpty()) {
+                    continue;
+                }
+                if (unusedSignals == null) {
+                    unusedSignals = new ArrayList<>();
+                }
+                unusedSignals.add(observerEntry.getKey());
+            }
+            if (unusedSignals == null) {
+                return;
+            }
+            for (PermissionChangeSignal signal : unusedSignals) {
+                SignalObserver observer = SIGNAL_OBSERVER_MAP.remove(signal);
+                if (observer != null) {
+                    observer.unregister(appContext);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether a permission is granted, observed permissions reuse their state until one of their signals fires
+     */
+    public static boolean isGrantedPermission(@NonNull Context context, @NonNull IPermission permission) {
+        PermissionEntry entry;
+        int version;
+        synchronized (LOCK) {
+            entry = PERMISSION_ENTRY_MAP.get(PermissionUtils.getPermissionIdentity(permission));
+            if (entry != null && entry.mGrantedState != null) {
+                sCacheHitCount++;
+                return entry.mGrantedState;
+            }
+            if (entry != null) {
+                sCacheMissCount++;
+            }
+            version = entry != null ? entry.mVersion : 0;
+        }
+        boolean granted = PermissionApi.isGrantedPermission(context, permission);
+        if (entry != null) {
+            synchronized (LOCK) {
+                // Do not cache a state that was read before a signal invalidated it
+                if (entry.mVersion == version) {
+                    entry.mGrantedState = granted;
+                }
+            }
+        }
+        return granted;
+    }
+
+    /**
+     * Whether the permission is observed and its cached state is still valid
+     */
+    public static boolean isGrantedStateCached(@NonNull IPermission permission) {
+        synchronized (LOCK) {
+            PermissionEntry entry = PERMISSION_ENTRY_MAP.get(PermissionUtils.getPermissionIdentity(permission));
+            return entry != null && entry.mGrantedState != null;
+        }
+    }
+
+    /**
+     * Print the observed permissions, their cached states and the registered signals
+     */
+    public static void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        synchronized (LOCK) {
+            long checkCount = sCacheHitCount + sCacheMissCount;
+            writer.print(prefix);
+            writer.print("Observed permissions (");
+            writer.print(PERMISSION_ENTRY_MAP.size());
+            writer.print("): hits=");
+            writer.print(sCacheHitCount);
+            writer.print(" misses=");
+            writer.print(sCacheMissCount);
+            writer.print(" hitRate=");
+            writer.print(checkCount != 0 ? sCacheHitCount * 100 / checkCount : 0);
+            writer.println("%");
+            for (Map.Entry<String, PermissionEntry> entry : PERMISSION_ENTRY_MAP.entrySet()) {
+                PermissionEntry permissionEntry = entry.getValue();
+                writer.print(prefix);
+                writer.print("  ");
+                writer.print(entry.getKey());
+                writer.print(" granted=");
+                writer.print(permissionEntry.mGrantedState);
+                writer.print(" version=");
+                writer.print(permissionEntry.mVersion);
+                writer.print(" listeners=");
+                writer.print(permissionEntry.mListeners.size());
+                writer.print(" signals=");
+                writer.println(permissionEntry.mSignals);
+            }
+            writer.print(prefix);
+            writer.print("Registered signals (");
+            writer.print(SIGNAL_OBSERVER_MAP.size());
+            writer.println("):");
+            for (Map.Entry<PermissionChangeSignal, SignalObserver> entry : SIGNAL_OBSERVER_MAP.entrySet()) {
+                writer.print(prefix);
+                writer.print("  ");
+                writer.print(entry.getKey());
+                writer.print(" permissions=");
+                writer.println(entry.getValue().mPermissionIdentities.size());
+            }
+        }
+    }
+
+    /**
+     * A signal fired: invalidate the permissions that declared it and notify their listeners
+     */
+    private static void dispatchSignal(@NonNull SignalObserver observer) {
+        // Keyed by the entries, one per permission identity
+        Map<PermissionEntry, List<OnPermissionChangeListener>> notifyMap;
+        synchronized (LOCK) {
+            if (observer.mPermissionIdentities.isEmpty()) {
+                return;
+            }
+            notifyMap = new LinkedHashMap<>(observer.mPermissionIdentities.size());
+            for (String permissionIdentity : observer.mPermissionIdentities) {
+                PermissionEntry entry = PERMISSION_ENTRY_MAP.get(permissionIdentity);
+                if (entry == null) {
+                    continue;
+                }
+                entry.mGrantedState = null;
+                entry.mVersion++;
+                notifyMap.put(entry, new ArrayList<>(entry.mListeners));
+            }
+        }
+        for (Map.Entry<PermissionEntry, List<OnPermissionChangeListener>> notifyEntry : notifyMap.entrySet()) {
+            for (OnPermissionChangeListener listener : notifyEntry.getValue()) {
+                listener.onPermissionChange(notifyEntry.getKey().mPermission);
+            }
+        }
+    }
+
+    @NonNull
+    private static SignalObserver createSignalObserver(@NonNull PermissionChangeSignal signal) {
+        switch (signal.getType()) {
+            case URI:
+                return new UriSignalObserver(Uri.parse(signal.getValue()));
+            case BROADCAST:
+                return new BroadcastSignalObserver(signal.getValue());
+            case APP_OPS:
+                return new AppOpsSignalObserver(signal.getValue());
+            case RESUME:
+            default:
+                return new ResumeSignalObserver();
+        }
+    }
+
+    /**
+     * Observed permission
+     */
+    private static final class PermissionEntry {
+
+        /** The permission, as first registered */
+        @NonNull
+        private final IPermission mPermission;
+
+        /** Signals declared by the permission */
+        @NonNull
+        private final List<PermissionChangeSignal> mSignals;
+
+        /** Listeners of the permission */
+        @NonNull
+        private final List<OnPermissionChangeListener> mListeners = new ArrayList<>();
+
+        /** Cached grant state (null means it must be checked again) */
+        @Nullable
+        private Boolean mGrantedState;
+
+        /** Incremented every time the cached state is invalidated */
+        private int mVersion;
+
+        private PermissionEntry(@NonNull IPermission permission, @NonNull List<PermissionChangeSignal> signals) {
+            mPermission = permission;
+            mSignals = signals;
+        }
+    }
+
+    /**
+     * Observer of one signal, shared by every permission declaring it
+     */
+    private abstract static class SignalObserver {
+
+        /** Identities of the permissions declaring this signal */
+        @NonNull
+        final Set<String> mPermissionIdentities = new LinkedHashSet<>();
+
+        /**
+         * Start observing, return false if the signal can not be observed
+         */
+        abstract boolean register(@NonNull Context context);
+
+        abstract void unregister(@NonNull Context context);
+
+        final void onSignal() {
+            dispatchSignal(this);
+        }
+    }
+
+    private static final class ResumeSignalObserver extends SignalObserver implements Application.ActivityLifecycleCallbacks {
+
+        @Override
+        boolean register(@NonNull Context context) {
+            if (!(context instanceof Application)) {
+                return false;
+            }
+            ((Application) context).registerActivityLifecycleCallbacks(this);
+            return true;
+        }
+
+        @Override
+        void unregister(@NonNull Context context) {
+            if (context instanceof Application) {
+                ((Application) context).unregisterActivityLifecycleCallbacks(this);
+            }
+        }
+
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {
+            // The user may come back from the settings page or a system dialog
+            onSignal();
+        }
+
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+            // default implementation ignored
+        }
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) {
+            // default implementation ignored
+        }
+    }
+
+    private static final class UriSignalObserver extends SignalObserver {
+
+        @NonNull
+        private final Uri mUri;
+
+        @NonNull
+        private final ContentObserver mContentObserver = new ContentObserver(new Handler(Looper.getMainLooper())) {
+            @Override
+            public void onChange(boolean selfChange) {
+                onSignal();
+            }
+        };
+
+        private UriSignalObserver(@NonNull Uri uri) {
+            mUri = uri;
+        }
+
+        @Override
+        boolean register(@NonNull Context context) {
+            try {
+                context.getContentResolver().registerContentObserver(mUri, false, mContentObserver);
+                return true;
+            } catch (Exception e) {
+                // e.g. SecurityException: the Uri is not readable by the current app
+                PermissionLog.log("Register ContentObserver failed: " + mUri, e);
+                return false;
+            }
+        }
+
+        @Override
+        void unregister(@NonNull Context context) {
+            context.getContentResolver().unregisterContentObserver(mContentObserver);
+        }
+    }
+
+    private static final class BroadcastSignalObserver extends SignalObserver {
+
+        @NonNull
+        private final String mAction;
+
+        @NonNull
+        private final BroadcastReceiver mBroadcastReceiver = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                onSignal();
+            }
+        };
+
+        private BroadcastSignalObserver(@NonNull String action) {
+            mAction = action;
+        }
+
+        @Override
+        boolean register(@NonNull Context context) {
+            try {
+                ContextCompat.registerReceiver(context, mBroadcastReceiver, new IntentFilter(mAction), ContextCompat.RECEIVER_NOT_EXPORTED);
+                return true;
+            } catch (Exception e) {
+                PermissionLog.log("Register BroadcastReceiver failed: " + mAction, e);
+                return false;
+            }
+        }
+
+        @Override
+        void unregister(@NonNull Context context) {
+            context.unregisterReceiver(mBroadcastReceiver);
+        }
+    }
+
+    private static final class AppOpsSignalObserver extends SignalObserver {
+
+        @NonNull
+        private final String mOpName;
+
+        @Nullable
+        private AppOpsManager.OnOpChangedListener mOpChangedListener;
+
+        private AppOpsSignalObserver(@NonNull String opName) {
+            mOpName = opName;
+        }
+
+        @Override
+        boolean register(@NonNull Context context) {
+            AppOpsManager appOpsManager = getAppOpsManager(context);
+            // Although this SystemService is never null, still apply defensive programming just in case
+            if (appOpsManager == null) {
+                return false;
+            }
+            // The listener is called on a binder thread, move it to the main thread like the other signals
+            AppOpsManager.OnOpChangedListener opChangedListener = (op, packageName) ->
+                    PermissionTaskHandler.sendTask(this::onSignal, 0);
+            try {
+                appOpsManager.startWatchingMode(mOpName, context.getPackageName(), opChangedListener);
+            } catch (Exception e) {
+                // e.g. IllegalArgumentException: the op does not exist on this system version
+                PermissionLog.log("Watch AppOps mode failed: " + mOpName, e);
+                return false;
+            }
+            mOpChangedListener = opChangedListener;
+            return true;
+        }
+
+        @Override
+        void unregister(@NonNull Context context) {
+            AppOpsManager appOpsManager = getAppOpsManager(context);
+            if (appOpsManager == null || mOpChangedListener == null) {
+                return;
+            }
+            appOpsManager.stopWatchingMode(mOpChangedListener);
+            mOpChangedListener = null;
+        }
+
+        @Nullable
+        private static AppOpsManager getAppOpsManager(@NonNull Context context) {
+            if (PermissionVersion.isAndroid6()) {
+                return context.getSystemService(AppOpsManager.class);
+            }
+            return (AppOpsManager) context.getSystemService(Context.APP_OPS_SERVICE);
+        }
+    }
+}
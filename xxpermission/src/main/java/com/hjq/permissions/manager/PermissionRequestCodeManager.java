@@ -1,7 +1,9 @@
 package com.hjq.permissions.manager;
 
 import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
 import com.hjq.permissions.XXPermissions;
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -76,4 +78,15 @@ public final class PermissionRequestCodeManager {
     public static synchronized void releaseRequestCode(int requestCode) {
         REQUEST_CODE_ARRAY.remove((Integer) requestCode);
     }
+
+    /**
+     * Print the request codes that are currently reserved
+     */
+    public static synchronized void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        writer.print(prefix);
+        writer.print("Request codes in use (");
+        writer.print(REQUEST_CODE_ARRAY.size());
+        writer.print("): ");
+        writer.println(REQUEST_CODE_ARRAY);
+    }
 }
@@ -61,19 +61,58 @@ public final class AndroidManifestInfo {
 
     /**
      * List of declared {@code <activity>} elements.
+     *
+     * <p>When read from the app's own manifest, the component lists are parsed the first time one of them is read:
+     * they are then views of the parsed lists, which stay mutable like the lists of a bean built by hand.
+     * Check {@link #isComponentInfoAvailable()} before treating a missing component as not registered.</p>
      */
     @NonNull
-    public final List<ActivityManifestInfo> activityInfoList = new ArrayList<>();
+    public final List<ActivityManifestInfo> activityInfoList;
 
     /**
      * List of declared {@code <service>} elements.
      */
     @NonNull
-    public final List<ServiceManifestInfo> serviceInfoList = new ArrayList<>();
+    public final List<ServiceManifestInfo> serviceInfoList;
 
     /**
      * List of declared {@code <receiver>} elements.
      */
     @NonNull
-    public final List<BroadcastReceiverManifestInfo> receiverInfoList = new ArrayList<>();
+    public final List<BroadcastReceiverManifestInfo> receiverInfoList;
+
+    /** Parses the component lists on first access, null if they were parsed along with the rest of the manifest */
+    @Nullable
+    private final ManifestComponentSection mComponentSection;
+
+    public AndroidManifestInfo() {
+        activityInfoList = new ArrayList<>();
+        serviceInfoList = new ArrayList<>();
+        receiverInfoList = new ArrayList<>();
+        mComponentSection = null;
+    }
+
+    AndroidManifestInfo(@NonNull ManifestComponentSection componentSection) {
+        activityInfoList = new ManifestComponentSection.SectionList<>(componentSection, info -> info.activityInfoList);
+        serviceInfoList = new ManifestComponentSection.SectionList<>(componentSection, info -> info.serviceInfoList);
+        receiverInfoList = new ManifestComponentSection.SectionList<>(componentSection, info -> info.receiverInfoList);
+        mComponentSection = componentSection;
+    }
+
+    /**
+     * Whether the component lists could be parsed
+     *
+     * <p>False if parsing the component section failed: the lists are empty then, which does not mean that no component
+     * is registered, so the checks of the components must be skipped (as they are when the whole manifest can not be parsed).</p>
+     */
+    public boolean isComponentInfoAvailable() {
+        return mComponentSection == null || !mComponentSection.isFailed();
+    }
+
+    /**
+     * Whether the component lists have been parsed already (reading them does not cost a parse any more)
+     */
+    boolean isComponentSectionLoaded() {
+        return mComponentSection == null || mComponentSection.isLoaded();
+    }
 }
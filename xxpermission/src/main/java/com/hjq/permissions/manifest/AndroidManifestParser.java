@@ -4,6 +4,7 @@ import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.res.AssetManager;
 import android.content.res.XmlResourceParser;
+import android.os.Build;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.manifest.node.ActivityManifestInfo;
@@ -14,8 +15,10 @@ import com.hjq.permissions.manifest.node.MetaDataManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.manifest.node.ServiceManifestInfo;
 import com.hjq.permissions.manifest.node.UsesSdkManifestInfo;
+import com.hjq.permissions.tools.PermissionLog;
 import com.hjq.permissions.tools.PermissionUtils;
 import com.hjq.permissions.tools.PermissionVersion;
+import java.io.PrintWriter;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -75,6 +78,13 @@ public final class AndroidManifestParser {
     private static final String ATTR_SUPPORTS_PICTURE_IN_PICTURE = "supportsPictureInPicture";
     private static final String ATTR_PERMISSION = "permission";
 
+    /** Manifest information of the current application (the manifest can not change while the process lives) */
+    @Nullable
+    private static volatile AndroidManifestInfo sAndroidManifestInfo;
+
+    /** Whether {@link #sAndroidManifestInfo} has been resolved (it stays null if parsing failed) */
+    private static volatile boolean sAndroidManifestInfoResolved;
+
     /** Private constructor to prevent instantiation */
     private AndroidManifestParser() {
         // default implementation ignored
@@ -89,6 +99,49 @@ public final class AndroidManifestParser {
      */
     @Nullable
     public static AndroidManifestInfo getAndroidManifestInfo(Context context) {
+        if (sAndroidManifestInfoResolved) {
+            return sAndroidManifestInfo;
+        }
+        AndroidManifestInfo manifestInfo = parseAndroidManifestInfo(context);
+        sAndroidManifestInfo = manifestInfo;
+        sAndroidManifestInfoResolved = true;
+        return manifestInfo;
+    }
+
+    /**
+     * Print whether the manifest has been parsed and what it holds
+     */
+    public static void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        writer.print(prefix);
+        writer.print("Manifest: ");
+        if (!sAndroidManifestInfoResolved) {
+            writer.println("not parsed yet");
+            return;
+        }
+        AndroidManifestInfo manifestInfo = sAndroidManifestInfo;
+        if (manifestInfo == null) {
+            writer.println("parse failed");
+            return;
+        }
+        writer.print("package=");
+        writer.print(manifestInfo.packageName);
+        writer.print(" permissions=");
+        writer.print(manifestInfo.permissionInfoList.size());
+        if (!manifestInfo.isComponentSectionLoaded()) {
+            // Reading the component lists here would parse them
+            writer.println(" components=not parsed yet");
+            return;
+        }
+        writer.print(" activities=");
+        writer.print(manifestInfo.activityInfoList.size());
+        writer.print(" services=");
+        writer.print(manifestInfo.serviceInfoList.size());
+        writer.print(" receivers=");
+        writer.println(manifestInfo.receiverInfoList.size());
+    }
+
+    @Nullable
+    private static AndroidManifestInfo parseAndroidManifestInfo(Context context) {
         int apkPathCookie = AndroidManifestParser.findApkPathCookie(context, context.getApplicationInfo().sourceDir);
         // If cookie == 0, retrieval failed
         if (apkPathCookie == 0) {
@@ -104,7 +157,7 @@ public final class AndroidManifestParser {
                 return null;
             }
         } catch (IOException | XmlPullParserException e) {
-            e.printStackTrace();
+            PermissionLog.log("Parse AndroidManifest.xml failed", e);
         }
 
         return manifestInfo;
@@ -124,44 +177,105 @@ public final class AndroidManifestParser {
         Integer cookie;
 
         try {
-            if (PermissionVersion.getTargetVersion(context) >= PermissionVersion.ANDROID_9 &&
-                    PermissionVersion.getCurrentVersion() >= PermissionVersion.ANDROID_9 &&
-                    PermissionVersion.getCurrentVersion() < PermissionVersion.ANDROID_11) {
-
-                // Reflection trick: Works only on Android 9 and 10. Not effective on Android 11.
-                Method metaGetDeclaredMethod = Class.class.getDeclaredMethod(
-                        "getDeclaredMethod", String.class, Class[].class);
-                metaGetDeclaredMethod.setAccessible(true);
-
-                // Note: AssetManager.findCookieForPath was added in API 28 (Android 9).
-                // Android 9 typically uses AssetManager.addAssetPath to get the cookie.
-                Method findCookieForPathMethod = (Method) metaGetDeclaredMethod.invoke(AssetManager.class,
-                        "findCookieForPath", new Class[]{String.class});
+            // The hidden API rules of the running device decide (not the permission environment)
+            if (context.getApplicationInfo().targetSdkVersion >= PermissionVersion.ANDROID_9 &&
+                    Build.VERSION.SDK_INT >= PermissionVersion.ANDROID_9 &&
+                    Build.VERSION.SDK_INT < PermissionVersion.ANDROID_11) {
+
+                Method findCookieForPathMethod = getFindCookieForPathMethod();
                 if (findCookieForPathMethod != null) {
-                    findCookieForPathMethod.setAccessible(true);
-                    cookie = (Integer) findCookieForPathMethod.invoke(context.getAssets(), apkPath);
+                    cookie = (Integer) findCookieForPathMethod.invoke(assets, apkPath);
                     if (cookie != null) {
                         return cookie;
                     }
                 }
             }
 
-            Method addAssetPathMethod = assets.getClass().getDeclaredMethod("addAssetPath", String.class);
+            Method addAssetPathMethod = getAddAssetPathMethod();
+            if (addAssetPathMethod == null) {
+                return 0;
+            }
             cookie = (Integer) addAssetPathMethod.invoke(assets, apkPath);
             if (cookie != null) {
                 return cookie;
             }
 
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            e.printStackTrace();
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            PermissionLog.log("Find the cookie of \"" + apkPath + "\" failed", e);
         }
 
         return 0;
     }
 
+    /** AssetManager.findCookieForPath(String) method */
+    @Nullable
+    private static volatile Method sFindCookieForPathMethod;
+
+    /** Whether {@link #sFindCookieForPathMethod} has been resolved (it stays null if the method is unavailable) */
+    private static volatile boolean sFindCookieForPathMethodResolved;
+
+    /** AssetManager.addAssetPath(String) method */
+    @Nullable
+    private static volatile Method sAddAssetPathMethod;
+
+    /** Whether {@link #sAddAssetPathMethod} has been resolved (it stays null if the method is unavailable) */
+    private static volatile boolean sAddAssetPathMethodResolved;
+
+    /**
+     * Get the AssetManager.findCookieForPath method, resolved once per process
+     */
+    @SuppressWarnings("JavaReflectionMemberAccess")
+    @Nullable
+    private static Method getFindCookieForPathMethod() {
+        if (sFindCookieForPathMethodResolved) {
+            return sFindCookieForPathMethod;
+        }
+        try {
+            // Reflection trick: Works only on Android 9 and 10. Not effective on Android 11.
+            Method metaGetDeclaredMethod = Class.class.getDeclaredMethod(
+                    "getDeclaredMethod", String.class, Class[].class);
+            metaGetDeclaredMethod.setAccessible(true);
+
+            // Note: AssetManager.findCookieForPath was added in API 28 (Android 9).
+            // Android 9 typically uses AssetManager.addAssetPath to get the cookie.
+            Method findCookieForPathMethod = (Method) metaGetDeclaredMethod.invoke(AssetManager.class,
+                    "findCookieForPath", new Class[]{String.class});
+            if (findCookieForPathMethod != null) {
+                findCookieForPathMethod.setAccessible(true);
+            }
+            sFindCookieForPathMethod = findCookieForPathMethod;
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            PermissionLog.log("AssetManager.findCookieForPath is unavailable", e);
+        }
+        sFindCookieForPathMethodResolved = true;
+        return sFindCookieForPathMethod;
+    }
+
+    /**
+     * Get the AssetManager.addAssetPath method, resolved once per process
+     */
+    @SuppressWarnings("JavaReflectionMemberAccess")
+    @Nullable
+    private static Method getAddAssetPathMethod() {
+        if (sAddAssetPathMethodResolved) {
+            return sAddAssetPathMethod;
+        }
+        try {
+            sAddAssetPathMethod = AssetManager.class.getDeclaredMethod("addAssetPath", String.class);
+        } catch (NoSuchMethodException e) {
+            PermissionLog.log("AssetManager.addAssetPath is unavailable", e);
+        }
+        sAddAssetPathMethodResolved = true;
+        return sAddAssetPathMethod;
+    }
+
     /**
      * Parse the manifest file from the APK.
      *
+     * <p>Only the top-level elements ({@code <uses-permission>}, {@code <uses-sdk>}, {@code <queries>}, the
+     * {@code <application>} attributes and meta-data) are parsed here; the subtrees of the components are skipped
+     * and parsed the first time one of the component lists is read.</p>
+     *
      * @param context   application context
      * @param apkCookie cookie value representing the APK in AssetManager
      * @return parsed {@link AndroidManifestInfo}
@@ -169,64 +283,158 @@ public final class AndroidManifestParser {
     @NonNull
     public static AndroidManifestInfo parseAndroidManifest(@NonNull Context context, int apkCookie)
             throws IOException, XmlPullParserException {
+        // The manifest info is kept for the whole process, it must not hold an Activity
+        Context appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        AndroidManifestInfo manifestInfo = new AndroidManifestInfo(new ManifestComponentSection(
+                componentsInfo -> parseComponentSection(appContext, apkCookie, componentsInfo)));
+        try (XmlResourceParser parser = appContext.getAssets()
+                .openXmlResourceParser(apkCookie, ANDROID_MANIFEST_FILE_NAME)) {
+            parseAndroidManifest(parser, manifestInfo, false);
+        }
+        return manifestInfo;
+    }
+
+    /**
+     * Parse a manifest from an already opened parser (the caller stays responsible for closing it).
+     *
+     * <p>The parser can not be read again later, so the components are parsed right away.</p>
+     *
+     * @param parser    parser positioned at the start of the manifest document
+     * @return parsed {@link AndroidManifestInfo}
+     */
+    @NonNull
+    public static AndroidManifestInfo parseAndroidManifest(@NonNull XmlResourceParser parser)
+            throws IOException, XmlPullParserException {
         AndroidManifestInfo manifestInfo = new AndroidManifestInfo();
+        parseAndroidManifest(parser, manifestInfo, true);
+        return manifestInfo;
+    }
 
-        try (XmlResourceParser parser = context.getAssets()
-                .openXmlResourceParser(apkCookie, ANDROID_MANIFEST_FILE_NAME)) {
+    /**
+     * Parse a manifest into the given object.
+     *
+     * @param parseComponents   whether to parse the components too, their subtrees are skipped otherwise
+     */
+    private static void parseAndroidManifest(@NonNull XmlResourceParser parser, @NonNull AndroidManifestInfo manifestInfo,
+                                             boolean parseComponents) throws IOException, XmlPullParserException {
+        do {
+            if (parser.getEventType() != XmlResourceParser.START_TAG) {
+                continue;
+            }
 
-            do {
-                if (parser.getEventType() != XmlResourceParser.START_TAG) {
-                    continue;
-                }
+            String tagName = parser.getName();
 
-                String tagName = parser.getName();
+            if (PermissionUtils.equalsString(TAG_MANIFEST, tagName)) {
+                manifestInfo.packageName = parsePackageFromXml(parser);
+            }
 
-                if (PermissionUtils.equalsString(TAG_MANIFEST, tagName)) {
-                    manifestInfo.packageName = parsePackageFromXml(parser);
-                }
+            if (PermissionUtils.equalsString(TAG_USES_SDK, tagName)) {
+                manifestInfo.usesSdkInfo = parseUsesSdkFromXml(parser);
+            }
 
-                if (PermissionUtils.equalsString(TAG_USES_SDK, tagName)) {
-                    manifestInfo.usesSdkInfo = parseUsesSdkFromXml(parser);
-                }
+            if (PermissionUtils.equalsString(TAG_USES_PERMISSION, tagName) ||
+                    PermissionUtils.equalsString(TAG_USES_PERMISSION_SDK_23, tagName) ||
+                    PermissionUtils.equalsString(TAG_USES_PERMISSION_SDK_M, tagName)) {
+                manifestInfo.permissionInfoList.add(parsePermissionFromXml(parser));
+            }
 
-                if (PermissionUtils.equalsString(TAG_USES_PERMISSION, tagName) ||
-                        PermissionUtils.equalsString(TAG_USES_PERMISSION_SDK_23, tagName) ||
-                        PermissionUtils.equalsString(TAG_USES_PERMISSION_SDK_M, tagName)) {
-                    manifestInfo.permissionInfoList.add(parsePermissionFromXml(parser));
-                }
+            if (PermissionUtils.equalsString(TAG_QUERIES, tagName)) {
+                manifestInfo.queriesPackageList.add(parsePackageFromXml(parser));
+            }
 
-                if (PermissionUtils.equalsString(TAG_QUERIES, tagName)) {
-                    manifestInfo.queriesPackageList.add(parsePackageFromXml(parser));
-                }
+            if (PermissionUtils.equalsString(TAG_APPLICATION, tagName)) {
+                manifestInfo.applicationInfo = parseApplicationFromXml(parser);
+                parseApplicationChildrenFromXml(parser, manifestInfo.applicationInfo, parseComponents ? manifestInfo : null);
+            }
 
-                if (PermissionUtils.equalsString(TAG_APPLICATION, tagName)) {
-                    manifestInfo.applicationInfo = parseApplicationFromXml(parser);
-                }
+        } while (parser.next() != XmlResourceParser.END_DOCUMENT);
+    }
 
-                if (PermissionUtils.equalsString(TAG_ACTIVITY, tagName) ||
-                        PermissionUtils.equalsString(TAG_ACTIVITY_ALIAS, tagName)) {
-                    manifestInfo.activityInfoList.add(parseActivityFromXml(parser));
+    /**
+     * Parse the component section of the manifest (see {@link ManifestComponentSection}).
+     */
+    private static void parseComponentSection(@NonNull Context context, int apkCookie, @NonNull AndroidManifestInfo componentsInfo)
+            throws IOException, XmlPullParserException {
+        try (XmlResourceParser parser = context.getAssets()
+                .openXmlResourceParser(apkCookie, ANDROID_MANIFEST_FILE_NAME)) {
+            do {
+                if (parser.getEventType() == XmlResourceParser.START_TAG &&
+                        PermissionUtils.equalsString(TAG_APPLICATION, parser.getName())) {
+                    parseApplicationChildrenFromXml(parser, null, componentsInfo);
+                    return;
                 }
+            } while (parser.next() != XmlResourceParser.END_DOCUMENT);
+        }
+    }
 
-                if (PermissionUtils.equalsString(TAG_SERVICE, tagName)) {
-                    manifestInfo.serviceInfoList.add(parseServerFromXml(parser));
-                }
+    /**
+     * Walk the children of {@code <application>}, from its start tag to its end tag.
+     *
+     * @param applicationInfo   receives the meta-data of the application, null to skip them
+     * @param componentsInfo    receives the components, null to skip their subtrees
+     */
+    private static void parseApplicationChildrenFromXml(@NonNull XmlResourceParser parser,
+                                                        @Nullable ApplicationManifestInfo applicationInfo,
+                                                        @Nullable AndroidManifestInfo componentsInfo)
+            throws IOException, XmlPullParserException {
+        while (true) {
+            int nextTagType = parser.next();
+            // Every child is consumed up to its own end tag, so the next end tag is the one of <application>
+            if (nextTagType == XmlResourceParser.END_TAG || nextTagType == XmlResourceParser.END_DOCUMENT) {
+                return;
+            }
+            if (nextTagType != XmlResourceParser.START_TAG) {
+                continue;
+            }
 
-                if (PermissionUtils.equalsString(TAG_RECEIVER, tagName)) {
-                    manifestInfo.receiverInfoList.add(parseBroadcastReceiverFromXml(parser));
-                }
+            String tagName = parser.getName();
 
-                if (PermissionUtils.equalsString(TAG_META_DATA, tagName) && manifestInfo.applicationInfo != null) {
-                    if (manifestInfo.applicationInfo.metaDataInfoList == null) {
-                        manifestInfo.applicationInfo.metaDataInfoList = new ArrayList<>();
-                    }
-                    manifestInfo.applicationInfo.metaDataInfoList.add(parseMetaDataFromXml(parser));
+            if (componentsInfo != null && (PermissionUtils.equalsString(TAG_ACTIVITY, tagName) ||
+                    PermissionUtils.equalsString(TAG_ACTIVITY_ALIAS, tagName))) {
+                componentsInfo.activityInfoList.add(parseActivityFromXml(parser));
+                continue;
+            }
+
+            if (componentsInfo != null && PermissionUtils.equalsString(TAG_SERVICE, tagName)) {
+                componentsInfo.serviceInfoList.add(parseServerFromXml(parser));
+                continue;
+            }
+
+            if (componentsInfo != null && PermissionUtils.equalsString(TAG_RECEIVER, tagName)) {
+                componentsInfo.receiverInfoList.add(parseBroadcastReceiverFromXml(parser));
+                continue;
+            }
+
+            if (applicationInfo != null && PermissionUtils.equalsString(TAG_META_DATA, tagName)) {
+                if (applicationInfo.metaDataInfoList == null) {
+                    applicationInfo.metaDataInfoList = new ArrayList<>();
                 }
+                applicationInfo.metaDataInfoList.add(parseMetaDataFromXml(parser));
+            }
 
-            } while (parser.next() != XmlResourceParser.END_DOCUMENT);
+            skipSubtreeFromXml(parser);
         }
+    }
 
-        return manifestInfo;
+    /**
+     * Skip the element the parser is on (it must be on its start tag), the parser ends on its end tag.
+     */
+    private static void skipSubtreeFromXml(@NonNull XmlResourceParser parser) throws IOException, XmlPullParserException {
+        int depth = 1;
+        while (depth > 0) {
+            switch (parser.next()) {
+                case XmlResourceParser.START_TAG:
+                    depth++;
+                    break;
+                case XmlResourceParser.END_TAG:
+                    depth--;
+                    break;
+                case XmlResourceParser.END_DOCUMENT:
+                    return;
+                default:
+                    break;
+            }
+        }
     }
 
     // --- XML parsing helpers ---
@@ -0,0 +1,149 @@
+package com.hjq.permissions.manifest;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.tools.PermissionLog;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ * Component section of a manifest ({@code <activity>}, {@code <service>} and {@code <receiver>} elements),
+ * parsed on first access.
+ *
+ * <p>Most requests only look at the {@code <uses-permission>} elements, so the components, with their
+ * intent-filters and meta-data, are only parsed once a permission actually reads them.</p>
+ *
+ * author : Android 轮子哥
+ * github : https://github.com/getActivity/XXPermissions
+ * time   : 2025/09/29
+ */
+final class ManifestComponentSection {
+
+    /**
+     * Parses the component section into the lists of the given object
+     */
+    interface Loader {
+
+        void load(@NonNull AndroidManifestInfo componentsInfo) throws IOException, XmlPullParserException;
+    }
+
+    /** Loader of the section, released once it has run */
+    @Nullable
+    private Loader mLoader;
+
+    /** Holds the parsed component lists, null until the section has been parsed */
+    @Nullable
+    private volatile AndroidManifestInfo mComponentsInfo;
+
+    /** Whether parsing the section failed (the lists are empty then) */
+    private volatile boolean mFailed;
+
+    ManifestComponentSection(@NonNull Loader loader) {
+        mLoader = loader;
+    }
+
+    /**
+     * Whether the section has been parsed already
+     */
+    boolean isLoaded() {
+        return mComponentsInfo != null;
+    }
+
+    /**
+     * Whether parsing the section failed, parsing it first if needed
+     */
+    boolean isFailed() {
+        getComponentsInfo();
+        return mFailed;
+    }
+
+    /**
+     * Get the parsed component lists, parsing them on the first call
+     */
+    @NonNull
+    AndroidManifestInfo getComponentsInfo() {
+        AndroidManifestInfo componentsInfo = mComponentsInfo;
+        if (componentsInfo != null) {
+            return componentsInfo;
+        }
+        synchronized (this) {
+            componentsInfo = mComponentsInfo;
+            if (componentsInfo != null) {
+                return componentsInfo;
+            }
+            componentsInfo = new AndroidManifestInfo();
+            try {
+                if (mLoader != null) {
+                    mLoader.load(componentsInfo);
+                }
+            } catch (IOException | XmlPullParserException e) {
+                PermissionLog.log("Parse the components of AndroidManifest.xml failed", e);
+                // Do not expose a half parsed section, and tell the checks that the lists are not to be trusted
+                componentsInfo = new AndroidManifestInfo();
+                mFailed = true;
+            }
+            mLoader = null;
+            mComponentsInfo = componentsInfo;
+            return componentsInfo;
+        }
+    }
+
+    /**
+     * List backed by one of the lists of the section, the section is parsed when the list is first accessed
+     *
+     * Mutable like the plain lists of {@link AndroidManifestInfo}, the changes go to the parsed list.
+     */
+    static final class SectionList<T> extends AbstractList<T> implements RandomAccess {
+
+        /**
+         * Picks the list this view is backed by
+         */
+        interface Selector<T> {
+
+            @NonNull
+            List<T> select(@NonNull AndroidManifestInfo componentsInfo);
+        }
+
+        @NonNull
+        private final ManifestComponentSection mSection;
+
+        @NonNull
+        private final Selector<T> mSelector;
+
+        SectionList(@NonNull ManifestComponentSection section, @NonNull Selector<T> selector) {
+            mSection = section;
+            mSelector = selector;
+        }
+
+        @Override
+        public T get(int index) {
+            return mSelector.select(mSection.getComponentsInfo()).get(index);
+        }
+
+        @Override
+        public int size() {
+            return mSelector.select(mSection.getComponentsInfo()).size();
+        }
+
+        @Override
+        public T set(int index, T element) {
+            return mSelector.select(mSection.getComponentsInfo()).set(index, element);
+        }
+
+        @Override
+        public void add(int index, T element) {
+            mSelector.select(mSection.getComponentsInfo()).add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public T remove(int index) {
+            T element = mSelector.select(mSection.getComponentsInfo()).remove(index);
+            modCount++;
+            return element;
+        }
+    }
+}
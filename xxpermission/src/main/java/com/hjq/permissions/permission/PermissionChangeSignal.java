@@ -0,0 +1,107 @@
+package com.hjq.permissions.permission;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/22
+ *    desc   : Signal after which the grant state of a permission may have changed
+ */
+public final class PermissionChangeSignal {
+
+    public enum Type {
+
+        /** An Activity of the current app is resumed */
+        RESUME,
+
+        /** The content of a {@link Uri} (usually a secure setting) changes */
+        URI,
+
+        /** A broadcast with the given action is received */
+        BROADCAST,
+
+        /** The AppOps mode of the given op changes for the current app */
+        APP_OPS
+    }
+
+    /** Signal of an Activity being resumed */
+    public static final PermissionChangeSignal RESUME = new PermissionChangeSignal(Type.RESUME, "");
+
+    /** Signal list of permissions that can only be re-checked when an Activity is resumed */
+    public static final List<PermissionChangeSignal> RESUME_ONLY = Collections.singletonList(RESUME);
+
+    /**
+     * Signal of a content {@link Uri} change (e.g. Settings.Secure.getUriFor(name))
+     */
+    @NonNull
+    public static PermissionChangeSignal ofUri(@NonNull Uri uri) {
+        return new PermissionChangeSignal(Type.URI, uri.toString());
+    }
+
+    /**
+     * Signal of a broadcast action
+     */
+    @NonNull
+    public static PermissionChangeSignal ofBroadcast(@NonNull String action) {
+        return new PermissionChangeSignal(Type.BROADCAST, action);
+    }
+
+    /**
+     * Signal of an AppOps op (e.g. AppOpsManager.OPSTR_SYSTEM_ALERT_WINDOW)
+     */
+    @NonNull
+    public static PermissionChangeSignal ofAppOps(@NonNull String opName) {
+        return new PermissionChangeSignal(Type.APP_OPS, opName);
+    }
+
+    /** Signal type */
+    @NonNull
+    private final Type mType;
+
+    /** Uri string, broadcast action or op name (empty for {@link Type#RESUME}) */
+    @NonNull
+    private final String mValue;
+
+    private PermissionChangeSignal(@NonNull Type type, @NonNull String value) {
+        mType = type;
+        mValue = value;
+    }
+
+    @NonNull
+    public Type getType() {
+        return mType;
+    }
+
+    @NonNull
+    public String getValue() {
+        return mValue;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof PermissionChangeSignal)) {
+            return false;
+        }
+        PermissionChangeSignal signal = (PermissionChangeSignal) obj;
+        return mType == signal.mType && mValue.equals(signal.mValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * mType.hashCode() + mValue.hashCode();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return mType == Type.RESUME ? mType.name() : mType.name() + "(" + mValue + ")";
+    }
+}
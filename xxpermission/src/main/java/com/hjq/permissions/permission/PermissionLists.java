@@ -47,6 +47,8 @@ import com.hjq.permissions.permission.special.SystemAlertWindowPermission;
 import com.hjq.permissions.permission.special.UseFullScreenIntentPermission;
 import com.hjq.permissions.permission.special.WriteSettingsPermission;
 import com.hjq.permissions.tools.PermissionVersion;
+import java.io.PrintWriter;
+import java.lang.ref.WeakReference;
 
 /**
  *    author : Android Wheel Brother
@@ -98,6 +100,82 @@ public final class PermissionLists {
         return permission;
     }
 
+    /** Maximum number of parameterized permission objects kept in the intern pool */
+    private static final int PARAMETERIZED_PERMISSION_COUNT = 64;
+
+    /**
+     * Intern pool of parameterized permission objects (e.g. a notification permission bound to a channel id)
+     *
+     * These objects cannot share the cache above because the permission name alone does not identify them,
+     * so they are keyed by (permission name, parameters) instead. The values are weak references: an instance
+     * that is no longer used anywhere can still be reclaimed, and the pool is bounded by {@link #PARAMETERIZED_PERMISSION_COUNT}.
+     */
+    private static final LruCache<String, WeakReference<IPermission>> PARAMETERIZED_PERMISSION_CACHE_MAP = new LruCache<>(PARAMETERIZED_PERMISSION_COUNT);
+
+    /**
+     * Generate the intern pool key of a parameterized permission object
+     *
+     * @param permissionName            Permission name
+     * @param parameters                Parameters carried by the permission object
+     */
+    @NonNull
+    private static String generateParameterizedCacheKey(@NonNull String permissionName, @Nullable String... parameters) {
+        StringBuilder builder = new StringBuilder(permissionName);
+        if (parameters == null) {
+            return builder.toString();
+        }
+        for (String parameter : parameters) {
+            // Use a control character as the separator and a distinct marker for null,
+            // so that a null parameter and the string "null" never share a key
+            builder.append('\u0000');
+            if (parameter != null) {
+                builder.append('"').append(parameter);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Get the interned parameterized permission object
+     *
+     * @param cacheKey                  Key generated by {@link #generateParameterizedCacheKey(String, String...)}
+     */
+    @Nullable
+    private static IPermission getCacheParameterizedPermission(@NonNull String cacheKey) {
+        WeakReference<IPermission> reference = PARAMETERIZED_PERMISSION_CACHE_MAP.get(cacheKey);
+        if (reference == null) {
+            return null;
+        }
+        return reference.get();
+    }
+
+    /**
+     * Add a parameterized permission object to the intern pool
+     *
+     * @param cacheKey                  Key generated by {@link #generateParameterizedCacheKey(String, String...)}
+     * @param permission                Permission object
+     */
+    private static IPermission putCacheParameterizedPermission(@NonNull String cacheKey, @NonNull IPermission permission) {
+        PARAMETERIZED_PERMISSION_CACHE_MAP.put(cacheKey, new WeakReference<>(permission));
+        return permission;
+    }
+
+    /**
+     * Print the size and hit rate of the permission object caches
+     */
+    public static void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        writer.print(prefix);
+        writer.print("Permission cache: size=");
+        writer.print(PERMISSION_CACHE_MAP.size());
+        writer.print(" ");
+        writer.println(PERMISSION_CACHE_MAP);
+        writer.print(prefix);
+        writer.print("Parameterized permission cache: size=");
+        writer.print(PARAMETERIZED_PERMISSION_CACHE_MAP.size());
+        writer.print(" ");
+        writer.println(PARAMETERIZED_PERMISSION_CACHE_MAP);
+    }
+
     /**
      * Read app list permission (dangerous permission, a permission created by the Telecommunication Terminal Industry Association and major Chinese phone manufacturers)
      *
@@ -270,8 +348,13 @@ public final class PermissionLists {
      */
     @NonNull
     public static IPermission getBindNotificationListenerServicePermission(@NonNull Class<? extends NotificationListenerService> notificationListenerServiceClass) {
-        // This object will not be included in the cached collection because it carries specific parameters. Only those without parameters can be put into the cached collection.
-        return new BindNotificationListenerServicePermission(notificationListenerServiceClass);
+        // This object carries specific parameters, so it is interned by (permission name, parameters) instead of the permission name alone
+        String cacheKey = generateParameterizedCacheKey(BindNotificationListenerServicePermission.PERMISSION_NAME, notificationListenerServiceClass.getName());
+        IPermission permission = getCacheParameterizedPermission(cacheKey);
+        if (permission != null) {
+            return permission;
+        }
+        return putCacheParameterizedPermission(cacheKey, new BindNotificationListenerServicePermission(notificationListenerServiceClass));
     }
 
     /**
@@ -293,8 +376,13 @@ public final class PermissionLists {
      */
     @NonNull
     public static IPermission getNotificationServicePermission(@NonNull String channelId) {
-        // This object will not be included in the cached collection because it carries specific parameters. Only those without parameters can be put into the cached collection.
-        return new NotificationServicePermission(channelId);
+        // This object carries specific parameters, so it is interned by (permission name, parameters) instead of the permission name alone
+        String cacheKey = generateParameterizedCacheKey(NotificationServicePermission.PERMISSION_NAME, channelId);
+        IPermission permission = getCacheParameterizedPermission(cacheKey);
+        if (permission != null) {
+            return permission;
+        }
+        return putCacheParameterizedPermission(cacheKey, new NotificationServicePermission(channelId));
     }
 
     /**
@@ -316,7 +404,12 @@ public final class PermissionLists {
      */
     @NonNull
     public static IPermission getBindAccessibilityServicePermission(@NonNull Class<? extends AccessibilityService> accessibilityServiceClass) {
-        return new BindAccessibilityServicePermission(accessibilityServiceClass);
+        String cacheKey = generateParameterizedCacheKey(BindAccessibilityServicePermission.PERMISSION_NAME, accessibilityServiceClass.getName());
+        IPermission permission = getCacheParameterizedPermission(cacheKey);
+        if (permission != null) {
+            return permission;
+        }
+        return putCacheParameterizedPermission(cacheKey, new BindAccessibilityServicePermission(accessibilityServiceClass));
     }
 
     /**
@@ -327,7 +420,12 @@ public final class PermissionLists {
      */
     @NonNull
     public static IPermission getBindDeviceAdminPermission(@NonNull Class<? extends DeviceAdminReceiver> deviceAdminReceiverClass, @Nullable String extraAddExplanation) {
-        return new BindDeviceAdminPermission(deviceAdminReceiverClass, extraAddExplanation);
+        String cacheKey = generateParameterizedCacheKey(PermissionNames.BIND_DEVICE_ADMIN, deviceAdminReceiverClass.getName(), extraAddExplanation);
+        IPermission permission = getCacheParameterizedPermission(cacheKey);
+        if (permission != null) {
+            return permission;
+        }
+        return putCacheParameterizedPermission(cacheKey, new BindDeviceAdminPermission(deviceAdminReceiverClass, extraAddExplanation));
     }
 
     /**
@@ -335,7 +433,7 @@ public final class PermissionLists {
      */
     @NonNull
     public static IPermission getBindDeviceAdminPermission(@NonNull Class<? extends DeviceAdminReceiver> deviceAdminReceiverClass) {
-        return new BindDeviceAdminPermission(deviceAdminReceiverClass, null);
+        return getBindDeviceAdminPermission(deviceAdminReceiverClass, null);
     }
 
     /* ------------------------------------ This is a beautiful dividing line ------------------------------------ */
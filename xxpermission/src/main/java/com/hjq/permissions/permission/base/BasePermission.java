@@ -6,16 +6,20 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.net.Uri;
+import android.os.Build;
 import android.os.Parcel;
+import android.text.TextUtils;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
+import com.hjq.permissions.XXPermissionsConfig;
+import com.hjq.permissions.environment.PermissionEnvironment;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
+import com.hjq.permissions.tools.PermissionLog;
 import com.hjq.permissions.tools.PermissionVersion;
 import com.hjq.permissions.tools.PermissionSettingPage;
 import com.hjq.permissions.tools.PermissionUtils;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
@@ -29,7 +33,7 @@ import java.util.List;
 public abstract class BasePermission implements IPermission {
 
     /** Op permission mode: unknown mode */
-    public static final int MODE_UNKNOWN = -1;
+    public static final int MODE_UNKNOWN = PermissionEnvironment.MODE_UNKNOWN;
 
     protected BasePermission() {
         // default implementation ignored
@@ -62,14 +66,30 @@ public abstract class BasePermission implements IPermission {
             return true;
         }
         // Overriding equals allows List and Map collections to distinguish
-        // whether two different permission objects represent the same permission.
-        // If their names are the same, treat them as the same permission.
-        if (obj instanceof IPermission) {
-            return PermissionUtils.equalsPermission(this, ((IPermission) obj));
-        } else if (obj instanceof String) {
-            return PermissionUtils.equalsPermission(this, ((String) obj));
+        // whether two different permission objects represent the same permission:
+        // the same class, the same name and bound to the same parameters (e.g. the channel of a notification permission)
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
         }
-        return false;
+        IPermission permission = (IPermission) obj;
+        return PermissionUtils.equalsPermission(this, permission) &&
+                TextUtils.equals(getPermissionParameters(), permission.getPermissionParameters());
+    }
+
+    @Override
+    public int hashCode() {
+        // Must stay consistent with equals
+        String permissionParameters = getPermissionParameters();
+        int hashCode = getPermissionName().hashCode();
+        return permissionParameters != null ? 31 * hashCode + permissionParameters.hashCode() : hashCode;
+    }
+
+    /**
+     * Get the environment the permission checks read the system through
+     */
+    @NonNull
+    protected static PermissionEnvironment getPermissionEnvironment() {
+        return XXPermissionsConfig.getPermissionEnvironment();
     }
 
     @NonNull
@@ -251,7 +271,7 @@ public abstract class BasePermission implements IPermission {
      */
     @RequiresApi(PermissionVersion.ANDROID_6)
     public static boolean checkSelfPermission(@NonNull Context context, @NonNull String permission) {
-        return context.checkSelfPermission(permission) == PackageManager.PERMISSION_GRANTED;
+        return getPermissionEnvironment().checkSelfPermission(context, permission);
     }
 
     /**
@@ -264,16 +284,19 @@ public abstract class BasePermission implements IPermission {
         // Android 12L and Android 13 tested fine, Google has fixed it there.
         // But Android 12 still has this historical issue, unavoidable for all Android developers.
         // Issue: https://github.com/getActivity/XXPermissions/issues/133
-        if (PermissionVersion.getCurrentVersion() == PermissionVersion.ANDROID_12) {
-            try {
-                // Also contributed a free fix to Google’s AndroidX project; merge request accepted.
-                // This should solve memory leaks on nearly 1 billion Android 12 devices.
-                // Pull Request: https://github.com/androidx/androidx/pull/435
-                PackageManager packageManager = activity.getApplication().getPackageManager();
-                Method method = PackageManager.class.getMethod("shouldShowRequestPermissionRationale", String.class);
-                return (boolean) method.invoke(packageManager, permission);
-            } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-                e.printStackTrace();
+        // A guard of a framework call, so the running device decides (not the permission environment)
+        if (Build.VERSION.SDK_INT == PermissionVersion.ANDROID_12) {
+            // Also contributed a free fix to Google’s AndroidX project; merge request accepted.
+            // This should solve memory leaks on nearly 1 billion Android 12 devices.
+            // Pull Request: https://github.com/androidx/androidx/pull/435
+            Method method = getShouldShowRequestPermissionRationaleMethod();
+            if (method != null) {
+                try {
+                    PackageManager packageManager = activity.getApplication().getPackageManager();
+                    return (boolean) method.invoke(packageManager, permission);
+                } catch (InvocationTargetException | IllegalAccessException e) {
+                    PermissionLog.log("PackageManager.shouldShowRequestPermissionRationale invoke failed", e);
+                }
             }
         }
         return activity.shouldShowRequestPermissionRationale(permission);
@@ -319,28 +342,8 @@ public abstract class BasePermission implements IPermission {
      * @param opName               must be a field from {@link AppOpsManager} starting with OPSTR
      */
     @RequiresApi(PermissionVersion.ANDROID_4_4)
-    @SuppressWarnings("deprecation")
     public static int getOpPermissionMode(@NonNull Context context, @NonNull String opName) {
-        AppOpsManager appOpsManager;
-        if (PermissionVersion.isAndroid6()) {
-            appOpsManager = context.getSystemService(AppOpsManager.class);
-        } else {
-            appOpsManager = (AppOpsManager) context.getSystemService(Context.APP_OPS_SERVICE);
-        }
-        // This SystemService should never be null, but defensive programming just in case
-        if (appOpsManager == null) {
-            return MODE_UNKNOWN;
-        }
-        try {
-            if (PermissionVersion.isAndroid10()) {
-                return appOpsManager.unsafeCheckOpNoThrow(opName, context.getApplicationInfo().uid, context.getPackageName());
-            } else {
-                return appOpsManager.checkOpNoThrow(opName, context.getApplicationInfo().uid, context.getPackageName());
-            }
-        } catch (Throwable e) {
-            e.printStackTrace();
-            return MODE_UNKNOWN;
-        }
+        return getPermissionEnvironment().getOpPermissionMode(context, opName);
     }
 
     /**
@@ -349,34 +352,9 @@ public abstract class BasePermission implements IPermission {
      * @param opName                field name in {@link AppOpsManager}
      * @param opDefaultValue        fallback value if reflection fails
      */
-    @SuppressWarnings("ConstantConditions")
     @RequiresApi(PermissionVersion.ANDROID_4_4)
-    public static int getOpPermissionMode(Context context, @NonNull String opName, int opDefaultValue) {
-        AppOpsManager appOpsManager;
-        if (PermissionVersion.isAndroid6()) {
-            appOpsManager = context.getSystemService(AppOpsManager.class);
-        } else {
-            appOpsManager = (AppOpsManager) context.getSystemService(Context.APP_OPS_SERVICE);
-        }
-        // This SystemService should never be null, but defensive programming just in case
-        if (appOpsManager == null) {
-            return MODE_UNKNOWN;
-        }
-        try {
-            Class<?> appOpsClass = Class.forName(AppOpsManager.class.getName());
-            int opValue;
-            try {
-                Field opField = appOpsClass.getDeclaredField(opName);
-                opValue = (int) opField.get(Integer.class);
-            } catch (NoSuchFieldException e) {
-                opValue = opDefaultValue;
-            }
-            Method checkOpNoThrowMethod = appOpsClass.getMethod("checkOpNoThrow", Integer.TYPE, Integer.TYPE, String.class);
-            return ((int) checkOpNoThrowMethod.invoke(appOpsManager, opValue, context.getApplicationInfo().uid, context.getPackageName()));
-        } catch (Exception e) {
-            e.printStackTrace();
-            return MODE_UNKNOWN;
-        }
+    public static int getOpPermissionMode(@NonNull Context context, @NonNull String opName, int opDefaultValue) {
+        return getPermissionEnvironment().getOpPermissionMode(context, opName, opDefaultValue);
     }
 
     /**
@@ -385,15 +363,28 @@ public abstract class BasePermission implements IPermission {
      * @param opName                field name in {@link AppOpsManager}
      */
     @RequiresApi(PermissionVersion.ANDROID_4_4)
-    public static boolean isExistOpPermission(String opName) {
+    public static boolean isExistOpPermission(@NonNull String opName) {
+        return getPermissionEnvironment().isExistOpPermission(opName);
+    }
+
+    /** PackageManager.shouldShowRequestPermissionRationale(String) method */
+    @Nullable
+    private static volatile Method sShouldShowRequestPermissionRationaleMethod;
+
+    /** Whether {@link #sShouldShowRequestPermissionRationaleMethod} has been resolved */
+    private static volatile boolean sShouldShowRequestPermissionRationaleMethodResolved;
+
+    @Nullable
+    private static Method getShouldShowRequestPermissionRationaleMethod() {
+        if (sShouldShowRequestPermissionRationaleMethodResolved) {
+            return sShouldShowRequestPermissionRationaleMethod;
+        }
         try {
-            Class<?> appOpsClass = Class.forName(AppOpsManager.class.getName());
-            appOpsClass.getDeclaredField(opName);
-            // Field exists, return true
-            return true;
-        } catch (Exception ignored) {
-            // default implementation ignored
-            return false;
+            sShouldShowRequestPermissionRationaleMethod = PackageManager.class.getMethod("shouldShowRequestPermissionRationale", String.class);
+        } catch (NoSuchMethodException e) {
+            PermissionLog.log("PackageManager.shouldShowRequestPermissionRationale(String) does not exist", e);
         }
+        sShouldShowRequestPermissionRationaleMethodResolved = true;
+        return sShouldShowRequestPermissionRationaleMethod;
     }
 }
@@ -8,6 +8,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.permission.PermissionPageType;
+import com.hjq.permissions.permission.PermissionChangeSignal;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.List;
@@ -26,6 +27,18 @@ public interface IPermission extends Parcelable {
     @NonNull
     String getPermissionName();
 
+    /**
+     * Get the parameters the permission is bound to, e.g. the id of a notification channel (defaults to null)
+     *
+     * The parameters tell apart the permissions of the same name: {@link BasePermission#equals(Object)} and
+     * {@link BasePermission#hashCode()} include them, so the permission objects can be used as keys. The value is also
+     * part of persisted keys, so it must be the same in every process (no identity hash codes).
+     */
+    @Nullable
+    default String getPermissionParameters() {
+        return null;
+    }
+
     /**
      * Get the permission name when requesting (defaults to the permission name)
      */
@@ -146,11 +159,40 @@ public interface IPermission extends Parcelable {
      * - Non-existent intents will definitely fail to jump.
      * - Existing intents are not guaranteed to succeed 100%.
      *
+     * Threading: once {@link #isPermissionSettingIntentsStable(Context)} returns true, this method may be called on a
+     * background thread (together with {@link #getPermissionChannel(Context)}, {@link #isGrantedPermission(Context)}
+     * and {@link #getRequestIntervalTime(Context)}): the framework prepares the next batch ahead of time while the user
+     * is busy with an earlier one. They must therefore not touch views or state owned by the main thread.
+     *
      * @param skipRequest  Whether to skip requesting and directly return Intents
      */
     @NonNull
     List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest);
 
+    /**
+     * Whether {@link #getPermissionSettingIntents(Context, boolean)} always returns the same chain on this device
+     *
+     * Only stable chains go through {@link com.hjq.permissions.start.StartActivityRouteCache}, which starts the
+     * Intent that worked last time instead of rebuilding the chain, and only the batches made of stable permissions are
+     * prepared ahead of time on a background thread. Defaults to false: return true only if the chain never depends on
+     * a state that may change (e.g. the grant state).
+     */
+    default boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return false;
+    }
+
+    /**
+     * Get the signals after which the grant state of the current permission may have changed
+     *
+     * Only the listed signals invalidate the cached state of this permission in
+     * {@link com.hjq.permissions.manager.PermissionChangeMonitor}, so an incomplete list leaves a stale state behind.
+     */
+    @NonNull
+    default List<PermissionChangeSignal> getPermissionChangeSignals(@NonNull Context context) {
+        // Runtime permissions are granted from a dialog (then the Activity resumes) and revoking them kills the process
+        return PermissionChangeSignal.RESUME_ONLY;
+    }
+
     /**
      * Get the interval time for permission requests
      */
@@ -5,7 +5,7 @@ import android.content.Context;
 import android.content.Intent;
 import android.os.Parcel;
 import androidx.annotation.NonNull;
-import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.tools.DeviceProfile;
 import com.hjq.permissions.manager.AlreadyRequestPermissionsManager;
 import com.hjq.permissions.permission.PermissionPageType;
 import com.hjq.permissions.permission.PermissionChannel;
@@ -137,11 +137,10 @@ public abstract class DangerousPermission extends BasePermission {
         // Note: some users reported that MIUI Global cannot jump to Xiaomi’s dedicated permission page
         // for dangerous permissions.
         // GitHub: https://github.com/getActivity/XXPermissions/issues/398
-        if (DeviceOs.isMiuiByChina() && DeviceOs.isMiuiOptimization()) {
+        if (DeviceProfile.get().isMiuiByChina() && DeviceProfile.get().isMiuiOptimization()) {
             intent = PermissionSettingPage.getXiaoMiApplicationPermissionPageIntent(context);
             intentList.add(intent);
-        } else if (DeviceOs.isHyperOsByChina() && DeviceOs.isHyperOsOptimization()) {
-            String osVersionName = DeviceOs.getOsVersionName();
+        } else if (DeviceProfile.get().isHyperOsByChina() && DeviceProfile.get().isHyperOsOptimization()) {
             // Filter versions 2.0.0.0 ~ 2.0.5.0. Tests on Xiaomi Cloud Test show
             // that jumping directly to Xiaomi’s dedicated app-permission page has issues
             // in this range. It appears fixed in 2.0.6.0. HyperOS 1.0 does not have this issue.
@@ -149,7 +148,7 @@ public abstract class DangerousPermission extends BasePermission {
             // showed no dangerous-permission options—only “Other permissions”, and inside there
             // were just a few options like: Home screen shortcuts, SMS notifications, Lock screen display,
             // Background pop-ups, and Floating windows.
-            if (!osVersionName.matches("^2\\.0\\.[0-5]\\.\\d+$")) {
+            if (!DeviceProfile.get().isHyperOsPermissionPageBroken()) {
                 intent = PermissionSettingPage.getXiaoMiApplicationPermissionPageIntent(context);
                 intentList.add(intent);
             }
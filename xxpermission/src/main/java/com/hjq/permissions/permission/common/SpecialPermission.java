@@ -4,7 +4,7 @@ import android.app.Activity;
 import android.content.Context;
 import android.os.Parcel;
 import androidx.annotation.NonNull;
-import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.tools.DeviceProfile;
 import com.hjq.permissions.permission.PermissionPageType;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.permission.base.BasePermission;
@@ -57,7 +57,7 @@ public abstract class SpecialPermission extends BasePermission {
             waitTime = 300;
         }
 
-        if (DeviceOs.isEmui() || DeviceOs.isHarmonyOs()) {
+        if (DeviceProfile.get().isEmui() || DeviceProfile.get().isHarmonyOs()) {
             // Need to increase waiting time, otherwise some Huawei models may fail
             // to recognize granted permissions immediately after authorization
             if (PermissionVersion.isAndroid8()) {
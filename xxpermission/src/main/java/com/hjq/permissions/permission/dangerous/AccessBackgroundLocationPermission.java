@@ -6,7 +6,7 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.tools.DeviceProfile;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.permission.PermissionGroups;
@@ -65,15 +65,15 @@ public final class AccessBackgroundLocationPermission extends DangerousPermissio
     @Override
     public PermissionPageType getPermissionPageType(@NonNull Context context) {
         // Background location permission is always a transparent Activity on HyperOS or MIUI
-        if (DeviceOs.isHyperOs() || DeviceOs.isMiui()) {
+        if (DeviceProfile.get().isHyperOs() || DeviceProfile.get().isMiui()) {
             return PermissionPageType.TRANSPARENT_ACTIVITY;
         }
         // Background location permission is always a transparent Activity on MagicOS
-        if (DeviceOs.isMagicOs()) {
+        if (DeviceProfile.get().isMagicOs()) {
             return PermissionPageType.TRANSPARENT_ACTIVITY;
         }
         // Background location permission is always a transparent Activity on HarmonyOS
-        if (DeviceOs.isHarmonyOs()) {
+        if (DeviceProfile.get().isHarmonyOs()) {
             return PermissionPageType.TRANSPARENT_ACTIVITY;
         }
         // On Android 10, the background location page is a transparent Activity,
@@ -94,6 +94,11 @@ public final class AccessBackgroundLocationPermission extends DangerousPermissio
         return PermissionVersion.ANDROID_10;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @NonNull
     @Override
     public List<IPermission> getForegroundPermissions(@NonNull Context context) {
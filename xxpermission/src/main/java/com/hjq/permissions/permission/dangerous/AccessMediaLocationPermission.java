@@ -60,6 +60,11 @@ public final class AccessMediaLocationPermission extends DangerousPermission {
         return PermissionVersion.ANDROID_10;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected boolean isGrantedPermissionByStandardVersion(@NonNull Context context, boolean skipRequest) {
         return isGrantedReadMediaPermission(context, skipRequest) &&
@@ -63,6 +63,11 @@ public final class BluetoothAdvertisePermission extends DangerousPermission {
         return PermissionVersion.ANDROID_12;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     public String getPermissionGroup(@NonNull Context context) {
         // Note: In Android 12, Bluetooth-related permissions belong to the Nearby Devices group.
@@ -70,6 +70,11 @@ public final class BluetoothConnectPermission extends DangerousPermission {
         return PermissionVersion.ANDROID_12;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     public int getMinTargetSdkVersion(@NonNull Context context) {
         // Some OEMs modified the Bluetooth permission mechanism.
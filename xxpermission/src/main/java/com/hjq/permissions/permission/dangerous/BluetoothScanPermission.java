@@ -72,6 +72,11 @@ public final class BluetoothScanPermission extends DangerousPermission {
         return PermissionVersion.ANDROID_12;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     public int getMinTargetSdkVersion(@NonNull Context context) {
         // Some OEMs modified Bluetooth permission behavior.
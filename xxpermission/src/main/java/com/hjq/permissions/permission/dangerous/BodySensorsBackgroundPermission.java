@@ -6,7 +6,7 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.tools.DeviceProfile;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.permission.PermissionGroups;
@@ -64,7 +64,7 @@ public final class BodySensorsBackgroundPermission extends DangerousPermission {
     @NonNull
     @Override
     public PermissionPageType getPermissionPageType(@NonNull Context context) {
-        if (DeviceOs.isHyperOs() || DeviceOs.isMiui()) {
+        if (DeviceProfile.get().isHyperOs() || DeviceProfile.get().isMiui()) {
             return PermissionPageType.TRANSPARENT_ACTIVITY;
         }
         return PermissionPageType.OPAQUE_ACTIVITY;
@@ -80,6 +80,11 @@ public final class BodySensorsBackgroundPermission extends DangerousPermission {
         return PermissionVersion.ANDROID_13;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @NonNull
     @Override
     public List<IPermission> getForegroundPermissions(@NonNull Context context) {
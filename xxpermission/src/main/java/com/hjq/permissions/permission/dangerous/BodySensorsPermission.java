@@ -63,6 +63,11 @@ public final class BodySensorsPermission extends DangerousPermission {
         return PermissionVersion.ANDROID_6;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected void checkSelfByRequestPermissions(@NonNull Activity activity, @NonNull List<IPermission> requestList) {
         super.checkSelfByRequestPermissions(activity, requestList);
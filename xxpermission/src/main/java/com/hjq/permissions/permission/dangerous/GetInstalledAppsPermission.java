@@ -8,11 +8,10 @@ import android.content.pm.PackageManager;
 import android.content.pm.PermissionInfo;
 import android.os.Parcel;
 import android.os.Parcelable;
-import android.provider.Settings;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
-import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.tools.DeviceProfile;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.permission.PermissionNames;
@@ -20,10 +19,13 @@ import com.hjq.permissions.permission.PermissionPageType;
 import com.hjq.permissions.permission.PermissionChannel;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.permission.common.DangerousPermission;
+import com.hjq.permissions.tools.PermissionLog;
 import com.hjq.permissions.tools.PermissionSettingPage;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *    author : Android Wheel Brother
@@ -115,9 +117,9 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
                 return true;
             }
 
-            if (PermissionVersion.isAndroid4_4() && DeviceOs.isMiui() && isSupportRequestPermissionByMiui()) {
+            if (PermissionVersion.isAndroid4_4() && DeviceProfile.get().isMiui() && isSupportRequestPermissionByMiui()) {
                 // Use MIUI optimization toggle to decide support
-                return DeviceOs.isMiuiOptimization();
+                return DeviceProfile.get().isMiuiOptimization();
             }
         }
         return superMethodSupportRequestPermission;
@@ -130,7 +132,7 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
         }
 
         if (PermissionVersion.isAndroid4_4() && isSupportRequestPermissionByMiui()) {
-            if (!DeviceOs.isMiuiOptimization()) {
+            if (!DeviceProfile.get().isMiuiOptimization()) {
                 // If MIUI optimization is not enabled, just return true.
                 // Even if the user enables it in settings, code checks will still show not granted.
                 // To avoid unnecessary redirects to MIUI settings, treat as granted.
@@ -152,8 +154,8 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
             return isDoNotAskAgainPermissionByStandardVersion(activity);
         }
 
-        if (PermissionVersion.isAndroid4_4() && DeviceOs.isMiui() && isSupportRequestPermissionByMiui()) {
-            if (!DeviceOs.isMiuiOptimization()) {
+        if (PermissionVersion.isAndroid4_4() && DeviceProfile.get().isMiui() && isSupportRequestPermissionByMiui()) {
+            if (!DeviceProfile.get().isMiuiOptimization()) {
                 return false;
             }
             // Returning true here forces external caller to redirect user to MIUI settings
@@ -170,8 +172,8 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
         List<Intent> intentList = new ArrayList<>();
         Intent intent;
 
-        if ((DeviceOs.isHyperOsByChina() && DeviceOs.isHyperOsOptimization()) ||
-                (DeviceOs.isMiuiByChina() && DeviceOs.isMiuiOptimization())) {
+        if ((DeviceProfile.get().isHyperOsByChina() && DeviceProfile.get().isHyperOsOptimization()) ||
+                (DeviceProfile.get().isMiuiByChina() && DeviceProfile.get().isMiuiOptimization())) {
             intent = PermissionSettingPage.getXiaoMiApplicationPermissionPageIntent(context);
             intentList.add(intent);
         }
@@ -191,6 +193,11 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                            @NonNull List<IPermission> requestList,
@@ -233,32 +240,16 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
     @SuppressWarnings("deprecation")
     @RequiresApi(PermissionVersion.ANDROID_6)
     private boolean isSupportRequestPermissionBySystem(Context context) {
-        try {
-            PermissionInfo permissionInfo = context.getPackageManager().getPermissionInfo(getPermissionName(), 0);
-            if (permissionInfo != null) {
-                final int protectionLevel;
-                if (PermissionVersion.isAndroid9()) {
-                    protectionLevel = permissionInfo.getProtection();
-                } else {
-                    protectionLevel = (permissionInfo.protectionLevel & PermissionInfo.PROTECTION_MASK_BASE);
-                }
-                return protectionLevel == PermissionInfo.PROTECTION_DANGEROUS;
-            }
-        } catch (PackageManager.NameNotFoundException e) {
-            // Thrown if permission does not exist
-            e.printStackTrace();
-        }
-
-        try {
-            // Industry guideline: http://www.taf.org.cn/upload/AssociationStandard/TTAF%20108-2022%20移动终端应用软件列表权限实施指南.pdf
-            // Only Honor’s Magic UI follows this, others (including HarmonyOS) don’t.
-            // Keeping both checks ensures wider compatibility.
-            return Settings.Secure.getInt(context.getContentResolver(), "oem_installed_apps_runtime_permission_enable") == 1;
-        } catch (Settings.SettingNotFoundException e) {
-            // Thrown if property does not exist
-            e.printStackTrace();
+        int protectionLevel = getProtectionLevelBySystem(context, getPermissionName());
+        if (protectionLevel != PROTECTION_LEVEL_UNDEFINED) {
+            // Defined by the system: only a dangerous permission can be requested from a dialog
+            return protectionLevel == PermissionInfo.PROTECTION_DANGEROUS;
         }
-        return false;
+        // Industry guideline: http://www.taf.org.cn/upload/AssociationStandard/TTAF%20108-2022%20移动终端应用软件列表权限实施指南.pdf
+        // Only Honor’s Magic UI follows this, others (including HarmonyOS) don’t.
+        // Keeping both checks ensures wider compatibility.
+        // Read with a default value instead of catching SettingNotFoundException when the property does not exist
+        return getPermissionEnvironment().getSecureInt(context, "oem_installed_apps_runtime_permission_enable", 0) == 1;
     }
 
     /**
@@ -266,7 +257,7 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
      */
     @RequiresApi(PermissionVersion.ANDROID_4_4)
     private static boolean isSupportRequestPermissionByMiui() {
-        if (!DeviceOs.isMiui()) {
+        if (!DeviceProfile.get().isMiui()) {
             return false;
         }
         return isExistOpPermission(MIUI_OP_GET_INSTALLED_APPS_FIELD_NAME);
@@ -278,25 +269,60 @@ public final class GetInstalledAppsPermission extends DangerousPermission {
     @RequiresApi(PermissionVersion.ANDROID_6)
     @SuppressWarnings("deprecation")
     private static boolean isSupportRequestPermissionByOneUi(@NonNull Context context) {
-        if (!DeviceOs.isOneUi()) {
+        if (!DeviceProfile.get().isOneUi()) {
             return false;
         }
+        // On OneUI 5.1, not present. On OneUI 5.1.1, permission exists.
+        // Conclusion: support added in OneUI 5.1.1
+        return isDangerousPermissionBySystem(context, ONE_UI_GET_APP_LIST_PERMISSION_NAME);
+    }
+
+    /** Protection level returned for a permission the system does not define */
+    private static final int PROTECTION_LEVEL_UNDEFINED = -1;
+
+    /**
+     * Cached results of {@link #getProtectionLevelBySystem(Context, String)}
+     *
+     * Permission definitions never change while the process is alive, so each permission is probed once.
+     * This also means a missing permission throws {@link PackageManager.NameNotFoundException} only on the first probe.
+     */
+    private static final Map<String, Integer> PROTECTION_LEVEL_BY_SYSTEM_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Check if the system defines the permission with the dangerous protection level
+     */
+    @RequiresApi(PermissionVersion.ANDROID_6)
+    private static boolean isDangerousPermissionBySystem(@NonNull Context context, @NonNull String permissionName) {
+        return getProtectionLevelBySystem(context, permissionName) == PermissionInfo.PROTECTION_DANGEROUS;
+    }
+
+    /**
+     * Get the base protection level the system defines the permission with
+     *
+     * @return {@link #PROTECTION_LEVEL_UNDEFINED} if the system does not define the permission
+     */
+    @SuppressWarnings("deprecation")
+    @RequiresApi(PermissionVersion.ANDROID_6)
+    private static int getProtectionLevelBySystem(@NonNull Context context, @NonNull String permissionName) {
+        Integer cacheResult = PROTECTION_LEVEL_BY_SYSTEM_CACHE.get(permissionName);
+        if (cacheResult != null) {
+            return cacheResult;
+        }
+        int result = PROTECTION_LEVEL_UNDEFINED;
         try {
-            PermissionInfo permissionInfo = context.getPackageManager().getPermissionInfo(ONE_UI_GET_APP_LIST_PERMISSION_NAME, 0);
+            PermissionInfo permissionInfo = context.getPackageManager().getPermissionInfo(permissionName, 0);
             if (permissionInfo != null) {
-                final int protectionLevel;
                 if (PermissionVersion.isAndroid9()) {
-                    protectionLevel = permissionInfo.getProtection();
+                    result = permissionInfo.getProtection();
                 } else {
-                    protectionLevel = (permissionInfo.protectionLevel & PermissionInfo.PROTECTION_MASK_BASE);
+                    result = (permissionInfo.protectionLevel & PermissionInfo.PROTECTION_MASK_BASE);
                 }
-                return protectionLevel == PermissionInfo.PROTECTION_DANGEROUS;
             }
         } catch (PackageManager.NameNotFoundException e) {
-            // On OneUI 5.1, not present. On OneUI 5.1.1, permission exists.
-            // Conclusion: support added in OneUI 5.1.1
-            e.printStackTrace();
+            // Thrown if permission does not exist
+            PermissionLog.log("The system does not define the \"" + permissionName + "\" permission");
         }
-        return false;
+        PROTECTION_LEVEL_BY_SYSTEM_CACHE.put(permissionName, result);
+        return result;
     }
 }
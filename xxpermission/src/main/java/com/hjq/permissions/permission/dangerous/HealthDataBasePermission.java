@@ -86,6 +86,11 @@ public abstract class HealthDataBasePermission extends DangerousPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                            @NonNull List<IPermission> requestList,
@@ -93,6 +98,10 @@ public abstract class HealthDataBasePermission extends DangerousPermission {
                                            @NonNull List<PermissionManifestInfo> permissionInfoList,
                                            @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
+        if (!manifestInfo.isComponentInfoAvailable()) {
+            // The components could not be parsed, nothing to check them against
+            return;
+        }
 
         final String healthAction;
         if (PermissionVersion.isAndroid16()) {
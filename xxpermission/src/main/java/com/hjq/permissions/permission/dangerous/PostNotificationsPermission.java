@@ -88,4 +88,9 @@ public final class PostNotificationsPermission extends DangerousPermission {
         // as the NOTIFICATION_SERVICE permission.
         return PermissionLists.getNotificationServicePermission().getPermissionSettingIntents(context, skipRequest);
     }
+
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
 }
@@ -70,6 +70,11 @@ public final class ReadMediaVideoPermission extends DangerousPermission {
         return PermissionVersion.ANDROID_13;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @NonNull
     @Override
     public List<IPermission> getOldPermissions(Context context) {
@@ -66,6 +66,11 @@ public final class ReadMediaVisualUserSelectedPermission extends DangerousPermis
         return PermissionVersion.ANDROID_14;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     public int getMinTargetSdkVersion(@NonNull Context context) {
         // Partial photo and video access docs:
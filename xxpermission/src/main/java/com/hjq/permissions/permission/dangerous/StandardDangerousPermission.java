@@ -76,4 +76,9 @@ public final class StandardDangerousPermission extends DangerousPermission {
     public int getFromAndroidVersion(@NonNull Context context) {
         return mFromAndroidVersion;
     }
+
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
 }
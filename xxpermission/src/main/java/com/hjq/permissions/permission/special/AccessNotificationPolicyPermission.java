@@ -6,11 +6,13 @@ import android.content.Intent;
 import android.os.Parcel;
 import android.provider.Settings;
 import androidx.annotation.NonNull;
-import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.permission.PermissionChangeSignal;
+import com.hjq.permissions.tools.DeviceProfile;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -66,7 +68,7 @@ public final class AccessNotificationPolicyPermission extends SpecialPermission
         if (!PermissionVersion.isAndroid6()) {
             return true;
         }
-        NotificationManager notificationManager = context.getSystemService(NotificationManager.class);
+        NotificationManager notificationManager = getPermissionEnvironment().getSystemService(context, NotificationManager.class);
         // Even though this SystemService should never be null, defensive programming is applied here just in case.
         if (notificationManager == null) {
             return false;
@@ -74,6 +76,15 @@ public final class AccessNotificationPolicyPermission extends SpecialPermission
         return notificationManager.isNotificationPolicyAccessGranted();
     }
 
+    @NonNull
+    @Override
+    public List<PermissionChangeSignal> getPermissionChangeSignals(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid6()) {
+            return PermissionChangeSignal.RESUME_ONLY;
+        }
+        return Collections.singletonList(PermissionChangeSignal.ofBroadcast(NotificationManager.ACTION_NOTIFICATION_POLICY_ACCESS_GRANTED_CHANGED));
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -97,7 +108,7 @@ public final class AccessNotificationPolicyPermission extends SpecialPermission
         // - Honor X20 SE, Android 11, MagicOS 4.1
         // - Honor Play5, Android 10, MagicOS 4.0
         // - Huawei nova 8, Android 10, EMUI 11.0
-        if (PermissionVersion.isAndroid10() && !(DeviceOs.isHarmonyOs() || DeviceOs.isMagicOs() || DeviceOs.isEmui())) {
+        if (PermissionVersion.isAndroid10() && !(DeviceProfile.get().isHarmonyOs() || DeviceProfile.get().isMagicOs() || DeviceProfile.get().isEmui())) {
             // android.provider.Settings.ACTION_NOTIFICATION_POLICY_ACCESS_DETAIL_SETTINGS
             intent = new Intent("android.settings.NOTIFICATION_POLICY_ACCESS_DETAIL_SETTINGS");
             intent.setData(getPackageNameUri(context));
@@ -124,6 +135,11 @@ public final class AccessNotificationPolicyPermission extends SpecialPermission
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected boolean isRegisterPermissionByManifestFile() {
         // This permission must be statically declared in AndroidManifest.xml
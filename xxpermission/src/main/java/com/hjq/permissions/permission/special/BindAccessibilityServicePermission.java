@@ -15,12 +15,14 @@ import com.hjq.permissions.manifest.node.IntentFilterManifestInfo;
 import com.hjq.permissions.manifest.node.MetaDataManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.manifest.node.ServiceManifestInfo;
+import com.hjq.permissions.permission.PermissionChangeSignal;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionUtils;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -88,7 +90,7 @@ public final class BindAccessibilityServicePermission extends SpecialPermission
 
     @Override
     public boolean isGrantedPermission(@NonNull Context context, boolean skipRequest) {
-        final String enabledServices = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES);
+        final String enabledServices = getPermissionEnvironment().getSecureString(context, Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES);
         if (TextUtils.isEmpty(enabledServices)) {
             return false;
         }
@@ -117,6 +119,12 @@ public final class BindAccessibilityServicePermission extends SpecialPermission
         return false;
     }
 
+    @NonNull
+    @Override
+    public List<PermissionChangeSignal> getPermissionChangeSignals(@NonNull Context context) {
+        return Collections.singletonList(PermissionChangeSignal.ofUri(Settings.Secure.getUriFor(Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES)));
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -132,6 +140,11 @@ public final class BindAccessibilityServicePermission extends SpecialPermission
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     public void checkCompliance(@NonNull Activity activity, @NonNull List<IPermission> requestList, @Nullable AndroidManifestInfo manifestInfo) {
         super.checkCompliance(activity, requestList, manifestInfo);
@@ -150,6 +163,10 @@ public final class BindAccessibilityServicePermission extends SpecialPermission
                                            @NonNull List<PermissionManifestInfo> permissionInfoList,
                                            @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
+        if (!manifestInfo.isComponentInfoAvailable()) {
+            // The components could not be parsed, nothing to check them against
+            return;
+        }
 
         List<ServiceManifestInfo> serviceInfoList = manifestInfo.serviceInfoList;
         for (ServiceManifestInfo serviceInfo : serviceInfoList) {
@@ -223,4 +240,10 @@ public final class BindAccessibilityServicePermission extends SpecialPermission
     public String getAccessibilityServiceClassName() {
         return mAccessibilityServiceClassName;
     }
+
+    @NonNull
+    @Override
+    public String getPermissionParameters() {
+        return mAccessibilityServiceClassName;
+    }
 }
@@ -86,12 +86,7 @@ public final class BindDeviceAdminPermission extends SpecialPermission {
 
     @Override
     public boolean isGrantedPermission(@NonNull Context context, boolean skipRequest) {
-        DevicePolicyManager devicePolicyManager;
-        if (PermissionVersion.isAndroid6()) {
-            devicePolicyManager = context.getSystemService(DevicePolicyManager.class);
-        } else {
-            devicePolicyManager = (DevicePolicyManager) context.getSystemService(Context.DEVICE_POLICY_SERVICE);
-        }
+        DevicePolicyManager devicePolicyManager = getPermissionEnvironment().getSystemService(context, DevicePolicyManager.class);
         // Even though this SystemService should never be null,
         // defensive programming is applied here just in case.
         if (devicePolicyManager == null) {
@@ -117,6 +112,11 @@ public final class BindDeviceAdminPermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     public void checkCompliance(@NonNull Activity activity, @NonNull List<IPermission> requestList, @Nullable AndroidManifestInfo manifestInfo) {
         super.checkCompliance(activity, requestList, manifestInfo);
@@ -135,6 +135,10 @@ public final class BindDeviceAdminPermission extends SpecialPermission {
                                            @NonNull List<PermissionManifestInfo> permissionInfoList,
                                            @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
+        if (!manifestInfo.isComponentInfoAvailable()) {
+            // The components could not be parsed, nothing to check them against
+            return;
+        }
 
         List<BroadcastReceiverManifestInfo> receiverInfoList = manifestInfo.receiverInfoList;
         for (BroadcastReceiverManifestInfo receiverInfo : receiverInfoList) {
@@ -213,4 +217,13 @@ public final class BindDeviceAdminPermission extends SpecialPermission {
     public String getExtraAddExplanation() {
         return mExtraAddExplanation;
     }
+
+    @NonNull
+    @Override
+    public String getPermissionParameters() {
+        if (mExtraAddExplanation == null) {
+            return mDeviceAdminReceiverClassName;
+        }
+        return mDeviceAdminReceiverClassName + "\n" + mExtraAddExplanation;
+    }
 }
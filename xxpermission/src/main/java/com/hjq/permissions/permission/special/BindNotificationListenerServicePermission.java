@@ -16,12 +16,14 @@ import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.manifest.node.IntentFilterManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
 import com.hjq.permissions.manifest.node.ServiceManifestInfo;
+import com.hjq.permissions.permission.PermissionChangeSignal;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionUtils;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -95,19 +97,14 @@ public final class BindNotificationListenerServicePermission extends SpecialPerm
         if (!PermissionVersion.isAndroid4_3()) {
             return true;
         }
-        NotificationManager notificationManager;
-        if (PermissionVersion.isAndroid6()) {
-            notificationManager = context.getSystemService(NotificationManager.class);
-        } else {
-            notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
-        }
+        NotificationManager notificationManager = getPermissionEnvironment().getSystemService(context, NotificationManager.class);
         String serviceClassName = PermissionUtils.isClassExist(mNotificationListenerServiceClassName) ?
                 mNotificationListenerServiceClassName : null;
         // Even though this SystemService should never be null, we use defensive programming just in case.
         if (PermissionVersion.isAndroid8_1() && notificationManager != null && serviceClassName != null) {
             return notificationManager.isNotificationListenerAccessGranted(new ComponentName(context, serviceClassName));
         }
-        final String enabledNotificationListeners = Settings.Secure.getString(context.getContentResolver(), SETTING_ENABLED_NOTIFICATION_LISTENERS);
+        final String enabledNotificationListeners = getPermissionEnvironment().getSecureString(context, SETTING_ENABLED_NOTIFICATION_LISTENERS);
         if (TextUtils.isEmpty(enabledNotificationListeners)) {
             return false;
         }
@@ -135,6 +132,16 @@ public final class BindNotificationListenerServicePermission extends SpecialPerm
         return false;
     }
 
+    @NonNull
+    @Override
+    public List<PermissionChangeSignal> getPermissionChangeSignals(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid4_3()) {
+            return PermissionChangeSignal.RESUME_ONLY;
+        }
+        // NotificationManager.isNotificationListenerAccessGranted also reads this setting
+        return Collections.singletonList(PermissionChangeSignal.ofUri(Settings.Secure.getUriFor(SETTING_ENABLED_NOTIFICATION_LISTENERS)));
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -164,6 +171,11 @@ public final class BindNotificationListenerServicePermission extends SpecialPerm
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     public void checkCompliance(@NonNull Activity activity, @NonNull List<IPermission> requestList, @Nullable AndroidManifestInfo manifestInfo) {
         super.checkCompliance(activity, requestList, manifestInfo);
@@ -182,6 +194,10 @@ public final class BindNotificationListenerServicePermission extends SpecialPerm
                                            @NonNull List<PermissionManifestInfo> permissionInfoList,
                                            @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
+        if (!manifestInfo.isComponentInfoAvailable()) {
+            // The components could not be parsed, nothing to check them against
+            return;
+        }
 
         List<ServiceManifestInfo> serviceInfoList = manifestInfo.serviceInfoList;
         for (ServiceManifestInfo serviceInfo : serviceInfoList) {
@@ -239,4 +255,10 @@ public final class BindNotificationListenerServicePermission extends SpecialPerm
     public String getNotificationListenerServiceClassName() {
         return mNotificationListenerServiceClassName;
     }
+
+    @NonNull
+    @Override
+    public String getPermissionParameters() {
+        return mNotificationListenerServiceClassName;
+    }
 }
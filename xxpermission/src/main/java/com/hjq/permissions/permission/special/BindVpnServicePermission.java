@@ -8,7 +8,7 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.tools.DeviceProfile;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.manifest.node.IntentFilterManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
@@ -68,7 +68,7 @@ public final class BindVpnServicePermission extends SpecialPermission {
     @Override
     public PermissionPageType getPermissionPageType(@NonNull Context context) {
         // On OPPO systems with Android 15 and above, the VPN permission is an opaque Activity page
-        if (DeviceOs.isColorOs() && PermissionVersion.isAndroid15()) {
+        if (DeviceProfile.get().isColorOs() && PermissionVersion.isAndroid15()) {
             return PermissionPageType.OPAQUE_ACTIVITY;
         }
         return VpnService.prepare(context) != null ? PermissionPageType.TRANSPARENT_ACTIVITY : PermissionPageType.OPAQUE_ACTIVITY;
@@ -93,6 +93,12 @@ public final class BindVpnServicePermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        // VpnService.prepare returns null once the app is the prepared VPN, so the chain follows the grant state
+        return false;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                            @NonNull List<IPermission> requestList,
@@ -100,6 +106,10 @@ public final class BindVpnServicePermission extends SpecialPermission {
                                            @NonNull List<PermissionManifestInfo> permissionInfoList,
                                            @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
+        if (!manifestInfo.isComponentInfoAvailable()) {
+            // The components could not be parsed, nothing to check them against
+            return;
+        }
         // Check whether any Service class is registered with the attribute android:permission="android.permission.BIND_VPN_SERVICE"
         List<ServiceManifestInfo> serviceInfoList = manifestInfo.serviceInfoList;
         for (int i = 0; i < serviceInfoList.size(); i++) {
@@ -113,6 +113,11 @@ public final class ManageExternalStoragePermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected boolean isRegisterPermissionByManifestFile() {
         // Indicates that this permission needs to be statically registered in the AndroidManifest.xml file
@@ -13,11 +13,13 @@ import androidx.annotation.Nullable;
 import android.text.TextUtils;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
+import com.hjq.permissions.permission.PermissionChangeSignal;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -92,7 +94,7 @@ public final class NotificationServicePermission extends SpecialPermission {
             return checkOpPermission(context, OP_POST_NOTIFICATION_FIELD_NAME, OP_POST_NOTIFICATION_DEFAULT_VALUE, true);
         }
 
-        NotificationManager notificationManager = context.getSystemService(NotificationManager.class);
+        NotificationManager notificationManager = getPermissionEnvironment().getSystemService(context, NotificationManager.class);
         // Although this SystemService is never null, we still do defensive programming just in case
         if (notificationManager == null) {
             return checkOpPermission(context, OP_POST_NOTIFICATION_FIELD_NAME, OP_POST_NOTIFICATION_DEFAULT_VALUE, true);
@@ -107,6 +109,21 @@ public final class NotificationServicePermission extends SpecialPermission {
         return notificationChannel != null && notificationChannel.getImportance() != NotificationManager.IMPORTANCE_NONE;
     }
 
+    @NonNull
+    @Override
+    public List<PermissionChangeSignal> getPermissionChangeSignals(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid9()) {
+            return PermissionChangeSignal.RESUME_ONLY;
+        }
+        if (TextUtils.isEmpty(mChannelId)) {
+            return Collections.singletonList(PermissionChangeSignal.ofBroadcast(NotificationManager.ACTION_APP_BLOCK_STATE_CHANGED));
+        }
+        List<PermissionChangeSignal> signalList = new ArrayList<>(2);
+        signalList.add(PermissionChangeSignal.ofBroadcast(NotificationManager.ACTION_APP_BLOCK_STATE_CHANGED));
+        signalList.add(PermissionChangeSignal.ofBroadcast(NotificationManager.ACTION_NOTIFICATION_CHANNEL_BLOCK_STATE_CHANGED));
+        return signalList;
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -117,7 +134,7 @@ public final class NotificationServicePermission extends SpecialPermission {
             intent = new Intent(Settings.ACTION_CHANNEL_NOTIFICATION_SETTINGS);
             // Add the app’s package name parameter
             intent.putExtra(Settings.EXTRA_APP_PACKAGE, context.getPackageName());
-            NotificationManager notificationManager = context.getSystemService(NotificationManager.class);
+            NotificationManager notificationManager = getPermissionEnvironment().getSystemService(context, NotificationManager.class);
             NotificationChannel notificationChannel = null;
             // Although this SystemService is never null, we still do defensive programming just in case
             if (notificationManager != null && !TextUtils.isEmpty(mChannelId)) {
@@ -171,6 +188,12 @@ public final class NotificationServicePermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        // The channel page is only in the chain while the channel exists and notifications are enabled
+        return TextUtils.isEmpty(mChannelId);
+    }
+
     @Nullable
     public String getChannelId() {
         return mChannelId;
@@ -191,4 +214,11 @@ public final class NotificationServicePermission extends SpecialPermission {
             checkPermissionRegistrationStatus(postNotificationsPermission, PermissionNames.POST_NOTIFICATIONS, PermissionManifestInfo.DEFAULT_MAX_SDK_VERSION);
         }
     }
+
+    @Nullable
+    @Override
+    public String getPermissionParameters() {
+        // The same permission bound to a different notification channel leads to a different page
+        return mChannelId;
+    }
 }
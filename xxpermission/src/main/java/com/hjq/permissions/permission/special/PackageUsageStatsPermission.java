@@ -7,10 +7,12 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import android.provider.Settings;
 import androidx.annotation.NonNull;
+import com.hjq.permissions.permission.PermissionChangeSignal;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -68,6 +70,15 @@ public final class PackageUsageStatsPermission extends SpecialPermission {
         return checkOpPermission(context, AppOpsManager.OPSTR_GET_USAGE_STATS, false);
     }
 
+    @NonNull
+    @Override
+    public List<PermissionChangeSignal> getPermissionChangeSignals(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid5()) {
+            return PermissionChangeSignal.RESUME_ONLY;
+        }
+        return Collections.singletonList(PermissionChangeSignal.ofAppOps(AppOpsManager.OPSTR_GET_USAGE_STATS));
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -93,6 +104,11 @@ public final class PackageUsageStatsPermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected boolean isRegisterPermissionByManifestFile() {
         // Indicates that this permission needs to be statically registered in the AndroidManifest.xml file
@@ -11,11 +11,13 @@ import androidx.annotation.Nullable;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.manifest.node.ActivityManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
+import com.hjq.permissions.permission.PermissionChangeSignal;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -73,6 +75,15 @@ public final class PictureInPicturePermission extends SpecialPermission {
         return checkOpPermission(context, AppOpsManager.OPSTR_PICTURE_IN_PICTURE, true);
     }
 
+    @NonNull
+    @Override
+    public List<PermissionChangeSignal> getPermissionChangeSignals(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid8()) {
+            return PermissionChangeSignal.RESUME_ONLY;
+        }
+        return Collections.singletonList(PermissionChangeSignal.ofAppOps(AppOpsManager.OPSTR_PICTURE_IN_PICTURE));
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -107,6 +118,11 @@ public final class PictureInPicturePermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected void checkSelfByManifestFile(@NonNull Activity activity,
                                            @NonNull List<IPermission> requestList,
@@ -114,6 +130,10 @@ public final class PictureInPicturePermission extends SpecialPermission {
                                            @NonNull List<PermissionManifestInfo> permissionInfoList,
                                            @Nullable PermissionManifestInfo currentPermissionInfo) {
         super.checkSelfByManifestFile(activity, requestList, manifestInfo, permissionInfoList, currentPermissionInfo);
+        if (!manifestInfo.isComponentInfoAvailable()) {
+            // The components could not be parsed, nothing to check them against
+            return;
+        }
         List<ActivityManifestInfo> activityInfoList = manifestInfo.activityInfoList;
         for (int i = 0; i < activityInfoList.size(); i++) {
             boolean supportsPictureInPicture = activityInfoList.get(i).supportsPictureInPicture;
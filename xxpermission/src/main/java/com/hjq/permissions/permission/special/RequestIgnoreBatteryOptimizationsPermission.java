@@ -7,13 +7,15 @@ import android.os.Parcel;
 import android.os.PowerManager;
 import android.provider.Settings;
 import androidx.annotation.NonNull;
-import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.permission.PermissionChangeSignal;
+import com.hjq.permissions.tools.DeviceProfile;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.PermissionPageType;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionUtils;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -44,6 +46,9 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
         }
     };
 
+    /** PowerManager.ACTION_POWER_SAVE_WHITELIST_CHANGED (hidden API, delivered to registered receivers only) */
+    private static final String ACTION_POWER_SAVE_WHITELIST_CHANGED = "android.os.action.POWER_SAVE_WHITELIST_CHANGED";
+
     public RequestIgnoreBatteryOptimizationsPermission() {
         // default implementation ignored
     }
@@ -64,11 +69,11 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
     public PermissionPageType getPermissionPageType(@NonNull Context context) {
         // On Android 10, Xiaomi devices still used Google's native page for this special permission
         // However, starting from Android 11, Xiaomi replaced it with their own customized page
-        if (PermissionVersion.isAndroid11() && (DeviceOs.isHyperOs() || DeviceOs.isMiui())) {
+        if (PermissionVersion.isAndroid11() && (DeviceProfile.get().isHyperOs() || DeviceProfile.get().isMiui())) {
             return PermissionPageType.OPAQUE_ACTIVITY;
         }
         // On OPPO devices with Android 15 and above, this permission page is an opaque Activity
-        if (DeviceOs.isColorOs() && PermissionVersion.isAndroid15()) {
+        if (DeviceProfile.get().isColorOs() && PermissionVersion.isAndroid15()) {
             return PermissionPageType.OPAQUE_ACTIVITY;
         }
         if (PermissionVersion.isAndroid6() && !isGrantedPermission(context)) {
@@ -91,7 +96,7 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
         if (!PermissionVersion.isAndroid6()) {
             return true;
         }
-        PowerManager powerManager = context.getSystemService(PowerManager.class);
+        PowerManager powerManager = getPermissionEnvironment().getSystemService(context, PowerManager.class);
         // Although this SystemService is never null, still apply defensive programming just in case
         if (powerManager == null) {
             return false;
@@ -100,6 +105,15 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
     }
 
     @SuppressLint("BatteryLife")
+    @NonNull
+    @Override
+    public List<PermissionChangeSignal> getPermissionChangeSignals(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid6()) {
+            return PermissionChangeSignal.RESUME_ONLY;
+        }
+        return Collections.singletonList(PermissionChangeSignal.ofBroadcast(ACTION_POWER_SAVE_WHITELIST_CHANGED));
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -114,7 +128,7 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
             //   Otherwise, it opens but immediately finishes, giving the illusion that no page was shown.
             // - On HyperOS, even if granted, it can still open; but on MIUI and stock Android, it cannot.
             // Therefore, exclude HyperOS from this check.
-            if (isGrantedPermission(context, skipRequest) && !DeviceOs.isHyperOs()) {
+            if (isGrantedPermission(context, skipRequest) && !DeviceProfile.get().isHyperOs()) {
                 requestIgnoreBatteryOptimizationsIntent = null;
             }
         }
@@ -135,7 +149,7 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
 
         // On Android 10, Xiaomi used the Google native page,
         // but starting from Android 11, Xiaomi replaced it with their own customized page
-        if (skipRequest && !(PermissionVersion.isAndroid11() && (DeviceOs.isHyperOs() || DeviceOs.isMiui()))) {
+        if (skipRequest && !(PermissionVersion.isAndroid11() && (DeviceProfile.get().isHyperOs() || DeviceProfile.get().isMiui()))) {
             if (advancedPowerUsageDetailIntent != null) {
                 intentList.add(advancedPowerUsageDetailIntent);
             }
@@ -161,7 +175,7 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
         // Based on testing, MIUI and HyperOS support setting this permission on the app details page:
         // 1. MIUI: App Details -> Power Saving Strategy
         // 2. HyperOS: App Details -> Power Consumption
-        if (DeviceOs.isHyperOs() || DeviceOs.isMiui()) {
+        if (DeviceProfile.get().isHyperOs() || DeviceProfile.get().isMiui()) {
             intent = getApplicationDetailsSettingIntent(context);
             intentList.add(intent);
 
@@ -178,6 +192,12 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        // The request page is left out of the chain once the permission is granted
+        return false;
+    }
+
     @Override
     public int getResultWaitTime(@NonNull Context context) {
         if (!isSupportRequestPermission(context)) {
@@ -186,7 +206,7 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
 
         // Default wait time for Xiaomi devices
         final int xiaomiPhoneDefaultWaitTime = 1000;
-        if (DeviceOs.isHyperOs()) {
+        if (DeviceProfile.get().isHyperOs()) {
             // Tested cases:
             // 1. HyperOS 2.0.112.0, Android 15, Xiaomi 14 → 200 ms is fine
             // 2. HyperOS 2.0.8.0, Android 15, Xiaomi 12S Pro → 200 ms is fine
@@ -204,7 +224,7 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
             }
 
             if (PermissionVersion.isAndroid14()) {
-                int osBigVersionCode = DeviceOs.getOsBigVersionCode();
+                int osBigVersionCode = DeviceProfile.get().getOsBigVersionCode();
                 // If the big version number is not available or < 2, fall back to Xiaomi default wait time
                 if (osBigVersionCode < 2) {
                     return xiaomiPhoneDefaultWaitTime;
@@ -215,7 +235,7 @@ public final class RequestIgnoreBatteryOptimizationsPermission extends SpecialPe
             return xiaomiPhoneDefaultWaitTime;
         }
 
-        if (DeviceOs.isMiui() && PermissionVersion.isAndroid11()) {
+        if (DeviceProfile.get().isMiui() && PermissionVersion.isAndroid11()) {
             // On Xiaomi devices with Android 11+, requesting this permission requires 1000 ms to detect (800 ms is not enough).
             // On Android 10, Xiaomi still used Google’s native page.
             // On Android 11+, Xiaomi replaced it with their own customized page.
@@ -98,6 +98,11 @@ public final class RequestInstallPackagesPermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected boolean isRegisterPermissionByManifestFile() {
         // Indicates that this permission must be statically registered in the AndroidManifest.xml file
@@ -12,11 +12,13 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.manifest.AndroidManifestInfo;
 import com.hjq.permissions.manifest.node.PermissionManifestInfo;
+import com.hjq.permissions.permission.PermissionChangeSignal;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -71,7 +73,7 @@ public final class ScheduleExactAlarmPermission extends SpecialPermission {
         if (!PermissionVersion.isAndroid12()) {
             return true;
         }
-        AlarmManager alarmManager = context.getSystemService(AlarmManager.class);
+        AlarmManager alarmManager = getPermissionEnvironment().getSystemService(context, AlarmManager.class);
         // Although this SystemService is never null, still apply defensive programming just in case
         if (alarmManager == null) {
             return false;
@@ -79,6 +81,16 @@ public final class ScheduleExactAlarmPermission extends SpecialPermission {
         return alarmManager.canScheduleExactAlarms();
     }
 
+    @NonNull
+    @Override
+    public List<PermissionChangeSignal> getPermissionChangeSignals(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid12()) {
+            return PermissionChangeSignal.RESUME_ONLY;
+        }
+        // Only sent when the permission is granted, revoking it kills the process
+        return Collections.singletonList(PermissionChangeSignal.ofBroadcast(AlarmManager.ACTION_SCHEDULE_EXACT_ALARM_PERMISSION_STATE_CHANGED));
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -110,6 +122,11 @@ public final class ScheduleExactAlarmPermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected boolean isRegisterPermissionByManifestFile() {
         // Do not use the parent class’s method to check whether the manifest permission is registered.
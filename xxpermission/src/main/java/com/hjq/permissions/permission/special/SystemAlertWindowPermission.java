@@ -1,17 +1,20 @@
 package com.hjq.permissions.permission.special;
 
+import android.app.AppOpsManager;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.provider.Settings;
 import androidx.annotation.NonNull;
-import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.permission.PermissionChangeSignal;
+import com.hjq.permissions.tools.DeviceProfile;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.common.SpecialPermission;
 import com.hjq.permissions.tools.PermissionSettingPage;
 import com.hjq.permissions.tools.PermissionVersion;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -85,6 +88,16 @@ public final class SystemAlertWindowPermission extends SpecialPermission {
         return checkOpPermission(context, OP_SYSTEM_ALERT_WINDOW_FIELD_NAME, OP_SYSTEM_ALERT_WINDOW_DEFAULT_VALUE, true);
     }
 
+    @NonNull
+    @Override
+    public List<PermissionChangeSignal> getPermissionChangeSignals(@NonNull Context context) {
+        if (!PermissionVersion.isAndroid6()) {
+            // Some OEMs replaced the whole overlay mechanism on older versions, the op is not reliable there
+            return PermissionChangeSignal.RESUME_ONLY;
+        }
+        return Collections.singletonList(PermissionChangeSignal.ofAppOps(AppOpsManager.OPSTR_SYSTEM_ALERT_WINDOW));
+    }
+
     @NonNull
     @Override
     public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
@@ -96,8 +109,8 @@ public final class SystemAlertWindowPermission extends SpecialPermission {
             // because the user still needs to go into “Other permissions” to find the overlay option.
             // It’s more straightforward to jump directly to the full overlay permission list.
             // Related Github issue: https://github.com/getActivity/XXPermissions/issues/342
-            if (PermissionVersion.isAndroid11() && !DeviceOs.isHyperOs() &&
-                    (DeviceOs.isMiui() && DeviceOs.isMiuiOptimization())) {
+            if (PermissionVersion.isAndroid11() && !DeviceProfile.get().isHyperOs() &&
+                    (DeviceProfile.get().isMiui() && DeviceProfile.get().isMiuiOptimization())) {
                 // Starting with Android 11, you can’t directly jump to the specific permission page,
                 // only to the list of apps with overlay permissions.
                 // MIUI is more user-friendly and doesn’t block the jump, but other OEMs may prevent it.
@@ -118,7 +131,7 @@ public final class SystemAlertWindowPermission extends SpecialPermission {
 
             // Note: No need to check for HarmonyOS. On HarmonyOS 2.0 the API level is reported as 29 (Android 10),
             // so it will follow the Android 10+ logic above, not this branch.
-            if (DeviceOs.isEmui()) {
+            if (DeviceProfile.get().isEmui()) {
                 // EMUI history: http://www.360doc.com/content/19/1017/10/9113704_867381705.shtml
                 // Huawei EMUI versions overview: https://blog.csdn.net/weixin_39959369/article/details/117351161
 
@@ -130,10 +143,7 @@ public final class SystemAlertWindowPermission extends SpecialPermission {
                 // EMUI 3.0 adaptation (e.g., Huawei Maimang 3S Android 4.4)
                 notificationManagementActivityIntent.setClassName("com.huawei.systemmanager", "com.huawei.notificationmanager.ui.NotificationManagmentActivity");
 
-                // Get manufacturer OS version
-                String osVersionName = DeviceOs.getOsVersionName();
-
-                if (osVersionName.startsWith("3.0")) {
+                if (DeviceProfile.get().isEmuiVersion3_0()) {
                     // EMUI 3.0, 3.0.1
                     intentList.add(notificationManagementActivityIntent);
                     intentList.add(addViewMonitorActivityIntent);
@@ -146,12 +156,12 @@ public final class SystemAlertWindowPermission extends SpecialPermission {
                 // Huawei Mobile Manager main page
                 intentList.addAll(PermissionSettingPage.getHuaWeiMobileManagerAppIntent(context));
 
-            } else if (DeviceOs.isMiui()) {
+            } else if (DeviceProfile.get().isMiui()) {
 
                 // If MIUI optimization is disabled, skip this logic.
                 // Xiaomi phones can also enable overlay permission from the app details page
                 // (it just requires one more step).
-                if (DeviceOs.isMiuiOptimization()) {
+                if (DeviceProfile.get().isMiuiOptimization()) {
                     intent = PermissionSettingPage.getXiaoMiApplicationPermissionPageIntent(context);
                     intentList.add(intent);
                 }
@@ -159,7 +169,7 @@ public final class SystemAlertWindowPermission extends SpecialPermission {
                 // Xiaomi Mobile Manager main page
                 intentList.addAll(PermissionSettingPage.getXiaoMiMobileManagerAppIntent(context));
 
-            } else if (DeviceOs.isColorOs()) {
+            } else if (DeviceProfile.get().isColorOs()) {
                 // com.color.safecenter was the old OPPO security center package, later changed to com.oppo.safe in ColorOS 2.1.
                 // Tested devices: OPPO R7 Plus (Android 5.0, ColorOS 2.1), OPPO R7s (Android 4.4, ColorOS 2.1).
                 // Direct overlay activity intents caused SecurityException, so instead we jump to higher-level settings pages.
@@ -170,17 +180,17 @@ public final class SystemAlertWindowPermission extends SpecialPermission {
 
                 intentList.addAll(PermissionSettingPage.getOppoSafeCenterAppIntent(context));
 
-            } else if (DeviceOs.isFuntouchOs()) {
+            } else if (DeviceProfile.get().isFuntouchOs()) {
                 // Direct overlay activity intents caused SecurityException on vivo devices.
                 // On vivo X7 Plus (Android 5.1) it jumped but displayed a blank page.
                 // So we fallback to opening the Vivo Mobile Manager main page.
                 intentList.addAll(PermissionSettingPage.getVivoMobileManagerAppIntent(context));
 
-            } else if (DeviceOs.isOneUi()) {
+            } else if (DeviceProfile.get().isOneUi()) {
                 intent = PermissionSettingPage.getOneUiPermissionPageIntent(context);
                 intentList.add(intent);
 
-            } else if (DeviceOs.isSmartisanOs() && !PermissionVersion.isAndroid5_1()) {
+            } else if (DeviceProfile.get().isSmartisanOs() && !PermissionVersion.isAndroid5_1()) {
                 // On SmartisanOS 5.1+, overlay can be enabled directly from app details.
                 // On versions below 5.1 (e.g., Android 4.4), must open the Security Center instead.
                 intentList.addAll(PermissionSettingPage.getSmartisanPermissionPageIntent());
@@ -207,6 +217,11 @@ public final class SystemAlertWindowPermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected boolean isRegisterPermissionByManifestFile() {
         // Indicates that this permission must be statically registered in the AndroidManifest.xml file
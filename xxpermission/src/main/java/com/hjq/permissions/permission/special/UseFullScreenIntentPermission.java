@@ -8,7 +8,7 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import android.provider.Settings;
 import androidx.annotation.NonNull;
-import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.tools.DeviceProfile;
 import com.hjq.permissions.permission.PermissionNames;
 import com.hjq.permissions.permission.base.IPermission;
 import com.hjq.permissions.permission.common.SpecialPermission;
@@ -69,7 +69,7 @@ public final class UseFullScreenIntentPermission extends SpecialPermission {
         if (!PermissionVersion.isAndroid14()) {
             return true;
         }
-        NotificationManager notificationManager = context.getSystemService(NotificationManager.class);
+        NotificationManager notificationManager = getPermissionEnvironment().getSystemService(context, NotificationManager.class);
         // Although this SystemService is never null, still apply defensive programming just in case
         if (notificationManager == null) {
             return false;
@@ -91,7 +91,7 @@ public final class UseFullScreenIntentPermission extends SpecialPermission {
 
         // Based on testing, MIUI and HyperOS do not support setting full-screen notification permission in the notification page,
         // but stock Android does.
-        if (DeviceOs.isHyperOs() || DeviceOs.isMiui()) {
+        if (DeviceProfile.get().isHyperOs() || DeviceProfile.get().isMiui()) {
             intent = getAndroidSettingIntent();
             intentList.add(intent);
             return intentList;
@@ -118,6 +118,11 @@ public final class UseFullScreenIntentPermission extends SpecialPermission {
         return intentList;
     }
 
+    @Override
+    public boolean isPermissionSettingIntentsStable(@NonNull Context context) {
+        return true;
+    }
+
     @Override
     protected boolean isRegisterPermissionByManifestFile() {
         // Indicates that this permission must be statically registered in the AndroidManifest.xml file
@@ -7,6 +7,11 @@ import android.content.Intent;
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import com.hjq.permissions.start.StartActivityRouteCache.RouteKey;
+import com.hjq.permissions.start.StartActivityRouteCache.RoutedIntentList;
+import com.hjq.permissions.tools.PermissionLog;
+import com.hjq.permissions.tools.PermissionMetrics;
+import com.hjq.permissions.tools.PermissionMetrics.GlobalCounter;
 import com.hjq.permissions.tools.PermissionSettingPage;
 import com.hjq.permissions.tools.PermissionUtils;
 import java.util.Iterator;
@@ -43,8 +48,37 @@ public final class StartActivityAgent {
     public static void startActivity(@NonNull Context context,
                                      @NonNull IStartActivityDelegate delegate,
                                      @NonNull List<Intent> intentList) {
+        RouteKey routeKey = null;
+        // 列表中的 Intent 是否已经提前解析过
+        boolean resolved = false;
+        if (intentList instanceof RoutedIntentList) {
+            RoutedIntentList routedIntentList = (RoutedIntentList) intentList;
+            routeKey = routedIntentList.getRouteKey();
+            resolved = routedIntentList.isResolved();
+            if (routedIntentList.isCachedRoute()) {
+                Intent routeIntent = routedIntentList.get(0);
+                try {
+                    // 这个 Intent 在记录路由的时候已经跳转成功过，所以不需要再重新生成和解析整个 Intent 列表
+                    delegate.startActivity(routeIntent);
+                    recordStartActivityResult(true, false);
+                    return;
+                } catch (Exception e) {
+                    PermissionLog.log("Start route activity failed: " + routeIntent, e);
+                    PermissionMetrics.increment(GlobalCounter.START_ACTIVITY_FAILURE);
+                    StartActivityRouteCache.removeRoute(routeKey);
+                    intentList = routedIntentList.loadFallbackChain();
+                    resolved = false;
+                }
+            }
+        }
+
+        if (routeKey != null) {
+            // 把之前成功跳转过的 Intent 放到最前面，避免在某些厂商系统上每次都要先经历几次必定失败的跳转
+            StartActivityRouteCache.applyLearnedOrder(context, routeKey, intentList);
+        }
+
         Iterator<Intent> iterator = intentList.iterator();
-        while (iterator.hasNext()) {
+        while (!resolved && iterator.hasNext()) {
             Intent intent = iterator.next();
             if (PermissionUtils.areActivityIntent(context, intent)) {
                 continue;
@@ -53,6 +87,7 @@ public final class StartActivityAgent {
             // 1. 拿不存在的 Intent 去跳转必定是失败的（如果项目适配了 Android 11，需要注意适配软件包可见性的特性）
             // 2. 在 Debug 代码调试的时候，可以很直观看出来有哪些 Intent 是存在的，也可以比较过滤前后的 Intent 列表
             iterator.remove();
+            PermissionMetrics.increment(GlobalCounter.INTENT_UNRESOLVED);
         }
 
         // 当所有的 Intent 都不存在的时候，那么就默认添加一个 Android 系统设置的 Intent，这样写的原因如下：
@@ -63,19 +98,31 @@ public final class StartActivityAgent {
 
         // 由于 Iterator 接口中没有重置索引的方法，所以这里只能重新获取一次 Iterator 对象
         iterator = intentList.iterator();
+        // 是否已经有 Intent 跳转失败过（用于统计兜底 Intent 的跳转情况）
+        boolean alreadyFailed = false;
+        boolean started = false;
         while (iterator.hasNext()) {
             Intent intent = iterator.next();
             if (intent == null) {
                 continue;
             }
+            // 在跳转之前复制一份，因为跳转的时候可能会给 Intent 添加 Flag
+            Intent routeIntent = routeKey != null ? new Intent(intent) : null;
             try {
                 delegate.startActivity(intent);
+                started = true;
+                if (routeIntent != null) {
+                    StartActivityRouteCache.putRoute(context, routeKey, routeIntent);
+                }
                 // 跳转成功，结束循环
                 break;
             } catch (Exception e) {
-                e.printStackTrace();
+                PermissionLog.log("Start activity failed: " + intent, e);
+                PermissionMetrics.increment(GlobalCounter.START_ACTIVITY_FAILURE);
+                alreadyFailed = true;
             }
         }
+        recordStartActivityResult(started, alreadyFailed);
     }
 
     public static void startActivityForResult(@NonNull Activity activity,
@@ -103,8 +150,41 @@ public final class StartActivityAgent {
                                               @NonNull List<Intent> intentList,
                                               @IntRange(from = 1, to = 65535) int requestCode,
                                               @Nullable Runnable ignoreActivityResultCallback) {
+        RouteKey routeKey = null;
+        // 列表中的 Intent 是否已经提前解析过
+        boolean resolved = false;
+        if (intentList instanceof RoutedIntentList) {
+            RoutedIntentList routedIntentList = (RoutedIntentList) intentList;
+            routeKey = routedIntentList.getRouteKey();
+            resolved = routedIntentList.isResolved();
+            if (routedIntentList.isCachedRoute()) {
+                Intent routeIntent = routedIntentList.get(0);
+                try {
+                    // 这个 Intent 在记录路由的时候已经跳转成功过，所以不需要再重新生成和解析整个 Intent 列表
+                    delegate.startActivityForResult(routeIntent, requestCode);
+                    recordStartActivityResult(true, false);
+                    return;
+                } catch (Exception e) {
+                    PermissionLog.log("Start route activity for result failed: " + routeIntent, e);
+                    PermissionMetrics.increment(GlobalCounter.START_ACTIVITY_FAILURE);
+                    StartActivityRouteCache.removeRoute(routeKey);
+                    intentList = routedIntentList.loadFallbackChain();
+                    resolved = false;
+                    // 后面还会再尝试完整的 Intent 列表（至少有一个兜底的 Intent），所以这次失败触发的 onActivityResult 回调需要忽略掉
+                    if (ignoreActivityResultCallback != null) {
+                        ignoreActivityResultCallback.run();
+                    }
+                }
+            }
+        }
+
+        if (routeKey != null) {
+            // 把之前成功跳转过的 Intent 放到最前面，避免在某些厂商系统上每次都要先经历几次必定失败的跳转
+            StartActivityRouteCache.applyLearnedOrder(context, routeKey, intentList);
+        }
+
         Iterator<Intent> iterator = intentList.iterator();
-        while (iterator.hasNext()) {
+        while (!resolved && iterator.hasNext()) {
             Intent intent = iterator.next();
             if (PermissionUtils.areActivityIntent(context, intent)) {
                 continue;
@@ -113,6 +193,7 @@ public final class StartActivityAgent {
             // 1. 拿不存在的 Intent 去跳转必定是失败的（如果项目适配了 Android 11，需要注意适配软件包可见性的特性）
             // 2. 在 Debug 代码调试的时候，可以很直观看出来有哪些 Intent 是存在的，也可以比较过滤前后的 Intent 列表
             iterator.remove();
+            PermissionMetrics.increment(GlobalCounter.INTENT_UNRESOLVED);
         }
 
         // 当所有的 Intent 都不存在的时候，那么就默认添加一个 Android 系统设置的 Intent，这样写的原因如下：
@@ -124,19 +205,30 @@ public final class StartActivityAgent {
 
         // 由于 Iterator 接口中没有重置索引的方法，所以这里只能重新获取一次 Iterator 对象
         iterator = intentList.iterator();
+        // 是否已经有 Intent 跳转失败过（用于统计兜底 Intent 的跳转情况）
+        boolean alreadyFailed = false;
+        boolean started = false;
         while (iterator.hasNext()) {
             Intent intent = iterator.next();
             if (intent == null) {
                 continue;
             }
+            // 在跳转之前复制一份，因为跳转的时候可能会给 Intent 添加 Flag
+            Intent routeIntent = routeKey != null ? new Intent(intent) : null;
             try {
                 delegate.startActivityForResult(intent, requestCode);
+                started = true;
+                if (routeIntent != null) {
+                    StartActivityRouteCache.putRoute(context, routeKey, routeIntent);
+                }
                 // 跳转成功，结束循环
                 break;
             } catch (Exception e) {
                 // android.content.ActivityNotFoundException: No Activity found to handle Intent { act=android.settings.APPLICATION_DETAILS_SETTINGS dat=package:xxx.xxx.xxx }
                 // java.lang.SecurityException: Permission Denial: starting Intent { act=android.settings.MANAGE_UNKNOWN_APP_SOURCES (has data) cmp=xxxx/.xxx }
-                e.printStackTrace();
+                PermissionLog.log("Start activity for result failed: " + intent, e);
+                PermissionMetrics.increment(GlobalCounter.START_ACTIVITY_FAILURE);
+                alreadyFailed = true;
                 // 如果下一个 Intent 不为空才去触发失败结果的回调，这是因为如果下一个 Intent 为空，则证明已经没有下一个 Intent 可以再试了，
                 // 那么就不需要记录这次跳转失败的次数，这样前面 startActivityForResult 失败就会导致系统触发 onActivityResult 回调，形成闭环
                 if (iterator.hasNext() && ignoreActivityResultCallback != null) {
@@ -144,5 +236,16 @@ public final class StartActivityAgent {
                 }
             }
         }
+        recordStartActivityResult(started, alreadyFailed);
+    }
+
+    private static void recordStartActivityResult(boolean started, boolean alreadyFailed) {
+        if (!started) {
+            PermissionMetrics.increment(GlobalCounter.START_ACTIVITY_EXHAUSTED);
+        } else if (alreadyFailed) {
+            PermissionMetrics.increment(GlobalCounter.START_ACTIVITY_FALLBACK_SUCCESS);
+        } else {
+            PermissionMetrics.increment(GlobalCounter.START_ACTIVITY_SUCCESS);
+        }
     }
 }
@@ -0,0 +1,401 @@
+package com.hjq.permissions.start;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.tools.PermissionLog;
+import com.hjq.permissions.tools.PermissionMetrics;
+import com.hjq.permissions.tools.PermissionMetrics.GlobalCounter;
+import com.hjq.permissions.tools.PermissionUtils;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/10/01
+ *    desc   : Routing cache of the settings page Intents.
+ *             The same permissions on the same device always produce the same Intent chain, so once an Intent of the chain
+ *             has been started, the next jump for the same permissions starts it directly: the chain is neither rebuilt
+ *             nor resolved. A route is dropped when starting it fails, and every route is dropped when a package changes.
+ *             The routes are also learned by {@link StartActivityRouteStore}, so that a new process tries the working Intent first.
+ */
+public final class StartActivityRouteCache {
+
+    /** Maximum number of routes kept, the least recently used one is dropped first */
+    private static final int MAX_ROUTE_COUNT = 32;
+
+    private static final Object LOCK = new Object();
+
+    /** Route key -> copy of the Intent that was started, taken before the start (the delegate may add flags to it) */
+    private static final Map<RouteKey, Intent> ROUTE_MAP = new LinkedHashMap<RouteKey, Intent>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RouteKey, Intent> eldest) {
+            return size() > MAX_ROUTE_COUNT;
+        }
+    };
+
+    /** Maximum age of a prepared chain, after it the chain is built again */
+    private static final long PREPARED_CHAIN_TIMEOUT_MILLIS = 60 * 1000;
+
+    /** Chains built and resolved ahead of the jump, each one is taken by the first jump of its route */
+    private static final Map<RouteKey, PreparedChain> PREPARED_CHAIN_MAP = new HashMap<>();
+
+    /** Registered with the first route, drops every route when a package is installed, updated, changed or removed */
+    @Nullable
+    private static BroadcastReceiver sPackageChangeReceiver;
+
+    private static int sHitCount;
+    private static int sMissCount;
+    private static int sFailureCount;
+    private static int sPreparedCount;
+
+    private StartActivityRouteCache() {
+        // default implementation ignored
+    }
+
+    /**
+     * Get the settings page Intent chain of the permissions, through the routing cache.
+     *
+     * @param loader        builds the full chain, only called when there is no route yet
+     */
+    @NonNull
+    public static List<Intent> getIntentChain(@NonNull Context context, @NonNull List<IPermission> permissions,
+                                              boolean skipRequest, @NonNull IntentChainLoader loader) {
+        for (IPermission permission : permissions) {
+            if (!permission.isPermissionSettingIntentsStable(context)) {
+                return loader.loadIntentChain();
+            }
+        }
+        RouteKey routeKey = new RouteKey(permissions, skipRequest);
+        Intent routeIntent;
+        synchronized (LOCK) {
+            routeIntent = ROUTE_MAP.get(routeKey);
+            if (routeIntent != null) {
+                sHitCount++;
+            } else {
+                sMissCount++;
+            }
+        }
+        if (routeIntent == null) {
+            PreparedChain preparedChain = takePreparedChain(routeKey);
+            if (preparedChain != null) {
+                for (int i = 0; i < preparedChain.mUnresolvedCount; i++) {
+                    PermissionMetrics.increment(GlobalCounter.INTENT_UNRESOLVED);
+                }
+                return new RoutedIntentList(routeKey, null, preparedChain.mIntentList, true);
+            }
+            return new RoutedIntentList(routeKey, null, loader.loadIntentChain(), false);
+        }
+        return new RoutedIntentList(routeKey, loader, Collections.singletonList(new Intent(routeIntent)), true);
+    }
+
+    /**
+     * Build and resolve the chain of the permissions ahead of the jump, so that the jump itself does neither
+     * (call it off the main thread, e.g. while the user is still busy with the previous system dialog).
+     */
+    public static void prepareIntentChain(@NonNull Context context, @NonNull List<IPermission> permissions,
+                                          boolean skipRequest, @NonNull IntentChainLoader loader) {
+        for (IPermission permission : permissions) {
+            if (!permission.isPermissionSettingIntentsStable(context)) {
+                // Could be outdated by the time of the jump
+                return;
+            }
+        }
+        StartActivityRouteStore.preload(context);
+        RouteKey routeKey = new RouteKey(permissions, skipRequest);
+        synchronized (LOCK) {
+            if (ROUTE_MAP.containsKey(routeKey) || PREPARED_CHAIN_MAP.containsKey(routeKey)) {
+                return;
+            }
+        }
+        List<Intent> intentList = loader.loadIntentChain();
+        List<Intent> resolvedList = new ArrayList<>(intentList.size());
+        for (Intent intent : intentList) {
+            if (PermissionUtils.areActivityIntent(context, intent)) {
+                resolvedList.add(intent);
+            }
+        }
+        synchronized (LOCK) {
+            long currentTime = SystemClock.elapsedRealtime();
+            Iterator<PreparedChain> iterator = PREPARED_CHAIN_MAP.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isExpired(currentTime)) {
+                    iterator.remove();
+                }
+            }
+            PREPARED_CHAIN_MAP.put(routeKey, new PreparedChain(resolvedList, intentList.size() - resolvedList.size(), currentTime));
+            sPreparedCount++;
+            if (sPackageChangeReceiver == null) {
+                sPackageChangeReceiver = registerPackageChangeReceiver(context.getApplicationContext());
+            }
+        }
+    }
+
+    @Nullable
+    private static PreparedChain takePreparedChain(@NonNull RouteKey routeKey) {
+        synchronized (LOCK) {
+            PreparedChain preparedChain = PREPARED_CHAIN_MAP.remove(routeKey);
+            if (preparedChain == null || preparedChain.isExpired(SystemClock.elapsedRealtime())) {
+                return null;
+            }
+            return preparedChain;
+        }
+    }
+
+    /**
+     * Load the learned routes on the background thread, so that the first jump can already use them.
+     */
+    public static void preloadLearnedRoutes(@NonNull Context context) {
+        StartActivityRouteStore.preload(context);
+    }
+
+    /**
+     * Move the Intent that worked for the route in an earlier process to the front of the chain
+     * (skipped while the learned routes are not loaded yet, see {@link #preloadLearnedRoutes(Context)}).
+     */
+    static void applyLearnedOrder(@NonNull Context context, @NonNull RouteKey routeKey, @NonNull List<Intent> intentList) {
+        try {
+            StartActivityRouteStore.applyLearnedOrder(context, routeKey.getStoreKey(), intentList);
+        } catch (Exception e) {
+            PermissionLog.log("Apply the learned route failed", e);
+        }
+    }
+
+    /**
+     * Remember the Intent of the chain that was started.
+     */
+    static void putRoute(@NonNull Context context, @NonNull RouteKey routeKey, @NonNull Intent routeIntent) {
+        synchronized (LOCK) {
+            ROUTE_MAP.put(routeKey, routeIntent);
+            if (sPackageChangeReceiver == null) {
+                sPackageChangeReceiver = registerPackageChangeReceiver(context.getApplicationContext());
+            }
+        }
+        try {
+            StartActivityRouteStore.learnRoute(context, routeKey.getStoreKey(), routeIntent);
+        } catch (Exception e) {
+            PermissionLog.log("Learn the route failed", e);
+        }
+    }
+
+    /**
+     * Drop a route whose Intent could not be started.
+     */
+    static void removeRoute(@NonNull RouteKey routeKey) {
+        synchronized (LOCK) {
+            ROUTE_MAP.remove(routeKey);
+            sFailureCount++;
+        }
+    }
+
+    @Nullable
+    private static BroadcastReceiver registerPackageChangeReceiver(@NonNull Context context) {
+        BroadcastReceiver receiver = new BroadcastReceiver() {
+
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                synchronized (LOCK) {
+                    ROUTE_MAP.clear();
+                    PREPARED_CHAIN_MAP.clear();
+                }
+            }
+        };
+        IntentFilter intentFilter = new IntentFilter();
+        intentFilter.addAction(Intent.ACTION_PACKAGE_ADDED);
+        intentFilter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+        intentFilter.addAction(Intent.ACTION_PACKAGE_CHANGED);
+        intentFilter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+        intentFilter.addDataScheme("package");
+        try {
+            ContextCompat.registerReceiver(context, receiver, intentFilter, ContextCompat.RECEIVER_NOT_EXPORTED);
+            return receiver;
+        } catch (Exception e) {
+            PermissionLog.log("Register the package change receiver failed", e);
+            return null;
+        }
+    }
+
+    /**
+     * Print the state of the routing cache.
+     */
+    public static void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        synchronized (LOCK) {
+            writer.print(prefix);
+            writer.print("Settings routes (");
+            writer.print(ROUTE_MAP.size());
+            writer.print("): hits=");
+            writer.print(sHitCount);
+            writer.print(" misses=");
+            writer.print(sMissCount);
+            writer.print(" failures=");
+            writer.print(sFailureCount);
+            writer.print(" prepared=");
+            writer.print(sPreparedCount);
+            writer.print(" (pending ");
+            writer.print(PREPARED_CHAIN_MAP.size());
+            writer.println(")");
+            for (Map.Entry<RouteKey, Intent> entry : ROUTE_MAP.entrySet()) {
+                writer.print(prefix);
+                writer.print("  ");
+                writer.print(entry.getKey());
+                writer.print(" -> ");
+                writer.println(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Builds the full settings page Intent chain.
+     */
+    public interface IntentChainLoader {
+
+        @NonNull
+        List<Intent> loadIntentChain();
+    }
+
+    /**
+     * Key of a route: the requested permissions (their parameters included) and whether the request is skipped.
+     */
+    static final class RouteKey {
+
+        /** Identities of the permissions (see {@link PermissionUtils#getPermissionIdentity(IPermission)}) */
+        @NonNull
+        private final List<String> mPermissionIdentities;
+
+        private final boolean mSkipRequest;
+
+        RouteKey(@NonNull List<IPermission> permissions, boolean skipRequest) {
+            // The identities rather than the permissions: the same in every process, see getStoreKey
+            mPermissionIdentities = new ArrayList<>(permissions.size());
+            for (IPermission permission : permissions) {
+                mPermissionIdentities.add(PermissionUtils.getPermissionIdentity(permission));
+            }
+            mSkipRequest = skipRequest;
+        }
+
+        /**
+         * Get the key of the route in {@link StartActivityRouteStore}, the same in every process.
+         */
+        @NonNull
+        String getStoreKey() {
+            // Only built from the permission names and their explicit parameters, which are the same in every process
+            return (mSkipRequest ? "skip:" : "request:") + mPermissionIdentities + "#" + mPermissionIdentities.hashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof RouteKey)) {
+                return false;
+            }
+            RouteKey routeKey = (RouteKey) obj;
+            return mSkipRequest == routeKey.mSkipRequest && mPermissionIdentities.equals(routeKey.mPermissionIdentities);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mPermissionIdentities.hashCode() + (mSkipRequest ? 1 : 0);
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return mPermissionIdentities + (mSkipRequest ? " skipRequest" : "");
+        }
+    }
+
+    /**
+     * Chain built and resolved ahead of the jump.
+     */
+    private static final class PreparedChain {
+
+        /** The Intents of the chain that resolved */
+        @NonNull
+        private final List<Intent> mIntentList;
+
+        /** Number of Intents of the chain that did not resolve */
+        private final int mUnresolvedCount;
+
+        /** Time the chain was prepared at (elapsed realtime) */
+        private final long mPrepareTime;
+
+        private PreparedChain(@NonNull List<Intent> intentList, int unresolvedCount, long prepareTime) {
+            mIntentList = intentList;
+            mUnresolvedCount = unresolvedCount;
+            mPrepareTime = prepareTime;
+        }
+
+        boolean isExpired(long currentTime) {
+            return currentTime - mPrepareTime > PREPARED_CHAIN_TIMEOUT_MILLIS;
+        }
+    }
+
+    /**
+     * Intent chain that knows its route (see {@link StartActivityAgent}).
+     */
+    static final class RoutedIntentList extends ArrayList<Intent> {
+
+        @NonNull
+        private final RouteKey mRouteKey;
+
+        /** Not null when the list only holds the Intent of the route, builds the full chain if it can not be started */
+        @Nullable
+        private final IntentChainLoader mFallbackLoader;
+
+        /** Whether the Intents of the list are known to resolve already */
+        private final boolean mResolved;
+
+        RoutedIntentList(@NonNull RouteKey routeKey, @Nullable IntentChainLoader fallbackLoader,
+                         @NonNull List<Intent> intentList, boolean resolved) {
+            super(intentList);
+            mRouteKey = routeKey;
+            mFallbackLoader = fallbackLoader;
+            mResolved = resolved;
+        }
+
+        @NonNull
+        RouteKey getRouteKey() {
+            return mRouteKey;
+        }
+
+        /**
+         * Whether the Intents of the list are known to resolve already, so they are started without resolving them again.
+         */
+        boolean isResolved() {
+            return mResolved;
+        }
+
+        /**
+         * Whether the list only holds the Intent of the route, which was resolved when it was first started.
+         */
+        boolean isCachedRoute() {
+            return mFallbackLoader != null && size() == 1;
+        }
+
+        /**
+         * Build the full chain, after the Intent of the route could not be started.
+         */
+        @NonNull
+        List<Intent> loadFallbackChain() {
+            List<Intent> intentList = mFallbackLoader != null ? mFallbackLoader.loadIntentChain() : new ArrayList<>();
+            // Mutable, the agent removes the Intents that do not resolve
+            return new ArrayList<>(intentList);
+        }
+    }
+}
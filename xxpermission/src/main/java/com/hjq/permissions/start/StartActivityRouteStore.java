@@ -0,0 +1,173 @@
+package com.hjq.permissions.start;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.tools.PermissionTaskHandler;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/10/02
+ *    desc   : Persistent store of the learned settings routes.
+ *             Remembers across processes which Intent of a chain could be started, so on the OEM builds where the first
+ *             Intents of a chain always fail, the next process tries the working one first. The store is cleared when the
+ *             system build changes, and a learned route is ignored once in a while so that a better Intent is found again.
+ *             The store is never loaded or written on the main thread: until the background thread of the framework has
+ *             loaded it, the main thread tries the chains in their own order instead of waiting for the disk.
+ */
+final class StartActivityRouteStore {
+
+    private static final String PREFERENCES_NAME = "xxpermissions_start_activity_route";
+
+    /** System build the routes were learned on */
+    private static final String KEY_DEVICE_FINGERPRINT = "device_fingerprint";
+
+    /** Age after which a learned route is revalidated by trying the chain in its own order again */
+    private static final long REVALIDATE_INTERVAL_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    /** Maximum number of routes stored, the store is cleared once it is reached */
+    private static final int MAX_ROUTE_COUNT = 64;
+
+    /** Loaded store, null until {@link #getPreferences(Context)} has been called off the main thread */
+    @Nullable
+    private static volatile SharedPreferences sPreferences;
+
+    private StartActivityRouteStore() {
+        // default implementation ignored
+    }
+
+    /**
+     * Load the store on the background thread, if it is not loaded yet.
+     */
+    static void preload(@NonNull Context context) {
+        if (sPreferences != null) {
+            return;
+        }
+        Context applicationContext = context.getApplicationContext();
+        PermissionTaskHandler.sendBackgroundTask(() -> getPreferences(applicationContext));
+    }
+
+    /**
+     * Move the Intent learned for the route to the front of the chain.
+     */
+    static void applyLearnedOrder(@NonNull Context context, @NonNull String storeKey, @NonNull List<Intent> intentList) {
+        if (intentList.size() < 2) {
+            return;
+        }
+        SharedPreferences preferences = sPreferences;
+        if (preferences == null) {
+            if (Looper.myLooper() == Looper.getMainLooper()) {
+                // Not loaded yet: this jump goes without the learned route rather than reading the disk here
+                preload(context);
+                return;
+            }
+            preferences = getPreferences(context);
+        }
+        LearnedRoute learnedRoute = LearnedRoute.parse(preferences.getString(storeKey, null));
+        if (learnedRoute == null || learnedRoute.isExpired()) {
+            // An expired route is not applied, the chain is tried in its own order and the route is learned again
+            return;
+        }
+        for (int i = 1; i < intentList.size(); i++) {
+            Intent intent = intentList.get(i);
+            if (intent != null && learnedRoute.mIntentSignature.equals(getIntentSignature(intent))) {
+                intentList.add(0, intentList.remove(i));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Learn the Intent of the chain that could be started (the store is written on the background thread).
+     */
+    static void learnRoute(@NonNull Context context, @NonNull String storeKey, @NonNull Intent intent) {
+        Context applicationContext = context.getApplicationContext();
+        String intentSignature = getIntentSignature(intent);
+        PermissionTaskHandler.sendBackgroundTask(() -> learnRoute(getPreferences(applicationContext), storeKey, intentSignature));
+    }
+
+    private static void learnRoute(@NonNull SharedPreferences preferences, @NonNull String storeKey, @NonNull String intentSignature) {
+        LearnedRoute learnedRoute = LearnedRoute.parse(preferences.getString(storeKey, null));
+        if (learnedRoute != null && !learnedRoute.isExpired() && learnedRoute.mIntentSignature.equals(intentSignature)) {
+            // Nothing new, the store is not written on every jump
+            return;
+        }
+        SharedPreferences.Editor editor = preferences.edit();
+        if (learnedRoute == null && preferences.getAll().size() > MAX_ROUTE_COUNT) {
+            editor.clear().putString(KEY_DEVICE_FINGERPRINT, Build.FINGERPRINT);
+        }
+        editor.putString(storeKey, new LearnedRoute(intentSignature, System.currentTimeMillis()).toString()).apply();
+    }
+
+    @NonNull
+    private static synchronized SharedPreferences getPreferences(@NonNull Context context) {
+        if (sPreferences == null) {
+            SharedPreferences preferences = context.getApplicationContext().getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+            String deviceFingerprint = Build.FINGERPRINT;
+            if (!deviceFingerprint.equals(preferences.getString(KEY_DEVICE_FINGERPRINT, null))) {
+                // Learned on another system build, whose settings apps may have changed
+                preferences.edit().clear().putString(KEY_DEVICE_FINGERPRINT, deviceFingerprint).apply();
+            }
+            sPreferences = preferences;
+        }
+        return sPreferences;
+    }
+
+    /**
+     * Get what identifies the page an Intent leads to, stable across processes (the extras are left out).
+     */
+    @NonNull
+    private static String getIntentSignature(@NonNull Intent intent) {
+        ComponentName component = intent.getComponent();
+        return intent.getAction() + "|" + intent.getPackage() + "|" +
+                (component != null ? component.flattenToShortString() : null) + "|" + intent.getDataString();
+    }
+
+    private static final class LearnedRoute {
+
+        @NonNull
+        private final String mIntentSignature;
+
+        private final long mLearnTime;
+
+        private LearnedRoute(@NonNull String intentSignature, long learnTime) {
+            mIntentSignature = intentSignature;
+            mLearnTime = learnTime;
+        }
+
+        @Nullable
+        static LearnedRoute parse(@Nullable String value) {
+            if (value == null) {
+                return null;
+            }
+            int index = value.lastIndexOf('\n');
+            if (index < 0) {
+                return null;
+            }
+            try {
+                return new LearnedRoute(value.substring(0, index), Long.parseLong(value.substring(index + 1)));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        boolean isExpired() {
+            long age = System.currentTimeMillis() - mLearnTime;
+            return age < 0 || age > REVALIDATE_INTERVAL_MILLIS;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return mIntentSignature + "\n" + mLearnTime;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.device.compat.DeviceOs;
+import com.hjq.permissions.XXPermissionsConfig;
+import com.hjq.permissions.environment.PermissionEnvironment;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/18
+ *    desc   : Device profile snapshot.
+ *             Holds the OEM system flags, optimization toggles, OS version and known OEM quirks,
+ *             read once per process instead of probing {@link DeviceOs} on every permission check.
+ */
+public final class DeviceProfile {
+
+    /** Profile of the current device (created on first use) */
+    @Nullable
+    private static volatile DeviceProfile sDeviceProfile;
+
+    /**
+     * Get the device profile the permission checks run against (see {@link PermissionEnvironment#getDeviceProfile()}).
+     */
+    @NonNull
+    public static DeviceProfile get() {
+        return XXPermissionsConfig.getPermissionEnvironment().getDeviceProfile();
+    }
+
+    /**
+     * Get the profile of the current device.
+     */
+    @NonNull
+    public static DeviceProfile getByCurrentDevice() {
+        DeviceProfile deviceProfile = sDeviceProfile;
+        if (deviceProfile == null) {
+            // The profile is immutable, so creating it twice on a race is harmless
+            deviceProfile = createByCurrentDevice();
+            sDeviceProfile = deviceProfile;
+        }
+        return deviceProfile;
+    }
+
+    /**
+     * Replace the profile of the current device (e.g. to simulate an OEM system in tests).
+     *
+     * @param deviceProfile         pass null to read the real device again on next use
+     */
+    public static void set(@Nullable DeviceProfile deviceProfile) {
+        sDeviceProfile = deviceProfile;
+    }
+
+    /**
+     * Read a profile from the current device.
+     */
+    @NonNull
+    public static DeviceProfile createByCurrentDevice() {
+        return new Builder()
+                .setMiui(DeviceOs.isMiui())
+                .setMiuiByChina(DeviceOs.isMiuiByChina())
+                .setMiuiOptimization(DeviceOs.isMiuiOptimization())
+                .setHyperOs(DeviceOs.isHyperOs())
+                .setHyperOsByChina(DeviceOs.isHyperOsByChina())
+                .setHyperOsOptimization(DeviceOs.isHyperOsOptimization())
+                .setEmui(DeviceOs.isEmui())
+                .setHarmonyOs(DeviceOs.isHarmonyOs())
+                .setMagicOs(DeviceOs.isMagicOs())
+                .setColorOs(DeviceOs.isColorOs())
+                .setFuntouchOs(DeviceOs.isFuntouchOs())
+                .setOneUi(DeviceOs.isOneUi())
+                .setSmartisanOs(DeviceOs.isSmartisanOs())
+                .setOsVersionName(DeviceOs.getOsVersionName())
+                .setOsBigVersionCode(DeviceOs.getOsBigVersionCode())
+                .build();
+    }
+
+    private final boolean mMiui;
+    private final boolean mMiuiByChina;
+    private final boolean mMiuiOptimization;
+    private final boolean mHyperOs;
+    private final boolean mHyperOsByChina;
+    private final boolean mHyperOsOptimization;
+    private final boolean mEmui;
+    private final boolean mHarmonyOs;
+    private final boolean mMagicOs;
+    private final boolean mColorOs;
+    private final boolean mFuntouchOs;
+    private final boolean mOneUi;
+    private final boolean mSmartisanOs;
+
+    /** OEM system version name, e.g. "2.0.5.0" (empty if unknown) */
+    @NonNull
+    private final String mOsVersionName;
+
+    /** OEM system big version code, e.g. 2 for HyperOS 2.x (0 if unknown) */
+    private final int mOsBigVersionCode;
+
+    /** Whether Xiaomi's dedicated app-permission page is broken (HyperOS 2.0.0.x ~ 2.0.5.x) */
+    private final boolean mHyperOsPermissionPageBroken;
+
+    /** Whether the system is EMUI 3.0 / 3.0.1, whose overlay page lives in the notification manager */
+    private final boolean mEmuiVersion3_0;
+
+    private DeviceProfile(@NonNull Builder builder) {
+        mMiui = builder.mMiui;
+        mMiuiByChina = builder.mMiuiByChina;
+        mMiuiOptimization = builder.mMiuiOptimization;
+        mHyperOs = builder.mHyperOs;
+        mHyperOsByChina = builder.mHyperOsByChina;
+        mHyperOsOptimization = builder.mHyperOsOptimization;
+        mEmui = builder.mEmui;
+        mHarmonyOs = builder.mHarmonyOs;
+        mMagicOs = builder.mMagicOs;
+        mColorOs = builder.mColorOs;
+        mFuntouchOs = builder.mFuntouchOs;
+        mOneUi = builder.mOneUi;
+        mSmartisanOs = builder.mSmartisanOs;
+        mOsVersionName = builder.mOsVersionName != null ? builder.mOsVersionName : "";
+        mOsBigVersionCode = builder.mOsBigVersionCode;
+        mHyperOsPermissionPageBroken = mHyperOs && isHyperOsVersion2_0_0To2_0_5(mOsVersionName);
+        mEmuiVersion3_0 = mEmui && mOsVersionName.startsWith("3.0");
+    }
+
+    public boolean isMiui() {
+        return mMiui;
+    }
+
+    public boolean isMiuiByChina() {
+        return mMiuiByChina;
+    }
+
+    public boolean isMiuiOptimization() {
+        return mMiuiOptimization;
+    }
+
+    public boolean isHyperOs() {
+        return mHyperOs;
+    }
+
+    public boolean isHyperOsByChina() {
+        return mHyperOsByChina;
+    }
+
+    public boolean isHyperOsOptimization() {
+        return mHyperOsOptimization;
+    }
+
+    public boolean isEmui() {
+        return mEmui;
+    }
+
+    public boolean isHarmonyOs() {
+        return mHarmonyOs;
+    }
+
+    public boolean isMagicOs() {
+        return mMagicOs;
+    }
+
+    public boolean isColorOs() {
+        return mColorOs;
+    }
+
+    public boolean isFuntouchOs() {
+        return mFuntouchOs;
+    }
+
+    public boolean isOneUi() {
+        return mOneUi;
+    }
+
+    public boolean isSmartisanOs() {
+        return mSmartisanOs;
+    }
+
+    @NonNull
+    public String getOsVersionName() {
+        return mOsVersionName;
+    }
+
+    public int getOsBigVersionCode() {
+        return mOsBigVersionCode;
+    }
+
+    /**
+     * Whether the system is HyperOS 2.0.0.x ~ 2.0.5.x, where Xiaomi's dedicated app-permission page
+     * shows no dangerous-permission options (fixed in 2.0.6.0, HyperOS 1.0 is not affected).
+     */
+    public boolean isHyperOsPermissionPageBroken() {
+        return mHyperOsPermissionPageBroken;
+    }
+
+    /**
+     * Whether the system is EMUI 3.0 / 3.0.1.
+     */
+    public boolean isEmuiVersion3_0() {
+        return mEmuiVersion3_0;
+    }
+
+    /**
+     * Whether the version name matches 2.0.[0-5].x, equivalent to "^2\.0\.[0-5]\.\d+$" without compiling a regex.
+     */
+    private static boolean isHyperOsVersion2_0_0To2_0_5(@NonNull String osVersionName) {
+        final String prefix = "2.0.";
+        if (!osVersionName.startsWith(prefix) || osVersionName.length() < prefix.length() + 3) {
+            return false;
+        }
+        char patchVersion = osVersionName.charAt(prefix.length());
+        if (patchVersion < '0' || patchVersion > '5' || osVersionName.charAt(prefix.length() + 1) != '.') {
+            return false;
+        }
+        for (int i = prefix.length() + 2; i < osVersionName.length(); i++) {
+            if (!Character.isDigit(osVersionName.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static final class Builder {
+
+        private boolean mMiui;
+        private boolean mMiuiByChina;
+        private boolean mMiuiOptimization;
+        private boolean mHyperOs;
+        private boolean mHyperOsByChina;
+        private boolean mHyperOsOptimization;
+        private boolean mEmui;
+        private boolean mHarmonyOs;
+        private boolean mMagicOs;
+        private boolean mColorOs;
+        private boolean mFuntouchOs;
+        private boolean mOneUi;
+        private boolean mSmartisanOs;
+        @Nullable
+        private String mOsVersionName;
+        private int mOsBigVersionCode;
+
+        public Builder setMiui(boolean miui) {
+            mMiui = miui;
+            return this;
+        }
+
+        public Builder setMiuiByChina(boolean miuiByChina) {
+            mMiuiByChina = miuiByChina;
+            return this;
+        }
+
+        public Builder setMiuiOptimization(boolean miuiOptimization) {
+            mMiuiOptimization = miuiOptimization;
+            return this;
+        }
+
+        public Builder setHyperOs(boolean hyperOs) {
+            mHyperOs = hyperOs;
+            return this;
+        }
+
+        public Builder setHyperOsByChina(boolean hyperOsByChina) {
+            mHyperOsByChina = hyperOsByChina;
+            return this;
+        }
+
+        public Builder setHyperOsOptimization(boolean hyperOsOptimization) {
+            mHyperOsOptimization = hyperOsOptimization;
+            return this;
+        }
+
+        public Builder setEmui(boolean emui) {
+            mEmui = emui;
+            return this;
+        }
+
+        public Builder setHarmonyOs(boolean harmonyOs) {
+            mHarmonyOs = harmonyOs;
+            return this;
+        }
+
+        public Builder setMagicOs(boolean magicOs) {
+            mMagicOs = magicOs;
+            return this;
+        }
+
+        public Builder setColorOs(boolean colorOs) {
+            mColorOs = colorOs;
+            return this;
+        }
+
+        public Builder setFuntouchOs(boolean funtouchOs) {
+            mFuntouchOs = funtouchOs;
+            return this;
+        }
+
+        public Builder setOneUi(boolean oneUi) {
+            mOneUi = oneUi;
+            return this;
+        }
+
+        public Builder setSmartisanOs(boolean smartisanOs) {
+            mSmartisanOs = smartisanOs;
+            return this;
+        }
+
+        public Builder setOsVersionName(@Nullable String osVersionName) {
+            mOsVersionName = osVersionName;
+            return this;
+        }
+
+        public Builder setOsBigVersionCode(int osBigVersionCode) {
+            mOsBigVersionCode = osBigVersionCode;
+            return this;
+        }
+
+        @NonNull
+        public DeviceProfile build() {
+            return new DeviceProfile(this);
+        }
+    }
+}
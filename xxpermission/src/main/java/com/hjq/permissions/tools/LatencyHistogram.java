@@ -0,0 +1,148 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/27
+ *    desc   : Lock-free latency histogram with fixed buckets.
+ *             Recording is a bucket search and two atomic adds, it never allocates.
+ */
+public final class LatencyHistogram {
+
+    /** Upper bounds (inclusive) of the buckets, in milliseconds; the last bucket takes everything above */
+    private static final long[] BUCKET_BOUNDS = {
+            50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 300000
+    };
+
+    /** Bucket counts, then the sum of all the recorded values */
+    @NonNull
+    private final AtomicLongArray mValues = new AtomicLongArray(BUCKET_BOUNDS.length + 2);
+
+    /**
+     * Record a latency.
+     *
+     * @param millis        negative values (e.g. a clock change) are recorded as 0
+     */
+    public void record(long millis) {
+        if (millis < 0) {
+            millis = 0;
+        }
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && millis > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        mValues.incrementAndGet(bucket);
+        mValues.addAndGet(BUCKET_BOUNDS.length + 1, millis);
+    }
+
+    /**
+     * Copy the current values.
+     *
+     * The copy is not atomic across buckets, a value recorded at the same time may be missing from the sum or the count.
+     */
+    @NonNull
+    public Snapshot snapshot() {
+        long[] bucketCounts = new long[BUCKET_BOUNDS.length + 1];
+        long count = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = mValues.get(i);
+            count += bucketCounts[i];
+        }
+        return new Snapshot(bucketCounts, count, mValues.get(BUCKET_BOUNDS.length + 1));
+    }
+
+    /**
+     * Forget every recorded value.
+     */
+    public void reset() {
+        for (int i = 0; i < mValues.length(); i++) {
+            mValues.set(i, 0);
+        }
+    }
+
+    /**
+     * Immutable copy of a histogram
+     */
+    public static final class Snapshot {
+
+        @NonNull
+        private final long[] mBucketCounts;
+
+        private final long mCount;
+
+        private final long mSum;
+
+        Snapshot(@NonNull long[] bucketCounts, long count, long sum) {
+            mBucketCounts = bucketCounts;
+            mCount = count;
+            mSum = sum;
+        }
+
+        public long getCount() {
+            return mCount;
+        }
+
+        public long getSum() {
+            return mSum;
+        }
+
+        /**
+         * Get the mean latency, in milliseconds (0 if nothing was recorded).
+         */
+        public long getMean() {
+            return mCount == 0 ? 0 : mSum / mCount;
+        }
+
+        /**
+         * Get an upper bound of a percentile, in milliseconds: the bound of the bucket the percentile falls in.
+         *
+         * @param percentile        between 0 and 100
+         * @return {@link Long#MAX_VALUE} if it falls in the last (unbounded) bucket, 0 if nothing was recorded
+         */
+        public long getPercentile(double percentile) {
+            if (mCount == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(mCount * Math.min(Math.max(percentile, 0), 100) / 100d);
+            long seen = 0;
+            for (int i = 0; i < mBucketCounts.length; i++) {
+                seen += mBucketCounts[i];
+                if (seen >= rank && seen > 0) {
+                    return i < BUCKET_BOUNDS.length ? BUCKET_BOUNDS[i] : Long.MAX_VALUE;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * Get the number of values per bucket, see {@link #getBucketBounds()}.
+         */
+        @NonNull
+        public long[] getBucketCounts() {
+            return mBucketCounts.clone();
+        }
+
+        /**
+         * Get the upper bounds (inclusive) of the buckets, in milliseconds; there is one more (unbounded) bucket.
+         */
+        @NonNull
+        public static long[] getBucketBounds() {
+            return BUCKET_BOUNDS.clone();
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "count=" + mCount + ", mean=" + getMean() + "ms, p50<=" + formatBound(getPercentile(50)) +
+                    ", p90<=" + formatBound(getPercentile(90)) + ", p99<=" + formatBound(getPercentile(99));
+        }
+
+        @NonNull
+        private static String formatBound(long bound) {
+            return bound == Long.MAX_VALUE ? "inf" : bound + "ms";
+        }
+    }
+}
@@ -6,9 +6,18 @@ import android.content.Intent;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.hjq.permissions.permission.PermissionChannel;
+import com.hjq.permissions.permission.PermissionPageType;
 import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.start.StartActivityRouteCache;
+import com.hjq.permissions.tools.PermissionBudgetGuard.Call;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *    author : Android 轮子哥
@@ -42,6 +51,31 @@ public final class PermissionApi {
         return false;
     }
 
+    /**
+     * Determine whether a permission is granted (measured by the main-thread budget guard).
+     */
+    public static boolean isGrantedPermission(@NonNull Context context, @NonNull IPermission permission) {
+        long beginTime = PermissionBudgetGuard.begin();
+        try {
+            return permission.isGrantedPermission(context);
+        } finally {
+            PermissionBudgetGuard.end(beginTime, permission, Call.IS_GRANTED_PERMISSION);
+        }
+    }
+
+    /**
+     * Get the page type of a permission (measured by the main-thread budget guard).
+     */
+    @NonNull
+    public static PermissionPageType getPermissionPageType(@NonNull Context context, @NonNull IPermission permission) {
+        long beginTime = PermissionBudgetGuard.begin();
+        try {
+            return permission.getPermissionPageType(context);
+        } finally {
+            PermissionBudgetGuard.end(beginTime, permission, Call.GET_PERMISSION_PAGE_TYPE);
+        }
+    }
+
     /**
      * Determine whether all permissions in the list are granted.
      */
@@ -51,7 +85,7 @@ public final class PermissionApi {
         }
 
         for (IPermission permission : permissions) {
-            if (!permission.isGrantedPermission(context)) {
+            if (!isGrantedPermission(context, permission)) {
                 return false;
             }
         }
@@ -65,7 +99,7 @@ public final class PermissionApi {
     public static List<IPermission> getGrantedPermissions(@NonNull Context context, @NonNull List<IPermission> permissions) {
         List<IPermission> grantedList = new ArrayList<>(permissions.size());
         for (IPermission permission : permissions) {
-            if (permission.isGrantedPermission(context)) {
+            if (isGrantedPermission(context, permission)) {
                 grantedList.add(permission);
             }
         }
@@ -78,7 +112,7 @@ public final class PermissionApi {
     public static List<IPermission> getDeniedPermissions(@NonNull Context context, @NonNull List<IPermission> permissions) {
         List<IPermission> deniedList = new ArrayList<>(permissions.size());
         for (IPermission permission : permissions) {
-            if (!permission.isGrantedPermission(context)) {
+            if (!isGrantedPermission(context, permission)) {
                 deniedList.add(permission);
             }
         }
@@ -100,6 +134,19 @@ public final class PermissionApi {
         return false;
     }
 
+    /**
+     * Get the settings Intents of a permission (measured by the main-thread budget guard).
+     */
+    @NonNull
+    private static List<Intent> getPermissionSettingIntents(@NonNull Context context, @NonNull IPermission permission, boolean skipRequest) {
+        long beginTime = PermissionBudgetGuard.begin();
+        try {
+            return permission.getPermissionSettingIntents(context, skipRequest);
+        } finally {
+            PermissionBudgetGuard.end(beginTime, permission, Call.GET_PERMISSION_SETTING_INTENTS);
+        }
+    }
+
     /**
      * Choose the most appropriate settings Intent(s) based on the given permissions.
      */
@@ -110,12 +157,34 @@ public final class PermissionApi {
             return PermissionSettingPage.getCommonPermissionSettingIntent(context);
         }
 
-        // Create a new list to avoid mutating the caller's list.
-        List<IPermission> realPermissions = new ArrayList<>(permissions);
+        // Once an Intent of the chain has been started, later jumps for the same permissions start it directly
+        return StartActivityRouteCache.getIntentChain(context, permissions, skipRequest,
+                () -> findBestPermissionSettingIntent(context, permissions, skipRequest));
+    }
+
+    /**
+     * Build and resolve ahead of time the settings Intent chain that {@link #getBestPermissionSettingIntent(Context, List, boolean)}
+     * will return for the same permissions (call it off the main thread).
+     */
+    public static void prepareBestPermissionSettingIntent(@NonNull Context context, @NonNull List<IPermission> permissions, boolean skipRequest) {
+        if (permissions.isEmpty()) {
+            return;
+        }
+        StartActivityRouteCache.prepareIntentChain(context, permissions, skipRequest,
+                () -> findBestPermissionSettingIntent(context, permissions, skipRequest));
+    }
+
+    /**
+     * Build the settings Intent chain of the given (non-empty) permissions.
+     */
+    @NonNull
+    private static List<Intent> findBestPermissionSettingIntent(@NonNull Context context, @NonNull List<IPermission> permissions, boolean skipRequest) {
+        // Collect the permissions to leave out first, then build the list in one pass (instead of removing from a copy).
+        Set<IPermission> excludePermissions = new HashSet<>();
         for (IPermission permission : permissions) {
             if (permission.getFromAndroidVersion(context) > PermissionVersion.getCurrentVersion()) {
                 // If the permission only appears on higher Android versions, exclude it.
-                realPermissions.remove(permission);
+                excludePermissions.add(permission);
                 continue;
             }
 
@@ -129,66 +198,230 @@ public final class PermissionApi {
             if (oldPermissions != null && !oldPermissions.isEmpty() &&
                     (permission.getPermissionChannel(context) == PermissionChannel.START_ACTIVITY_FOR_RESULT ||
                             containsPermissionByStartActivityForResult(context, oldPermissions))) {
-                realPermissions.removeAll(oldPermissions);
+                excludePermissions.addAll(oldPermissions);
+            }
+        }
+
+        // Group the permissions by the fingerprint of their Intent chain, in request order.
+        Set<IntentChainKey> chainGroups = new LinkedHashSet<>();
+        for (IPermission permission : permissions) {
+            if (excludePermissions.contains(permission)) {
+                continue;
             }
+            chainGroups.add(new IntentChainKey(getPermissionSettingIntents(context, permission, skipRequest)));
         }
 
-        if (realPermissions.isEmpty()) {
+        if (chainGroups.isEmpty()) {
             return PermissionSettingPage.getCommonPermissionSettingIntent(context);
         }
 
-        if (realPermissions.size() == 1) {
-            return realPermissions.get(0).getPermissionSettingIntents(context, skipRequest);
+        if (chainGroups.size() == 1) {
+            // Every permission leads to the same pages.
+            return chainGroups.iterator().next().mIntentList;
         }
 
-        List<Intent> prePermissionIntentList = realPermissions.get(0).getPermissionSettingIntents(context, skipRequest);
-        for (int i = 1; i < realPermissions.size(); i++) {
-            List<Intent> currentPermissionIntentList = realPermissions.get(i).getPermissionSettingIntents(context, skipRequest);
-            // Compare whether these two Intent lists are identical.
-            if (!PermissionUtils.equalsIntentList(currentPermissionIntentList, prePermissionIntentList)) {
-                // Stop if they differ.
-                break;
+        // The chains differ: the pages that every chain shares are tried before the common settings pages,
+        // in the order of the first chain (e.g. a page that manages several of the permissions at once).
+        List<Intent> commonIntentList = PermissionSettingPage.getCommonPermissionSettingIntent(context);
+        List<Intent> sharedIntentList = new ArrayList<>();
+        Iterator<IntentChainKey> iterator = chainGroups.iterator();
+        List<Intent> firstIntentList = iterator.next().mIntentList;
+        for (Intent intent : firstIntentList) {
+            // The common settings pages are added at the end anyway
+            if (!containsIntent(commonIntentList, intent)) {
+                sharedIntentList.add(intent);
+            }
+        }
+        while (iterator.hasNext() && !sharedIntentList.isEmpty()) {
+            List<Intent> intentList = iterator.next().mIntentList;
+            Iterator<Intent> sharedIterator = sharedIntentList.iterator();
+            while (sharedIterator.hasNext()) {
+                if (!containsIntent(intentList, sharedIterator.next())) {
+                    sharedIterator.remove();
+                }
             }
-            // Carry the current list forward to avoid recomputation and improve performance.
-            prePermissionIntentList = currentPermissionIntentList;
+        }
+        sharedIntentList.addAll(commonIntentList);
+        return sharedIntentList;
+    }
 
-            // If all lists are identical, just return the current one.
-            if (i == realPermissions.size() - 1) {
-                return currentPermissionIntentList;
+    /**
+     * Get the page the settings Intent chain of the permissions lands on: the first Intent of the chain (see
+     * {@link #getBestPermissionSettingIntent(Context, List, boolean)}) that resolves on this device. Permissions that
+     * land on the same page (compared like the chains are grouped, see {@link PermissionUtils#equalsIntent(Intent, Intent)})
+     * can be granted in a single visit.
+     * It builds the chain and queries the package manager, call it off the main thread when possible.
+     */
+    @Nullable
+    public static Intent getPermissionSettingDestination(@NonNull Context context, @NonNull List<IPermission> permissions, boolean skipRequest) {
+        if (permissions.isEmpty()) {
+            return null;
+        }
+        for (Intent intent : findBestPermissionSettingIntent(context, permissions, skipRequest)) {
+            if (PermissionUtils.areActivityIntent(context, intent)) {
+                return intent;
             }
         }
-        return PermissionSettingPage.getCommonPermissionSettingIntent(context);
+        return null;
+    }
+
+    /**
+     * Whether the list contains an Intent that leads to the same page (see {@link PermissionUtils#equalsIntent(Intent, Intent)}).
+     */
+    private static boolean containsIntent(@NonNull List<Intent> intentList, @NonNull Intent intent) {
+        for (Intent item : intentList) {
+            if (PermissionUtils.equalsIntent(item, intent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fingerprint of a settings Intent chain: two chains are equal if their Intents lead to the same pages, in the same order.
+     * (package-private for the unit tests)
+     */
+    static final class IntentChainKey {
+
+        @NonNull
+        private final List<Intent> mIntentList;
+
+        private final int mHashCode;
+
+        IntentChainKey(@NonNull List<Intent> intentList) {
+            mIntentList = intentList;
+            int hashCode = 1;
+            for (Intent intent : intentList) {
+                hashCode = 31 * hashCode + PermissionUtils.getIntentHashCode(intent);
+            }
+            mHashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof IntentChainKey)) {
+                return false;
+            }
+            IntentChainKey chainKey = (IntentChainKey) obj;
+            return mHashCode == chainKey.mHashCode && PermissionUtils.equalsIntentList(mIntentList, chainKey.mIntentList);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+    }
+
+    /** Empty permission array, shared by every permission without legacy permissions */
+    private static final IPermission[] EMPTY_PERMISSION_ARRAY = new IPermission[0];
+
+    /**
+     * Legacy permission expansion table of one Android version: permission class -> permission identity -> legacy
+     * permissions to add (see {@link PermissionUtils#getPermissionIdentity(IPermission)})
+     *
+     * The answer only depends on the permission and {@link PermissionVersion#getCurrentVersion()}, so each entry is
+     * computed once and then shared by every request on every thread. The class is part of the key because an app-defined
+     * permission may reuse the name of a framework permission, and the whole table is replaced once the version seen
+     * through {@link com.hjq.permissions.XXPermissionsConfig#setPermissionEnvironment} changes.
+     */
+    private static volatile OldPermissionsTable sOldPermissionsTable = new OldPermissionsTable(0);
+
+    /**
+     * Get the legacy permissions that must be added for a permission on the current Android version.
+     *
+     * @return an empty array if the permission is supported natively or has no legacy permissions
+     */
+    @NonNull
+    public static IPermission[] getOldPermissionsByCurrentVersion(@NonNull Context context, @NonNull IPermission permission) {
+        int currentVersion = PermissionVersion.getCurrentVersion();
+        OldPermissionsTable table = sOldPermissionsTable;
+        if (table.mVersion != currentVersion) {
+            table = new OldPermissionsTable(currentVersion);
+            sOldPermissionsTable = table;
+        }
+        Map<String, IPermission[]> classTable = table.mClassTables.get(permission.getClass());
+        if (classTable == null) {
+            classTable = new ConcurrentHashMap<>();
+            Map<String, IPermission[]> previousTable = table.mClassTables.putIfAbsent(permission.getClass(), classTable);
+            if (previousTable != null) {
+                classTable = previousTable;
+            }
+        }
+        String permissionIdentity = PermissionUtils.getPermissionIdentity(permission);
+        IPermission[] oldPermissions = classTable.get(permissionIdentity);
+        if (oldPermissions != null) {
+            return oldPermissions;
+        }
+        // If the current Android version is >= the permission’s introduction version,
+        // we don’t need to add older permissions for this one.
+        if (currentVersion >= permission.getFromAndroidVersion(context)) {
+            oldPermissions = EMPTY_PERMISSION_ARRAY;
+        } else {
+            List<IPermission> oldPermissionList = permission.getOldPermissions(context);
+            if (oldPermissionList == null || oldPermissionList.isEmpty()) {
+                oldPermissions = EMPTY_PERMISSION_ARRAY;
+            } else {
+                oldPermissions = oldPermissionList.toArray(new IPermission[0]);
+            }
+        }
+        // A concurrent first lookup may compute the same entry twice, which is harmless
+        classTable.put(permissionIdentity, oldPermissions);
+        return oldPermissions;
+    }
+
+    /**
+     * Legacy permission expansion table of one Android version.
+     */
+    private static final class OldPermissionsTable {
+
+        /** Android version the entries were computed for */
+        private final int mVersion;
+
+        @NonNull
+        private final ConcurrentHashMap<Class<?>, Map<String, IPermission[]>> mClassTables = new ConcurrentHashMap<>();
+
+        private OldPermissionsTable(int version) {
+            mVersion = version;
+        }
     }
 
     /**
      * Add legacy (old) permissions based on any newer permissions present.
+     *
+     * @return a new list in the caller's order, with legacy permissions inserted right after their new permission;
+     *         the list passed in is not modified
      */
-    public static synchronized void addOldPermissionsByNewPermissions(@NonNull Context context, @NonNull List<IPermission> requestList) {
-        // Start index at -1 so that ++index is 0 in the first loop iteration.
-        int index = -1;
-        // ++index is pre-increment (increment then use the value).
-        // index++ is post-increment (use the value then increment).
-        while (++index < requestList.size()) {
-            IPermission permission = requestList.get(index);
-            // If the current Android version is >= the permission’s introduction version,
-            // we don’t need to add older permissions for this one.
-            if (PermissionVersion.getCurrentVersion() >= permission.getFromAndroidVersion(context)) {
+    @NonNull
+    public static List<IPermission> addOldPermissionsByNewPermissions(@NonNull Context context, @NonNull List<IPermission> requestList) {
+        List<IPermission> resultList = new ArrayList<>(requestList.size());
+        // Names of every permission in the result, created only once a legacy permission actually has to be added
+        Set<String> permissionNames = null;
+        for (int i = 0; i < requestList.size(); i++) {
+            IPermission permission = requestList.get(i);
+            resultList.add(permission);
+            IPermission[] oldPermissions = getOldPermissionsByCurrentVersion(context, permission);
+            if (oldPermissions.length == 0) {
                 continue;
             }
-            // Lookup the legacy permissions corresponding to this new permission.
-            List<IPermission> oldPermissions = permission.getOldPermissions(context);
-            if (oldPermissions == null || oldPermissions.isEmpty()) {
-                continue;
+            if (permissionNames == null) {
+                permissionNames = new HashSet<>();
+                for (IPermission requestPermission : requestList) {
+                    permissionNames.add(requestPermission.getPermissionName());
+                }
             }
             for (IPermission oldPermission : oldPermissions) {
-                // Skip if it’s already in the request list.
-                if (PermissionUtils.containsPermission(requestList, oldPermission)) {
+                // Skip if it’s already in the request list or has been added by an earlier permission.
+                if (!permissionNames.add(oldPermission.getPermissionName())) {
                     continue;
                 }
                 // Insert right after the new permission to preserve the caller’s order.
-                requestList.add(++index, oldPermission);
+                resultList.add(oldPermission);
             }
         }
+        return resultList;
     }
 
     /**
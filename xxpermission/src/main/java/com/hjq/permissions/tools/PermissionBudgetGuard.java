@@ -0,0 +1,144 @@
+package com.hjq.permissions.tools;
+
+import android.os.Looper;
+import android.view.Choreographer;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/28
+ *    desc   : Main-thread budget guard of the permission calls.
+ *             Times the permission calls made on the main thread (e.g. from a RecyclerView bind) and reports the ones
+ *             over budget, together with their call site and the cost accumulated within the current frame.
+ *             Unlike StrictMode it also sees the binder calls made through system services. Disabled by default,
+ *             meant for debug builds: see {@link com.hjq.permissions.XXPermissions#setMainThreadBudget(long, PermissionBudgetReporter)}.
+ */
+public final class PermissionBudgetGuard {
+
+    /** Measured permission calls */
+    public enum Call {
+
+        IS_GRANTED_PERMISSION("isGrantedPermission"),
+
+        GET_PERMISSION_SETTING_INTENTS("getPermissionSettingIntents"),
+
+        /** Measured when read through {@link PermissionApi#getPermissionPageType(android.content.Context, IPermission)} */
+        GET_PERMISSION_PAGE_TYPE("getPermissionPageType");
+
+        @NonNull
+        private final String mMethodName;
+
+        Call(@NonNull String methodName) {
+            mMethodName = methodName;
+        }
+
+        /**
+         * Get the name of the measured {@link IPermission} method.
+         */
+        @NonNull
+        public String getMethodName() {
+            return mMethodName;
+        }
+    }
+
+    /** Returned by {@link #begin()} when the call is not measured */
+    public static final long NOT_MEASURED = Long.MIN_VALUE;
+
+    /** Budget of a call (and of the calls of one frame), 0 means the guard is disabled */
+    private static volatile long sBudgetNanos;
+
+    @Nullable
+    private static volatile PermissionBudgetReporter sPermissionBudgetReporter;
+
+    /** Time spent in permission calls since the last frame (main thread only) */
+    private static long sFrameCostNanos;
+
+    /** Number of permission calls since the last frame (main thread only) */
+    private static int sFrameCallCount;
+
+    /** Whether the frame callback closing the current frame has been posted (main thread only) */
+    private static boolean sFrameCallbackPosted;
+
+    /** Closes the frame the calls were made in */
+    private static final Choreographer.FrameCallback FRAME_CALLBACK = frameTimeNanos -> onFrameEnd();
+
+    private PermissionBudgetGuard() {
+        // default implementation ignored
+    }
+
+    /**
+     * Enable or disable the guard.
+     *
+     * @param budgetMillis              budget of a call and of the calls of one frame, 0 or less disables the guard
+     * @param permissionBudgetReporter  receives the calls over budget, pass null to disable the guard
+     */
+    public static void setBudget(long budgetMillis, @Nullable PermissionBudgetReporter permissionBudgetReporter) {
+        sPermissionBudgetReporter = permissionBudgetReporter;
+        sBudgetNanos = permissionBudgetReporter != null && budgetMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(budgetMillis) : 0;
+    }
+
+    /**
+     * Whether the guard is enabled.
+     */
+    public static boolean isEnabled() {
+        return sBudgetNanos > 0;
+    }
+
+    /**
+     * Start measuring a permission call, pass the result to {@link #end(long, IPermission, Call)} once it returns.
+     *
+     * @return {@link #NOT_MEASURED} if the guard is disabled or the call is not made on the main thread
+     */
+    public static long begin() {
+        if (sBudgetNanos <= 0 || Looper.myLooper() != Looper.getMainLooper()) {
+            return NOT_MEASURED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Stop measuring a permission call and report it if it is over budget.
+     */
+    public static void end(long beginTime, @NonNull IPermission permission, @NonNull Call call) {
+        if (beginTime == NOT_MEASURED) {
+            return;
+        }
+        long costNanos = System.nanoTime() - beginTime;
+        sFrameCostNanos += costNanos;
+        sFrameCallCount++;
+        if (!sFrameCallbackPosted) {
+            sFrameCallbackPosted = true;
+            Choreographer.getInstance().postFrameCallback(FRAME_CALLBACK);
+        }
+
+        long budgetNanos = sBudgetNanos;
+        PermissionBudgetReporter permissionBudgetReporter = sPermissionBudgetReporter;
+        if (budgetNanos <= 0 || costNanos < budgetNanos || permissionBudgetReporter == null) {
+            return;
+        }
+        // Only allocated for the offenders, the stack trace of a fresh Throwable points at the caller
+        permissionBudgetReporter.onCallOverBudget(permission.getPermissionName(), call,
+                TimeUnit.NANOSECONDS.toMillis(costNanos), TimeUnit.NANOSECONDS.toMillis(sFrameCostNanos),
+                new Throwable("Permission call over the main-thread budget"));
+    }
+
+    private static void onFrameEnd() {
+        long frameCostNanos = sFrameCostNanos;
+        int frameCallCount = sFrameCallCount;
+        sFrameCostNanos = 0;
+        sFrameCallCount = 0;
+        sFrameCallbackPosted = false;
+
+        long budgetNanos = sBudgetNanos;
+        PermissionBudgetReporter permissionBudgetReporter = sPermissionBudgetReporter;
+        // A single call over budget has already been reported on its own
+        if (budgetNanos <= 0 || frameCallCount < 2 || frameCostNanos < budgetNanos || permissionBudgetReporter == null) {
+            return;
+        }
+        permissionBudgetReporter.onFrameOverBudget(TimeUnit.NANOSECONDS.toMillis(frameCostNanos), frameCallCount);
+    }
+}
@@ -0,0 +1,47 @@
+package com.hjq.permissions.tools;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import com.hjq.permissions.tools.PermissionBudgetGuard.Call;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/28
+ *    desc   : Receives the permission calls that blew the main-thread budget (see {@link PermissionBudgetGuard}).
+ */
+public interface PermissionBudgetReporter {
+
+    /** Reporter that writes to Logcat, suitable for debug builds */
+    PermissionBudgetReporter LOGCAT = new PermissionBudgetReporter() {
+
+        @Override
+        public void onCallOverBudget(@NonNull String permissionName, @NonNull Call call, long costMillis,
+                                     long frameCostMillis, @NonNull Throwable callSite) {
+            Log.w("XXPermissions", call.getMethodName() + " of " + permissionName + " took " + costMillis +
+                    "ms on the main thread (" + frameCostMillis + "ms in this frame so far)", callSite);
+        }
+
+        @Override
+        public void onFrameOverBudget(long frameCostMillis, int callCount) {
+            Log.w("XXPermissions", callCount + " permission calls took " + frameCostMillis + "ms on the main thread in one frame");
+        }
+    };
+
+    /**
+     * A single call took longer than the budget.
+     *
+     * @param costMillis            time spent in the call
+     * @param frameCostMillis       time spent in permission calls since the last frame, this call included
+     * @param callSite              captured when the call returned, its stack trace points at the caller
+     */
+    void onCallOverBudget(@NonNull String permissionName, @NonNull Call call, long costMillis,
+                          long frameCostMillis, @NonNull Throwable callSite);
+
+    /**
+     * Several calls within one frame took longer than the budget together, although each of them may be under it.
+     *
+     * @param callCount             number of permission calls made during the frame
+     */
+    void onFrameOverBudget(long frameCostMillis, int callCount);
+}
@@ -10,7 +10,11 @@ import com.hjq.permissions.permission.base.IPermission;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *    author : Android 轮子哥
@@ -21,6 +25,21 @@ import java.util.List;
  */
 public final class PermissionChecker {
 
+    /** Maximum number of request lists remembered as compliant, the set is cleared once it is reached */
+    private static final int COMPLIANT_REQUEST_MAX_COUNT = 128;
+
+    /** Permission classes whose Parcelable implementation has been verified (a class can not change while the process lives) */
+    private static final Set<Class<?>> PARCELABLE_VERIFIED_CLASS_SET = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Request lists that passed the checks, keyed by {@link #generateCompliantRequestKey(Activity, List, AndroidManifestInfo)}
+     *
+     * The result of the checks only depends on the requested permissions, the manifest and the target SDK version,
+     * none of which change while the process lives, so a list that passed once is not checked again.
+     * Lists that failed are never remembered, the failure is thrown on every request.
+     */
+    private static final Set<String> COMPLIANT_REQUEST_SET = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
     /**
      * Check whether the {@link android.app.Activity} is in a valid state.
      */
@@ -73,12 +92,92 @@ public final class PermissionChecker {
             throw new IllegalArgumentException("The requested permission cannot be empty");
         }
 
+        String compliantRequestKey = generateCompliantRequestKey(activity, requestList, manifestInfo);
+        if (COMPLIANT_REQUEST_SET.contains(compliantRequestKey)) {
+            return;
+        }
+
         for (IPermission permission : requestList) {
             // Verify the Parcelable implementation.
             checkPermissionParcelable(permission);
             // Let each permission validate its own compliance.
             permission.checkCompliance(activity, requestList, manifestInfo);
         }
+
+        rememberCompliantRequest(compliantRequestKey);
+    }
+
+    /**
+     * Run the same checks as {@link #checkPermissionList(Activity, List, AndroidManifestInfo)}, but collect the
+     * violations instead of throwing the first one (used by the compliance audit, see {@link PermissionComplianceAudit}).
+     *
+     * @return every violation found, empty if the list is compliant
+     */
+    @NonNull
+    public static List<RuntimeException> auditPermissionList(@NonNull Activity activity, @NonNull List<IPermission> requestList,
+                                                             @Nullable AndroidManifestInfo manifestInfo) {
+        List<RuntimeException> violationList = new ArrayList<>();
+        if (requestList.isEmpty()) {
+            violationList.add(new IllegalArgumentException("The requested permission cannot be empty"));
+            return violationList;
+        }
+
+        String compliantRequestKey = generateCompliantRequestKey(activity, requestList, manifestInfo);
+        if (COMPLIANT_REQUEST_SET.contains(compliantRequestKey)) {
+            return violationList;
+        }
+
+        for (IPermission permission : requestList) {
+            // A permission stops at its first violation, but the other permissions are still checked
+            try {
+                checkPermissionParcelable(permission);
+            } catch (RuntimeException e) {
+                violationList.add(e);
+            }
+            try {
+                permission.checkCompliance(activity, requestList, manifestInfo);
+            } catch (RuntimeException e) {
+                violationList.add(e);
+            }
+        }
+
+        if (violationList.isEmpty()) {
+            rememberCompliantRequest(compliantRequestKey);
+        }
+        return violationList;
+    }
+
+    /**
+     * Remember a request list that passed the checks.
+     */
+    private static void rememberCompliantRequest(@NonNull String compliantRequestKey) {
+        if (COMPLIANT_REQUEST_SET.size() >= COMPLIANT_REQUEST_MAX_COUNT) {
+            COMPLIANT_REQUEST_SET.clear();
+        }
+        COMPLIANT_REQUEST_SET.add(compliantRequestKey);
+    }
+
+    /**
+     * Generate the key of a request list in {@link #COMPLIANT_REQUEST_SET}.
+     *
+     * The Activity class is part of the key because the checks of a permission may look at the Activity it is requested from,
+     * and the permission parameters are part of it because the checks may look at them too (e.g. the channel of a
+     * notification permission, the component of a service binding permission).
+     */
+    @NonNull
+    private static String generateCompliantRequestKey(@NonNull Activity activity, @NonNull List<IPermission> requestList,
+                                                      @Nullable AndroidManifestInfo manifestInfo) {
+        StringBuilder builder = new StringBuilder(requestList.size() * 48);
+        builder.append(activity.getClass().getName())
+                .append('@')
+                .append(System.identityHashCode(manifestInfo));
+        for (IPermission permission : requestList) {
+            builder.append('\n')
+                    .append(permission.getClass().getName())
+                    .append('#')
+                    .append(PermissionUtils.getPermissionIdentity(permission));
+        }
+        return builder.toString();
     }
 
     /**
@@ -86,6 +185,9 @@ public final class PermissionChecker {
      */
     public static void checkPermissionParcelable(@NonNull IPermission permission) {
         Class<? extends IPermission> clazz = permission.getClass();
+        if (PARCELABLE_VERIFIED_CLASS_SET.contains(clazz)) {
+            return;
+        }
         String className = clazz.getName();
 
         // Fetch the CREATOR field.
@@ -93,7 +195,7 @@ public final class PermissionChecker {
         try {
             creatorField = permission.getClass().getDeclaredField("CREATOR");
         } catch (NoSuchFieldException e) {
-            e.printStackTrace();
+            PermissionLog.log(className + " does not define the CREATOR field", e);
         }
 
         if (creatorField == null) {
@@ -152,5 +254,7 @@ public final class PermissionChecker {
             throw new IllegalArgumentException("The newArray method of the CREATOR field in this " + className +
                     " returns an empty value. This method cannot return an empty value");
         }
+
+        PARCELABLE_VERIFIED_CLASS_SET.add(clazz);
     }
 }
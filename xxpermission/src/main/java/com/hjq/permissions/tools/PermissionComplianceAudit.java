@@ -0,0 +1,130 @@
+package com.hjq.permissions.tools;
+
+import android.app.Activity;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.manifest.AndroidManifestInfo;
+import com.hjq.permissions.manifest.AndroidManifestParser;
+import com.hjq.permissions.permission.base.IPermission;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/30
+ *    desc   : Sampled compliance audit for the builds that run without check mode.
+ *             A sampled fraction of the requests is checked on the background thread of the framework (see
+ *             {@link PermissionTaskHandler#sendBackgroundTask(Runnable)}) with the rules of the check mode, every violation
+ *             found is handed to a reporter instead of being thrown. The request never waits for it: when the audits
+ *             fall behind, the ones that do not fit in the queue are dropped.
+ */
+public final class PermissionComplianceAudit {
+
+    /** Maximum number of audits queued or running */
+    private static final int AUDIT_QUEUE_CAPACITY = 8;
+
+    /** Fraction of the requests audited, 0 disables the audit */
+    private static volatile float sSampleRate;
+
+    @Nullable
+    private static volatile PermissionComplianceReporter sReporter;
+
+    /** Number of audits queued or running */
+    private static final AtomicInteger PENDING_COUNT = new AtomicInteger();
+
+    private static final AtomicLong SAMPLED_COUNT = new AtomicLong();
+    private static final AtomicLong DROPPED_COUNT = new AtomicLong();
+    private static final AtomicLong VIOLATION_REQUEST_COUNT = new AtomicLong();
+
+    private PermissionComplianceAudit() {
+        // default implementation ignored
+    }
+
+    /**
+     * Set the sample rate and the reporter of the audit.
+     *
+     * @param sampleRate        fraction of the requests audited, between 0 and 1, 0 disables the audit
+     * @param reporter          pass null to disable the audit
+     */
+    public static void setAudit(float sampleRate, @Nullable PermissionComplianceReporter reporter) {
+        sReporter = reporter;
+        sSampleRate = Math.max(0f, Math.min(sampleRate, 1f));
+    }
+
+    /**
+     * Whether the audit is enabled.
+     */
+    public static boolean isEnabled() {
+        return sReporter != null && sSampleRate > 0f;
+    }
+
+    /**
+     * Audit a request if it falls in the sample, returns immediately.
+     */
+    public static void audit(@NonNull Activity activity, @NonNull List<IPermission> requestList) {
+        PermissionComplianceReporter reporter = sReporter;
+        float sampleRate = sSampleRate;
+        if (reporter == null || sampleRate <= 0f || Math.random() >= sampleRate) {
+            return;
+        }
+        SAMPLED_COUNT.incrementAndGet();
+        if (PENDING_COUNT.incrementAndGet() > AUDIT_QUEUE_CAPACITY) {
+            // The queue is full
+            PENDING_COUNT.decrementAndGet();
+            DROPPED_COUNT.incrementAndGet();
+            return;
+        }
+        // Copied, the request goes on with (and may modify) its own list
+        List<IPermission> auditList = new ArrayList<>(requestList);
+        PermissionTaskHandler.sendBackgroundTask(() -> {
+            try {
+                runAudit(activity, auditList, reporter);
+            } finally {
+                PENDING_COUNT.decrementAndGet();
+            }
+        });
+    }
+
+    private static void runAudit(@NonNull Activity activity, @NonNull List<IPermission> requestList,
+                                 @NonNull PermissionComplianceReporter reporter) {
+        List<RuntimeException> violationList;
+        try {
+            AndroidManifestInfo manifestInfo = AndroidManifestParser.getAndroidManifestInfo(activity);
+            violationList = PermissionChecker.auditPermissionList(activity, requestList, manifestInfo);
+        } catch (Throwable e) {
+            // A bug of the audit itself must not reach the app
+            PermissionLog.log("Compliance audit failed", e);
+            return;
+        }
+        if (violationList.isEmpty()) {
+            return;
+        }
+        VIOLATION_REQUEST_COUNT.incrementAndGet();
+        try {
+            reporter.onComplianceViolation(activity.getClass().getName(), requestList, violationList);
+        } catch (Throwable e) {
+            PermissionLog.log("Compliance reporter failed", e);
+        }
+    }
+
+    /**
+     * Print the state of the audit.
+     */
+    public static void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        writer.print(prefix);
+        writer.print("Compliance audit: enabled=");
+        writer.print(isEnabled());
+        writer.print(" sampleRate=");
+        writer.print(sSampleRate);
+        writer.print(" sampled=");
+        writer.print(SAMPLED_COUNT.get());
+        writer.print(" dropped=");
+        writer.print(DROPPED_COUNT.get());
+        writer.print(" violations=");
+        writer.println(VIOLATION_REQUEST_COUNT.get());
+    }
+}
@@ -0,0 +1,32 @@
+package com.hjq.permissions.tools;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/30
+ *    desc   : Receives the violations found by the compliance audit (see {@link PermissionComplianceAudit}).
+ */
+public interface PermissionComplianceReporter {
+
+    /** Reporter that writes to Logcat */
+    PermissionComplianceReporter LOGCAT = (activityClassName, requestList, violationList) -> {
+        for (RuntimeException violation : violationList) {
+            Log.w("XXPermissions", "Compliance violation while requesting from " + activityClassName, violation);
+        }
+    };
+
+    /**
+     * A sampled request broke the rules of the check mode (called on the audit thread).
+     *
+     * @param activityClassName     class of the Activity the request was made from
+     * @param requestList           permissions of the request
+     * @param violationList         every violation found, never empty: the same exceptions the check mode would have thrown
+     */
+    void onComplianceViolation(@NonNull String activityClassName, @NonNull List<IPermission> requestList,
+                               @NonNull List<RuntimeException> violationList);
+}
@@ -0,0 +1,49 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/18
+ *    desc   : Dispatches framework diagnostics to the global {@link PermissionLogger} (no-op by default).
+ */
+public final class PermissionLog {
+
+    /** Global logger, null means logging is disabled */
+    @Nullable
+    private static volatile PermissionLogger sPermissionLogger;
+
+    private PermissionLog() {
+        // default implementation ignored
+    }
+
+    /**
+     * Set the global logger.
+     *
+     * @param permissionLogger      pass null to disable logging
+     */
+    public static void setPermissionLogger(@Nullable PermissionLogger permissionLogger) {
+        sPermissionLogger = permissionLogger;
+    }
+
+    /**
+     * Whether a logger is set (use it to skip building expensive messages).
+     */
+    public static boolean isLoggable() {
+        return sPermissionLogger != null;
+    }
+
+    public static void log(@NonNull String message) {
+        log(message, null);
+    }
+
+    public static void log(@NonNull String message, @Nullable Throwable throwable) {
+        PermissionLogger permissionLogger = sPermissionLogger;
+        if (permissionLogger == null) {
+            return;
+        }
+        permissionLogger.log(message, throwable);
+    }
+}
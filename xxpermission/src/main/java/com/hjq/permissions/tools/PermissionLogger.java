@@ -0,0 +1,26 @@
+package com.hjq.permissions.tools;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/18
+ *    desc   : Permission framework logger.
+ *             Receives every diagnostic message of the framework (failed probes, failed jumps, etc.).
+ *             Nothing is logged unless a logger is set through {@link com.hjq.permissions.XXPermissions#setPermissionLogger(PermissionLogger)}.
+ */
+public interface PermissionLogger {
+
+    /** Logger that writes to Logcat, suitable for debug builds */
+    PermissionLogger LOGCAT = (message, throwable) -> Log.w("XXPermissions", message, throwable);
+
+    /**
+     * Log a diagnostic message.
+     *
+     * @param throwable         the exception that caused the message, or null if there is none
+     */
+    void log(@NonNull String message, @Nullable Throwable throwable);
+}
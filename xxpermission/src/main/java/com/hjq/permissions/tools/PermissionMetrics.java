@@ -0,0 +1,342 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/27
+ *    desc   : In-process metrics of the permission requests (outcomes and latencies).
+ *
+ * Counters and histograms are lock-free, and after the first record of a permission the recording path does
+ * not allocate, so the metrics stay enabled in release builds. Read them with {@link #snapshot()}.
+ */
+public final class PermissionMetrics {
+
+    /** Counters kept per permission */
+    public enum PermissionCounter {
+
+        /** The permission was part of a request */
+        REQUESTED,
+
+        /** The permission was granted at the end of a request */
+        GRANTED,
+
+        /** The permission was denied at the end of a request */
+        DENIED,
+
+        /**
+         * The permission was denied on the system dialog and the system will not ask again
+         *
+         * Counted around the system dialog: denied with no rationale to show afterwards, while the user had seen the
+         * dialog before (a rationale to show before the request, or an earlier request in this run). A dialog dismissed
+         * the first time it shows up is not counted.
+         */
+        DO_NOT_ASK_AGAIN
+    }
+
+    /** Latencies kept per permission */
+    public enum PermissionLatency {
+
+        /** From the system dialog showing up to its result (dangerous permissions) */
+        DIALOG_TO_RESULT,
+
+        /** From leaving for the settings page to coming back (special permissions) */
+        SETTINGS_ROUND_TRIP
+    }
+
+    /** Counters kept for the whole process */
+    public enum GlobalCounter {
+
+        /** A settings Intent was started on the first try */
+        START_ACTIVITY_SUCCESS,
+
+        /** A settings Intent was started after at least one fallback Intent failed */
+        START_ACTIVITY_FALLBACK_SUCCESS,
+
+        /** Starting one of the Intents of the list failed */
+        START_ACTIVITY_FAILURE,
+
+        /** Every Intent of the list failed */
+        START_ACTIVITY_EXHAUSTED,
+
+        /** An Intent was dropped before trying because no Activity handles it */
+        INTENT_UNRESOLVED
+    }
+
+    /** Latencies kept for the whole process */
+    public enum GlobalLatency {
+
+        /** From the start of a request to its first system dialog or settings page */
+        TIME_TO_FIRST_DIALOG
+    }
+
+    /** Metrics of one permission */
+    private static final class PermissionEntry {
+
+        @NonNull
+        final AtomicLongArray mCounters = new AtomicLongArray(PERMISSION_COUNTER_COUNT);
+
+        @NonNull
+        final LatencyHistogram[] mLatencies = createHistograms(PERMISSION_LATENCY_COUNT);
+    }
+
+    /** Enum sizes, values() allocates a new array on every call */
+    private static final int PERMISSION_COUNTER_COUNT = PermissionCounter.values().length;
+    private static final int PERMISSION_LATENCY_COUNT = PermissionLatency.values().length;
+    private static final int GLOBAL_COUNTER_COUNT = GlobalCounter.values().length;
+    private static final int GLOBAL_LATENCY_COUNT = GlobalLatency.values().length;
+
+    /** Permission name -> metrics */
+    @NonNull
+    private static final ConcurrentMap<String, PermissionEntry> PERMISSION_ENTRY_MAP = new ConcurrentHashMap<>();
+
+    @NonNull
+    private static final AtomicLongArray GLOBAL_COUNTERS = new AtomicLongArray(GLOBAL_COUNTER_COUNT);
+
+    @NonNull
+    private static final LatencyHistogram[] GLOBAL_LATENCIES = createHistograms(GLOBAL_LATENCY_COUNT);
+
+    /** Whether recording is enabled */
+    private static volatile boolean sEnabled = true;
+
+    private PermissionMetrics() {
+        // default implementation ignored
+    }
+
+    /**
+     * Enable or disable recording (enabled by default); what was recorded so far is kept.
+     */
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    public static void increment(@NonNull String permissionName, @NonNull PermissionCounter counter) {
+        if (!sEnabled) {
+            return;
+        }
+        getPermissionEntry(permissionName).mCounters.incrementAndGet(counter.ordinal());
+    }
+
+    public static void recordLatency(@NonNull String permissionName, @NonNull PermissionLatency latency, long millis) {
+        if (!sEnabled) {
+            return;
+        }
+        getPermissionEntry(permissionName).mLatencies[latency.ordinal()].record(millis);
+    }
+
+    public static void increment(@NonNull GlobalCounter counter) {
+        if (!sEnabled) {
+            return;
+        }
+        GLOBAL_COUNTERS.incrementAndGet(counter.ordinal());
+    }
+
+    public static void recordLatency(@NonNull GlobalLatency latency, long millis) {
+        if (!sEnabled) {
+            return;
+        }
+        GLOBAL_LATENCIES[latency.ordinal()].record(millis);
+    }
+
+    /**
+     * Copy every metric recorded so far.
+     */
+    @NonNull
+    public static Snapshot snapshot() {
+        Map<String, PermissionSnapshot> permissionSnapshots = new TreeMap<>();
+        for (Map.Entry<String, PermissionEntry> entry : PERMISSION_ENTRY_MAP.entrySet()) {
+            PermissionEntry permissionEntry = entry.getValue();
+            Map<PermissionCounter, Long> counters = new LinkedHashMap<>();
+            for (PermissionCounter counter : PermissionCounter.values()) {
+                counters.put(counter, permissionEntry.mCounters.get(counter.ordinal()));
+            }
+            Map<PermissionLatency, LatencyHistogram.Snapshot> latencies = new LinkedHashMap<>();
+            for (PermissionLatency latency : PermissionLatency.values()) {
+                latencies.put(latency, permissionEntry.mLatencies[latency.ordinal()].snapshot());
+            }
+            permissionSnapshots.put(entry.getKey(), new PermissionSnapshot(counters, latencies));
+        }
+
+        Map<GlobalCounter, Long> globalCounters = new LinkedHashMap<>();
+        for (GlobalCounter counter : GlobalCounter.values()) {
+            globalCounters.put(counter, GLOBAL_COUNTERS.get(counter.ordinal()));
+        }
+        Map<GlobalLatency, LatencyHistogram.Snapshot> globalLatencies = new LinkedHashMap<>();
+        for (GlobalLatency latency : GlobalLatency.values()) {
+            globalLatencies.put(latency, GLOBAL_LATENCIES[latency.ordinal()].snapshot());
+        }
+        return new Snapshot(permissionSnapshots, globalCounters, globalLatencies);
+    }
+
+    /**
+     * Forget every metric recorded so far (e.g. after exporting a snapshot).
+     */
+    public static void reset() {
+        PERMISSION_ENTRY_MAP.clear();
+        for (int i = 0; i < GLOBAL_COUNTER_COUNT; i++) {
+            GLOBAL_COUNTERS.set(i, 0);
+        }
+        for (LatencyHistogram histogram : GLOBAL_LATENCIES) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Print a snapshot of every metric recorded so far.
+     */
+    public static void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        Snapshot snapshot = snapshot();
+        writer.print(prefix);
+        writer.print("Metrics (enabled=");
+        writer.print(sEnabled);
+        writer.println("):");
+        for (Map.Entry<GlobalCounter, Long> entry : snapshot.getGlobalCounters().entrySet()) {
+            writer.print(prefix);
+            writer.print("  ");
+            writer.print(entry.getKey());
+            writer.print("=");
+            writer.println(entry.getValue());
+        }
+        for (Map.Entry<GlobalLatency, LatencyHistogram.Snapshot> entry : snapshot.getGlobalLatencies().entrySet()) {
+            writer.print(prefix);
+            writer.print("  ");
+            writer.print(entry.getKey());
+            writer.print(": ");
+            writer.println(entry.getValue());
+        }
+        for (Map.Entry<String, PermissionSnapshot> entry : snapshot.getPermissions().entrySet()) {
+            PermissionSnapshot permissionSnapshot = entry.getValue();
+            writer.print(prefix);
+            writer.print("  ");
+            writer.print(entry.getKey());
+            writer.print(" ");
+            writer.println(permissionSnapshot.getCounters());
+            for (Map.Entry<PermissionLatency, LatencyHistogram.Snapshot> latencyEntry : permissionSnapshot.getLatencies().entrySet()) {
+                if (latencyEntry.getValue().getCount() == 0) {
+                    continue;
+                }
+                writer.print(prefix);
+                writer.print("    ");
+                writer.print(latencyEntry.getKey());
+                writer.print(": ");
+                writer.println(latencyEntry.getValue());
+            }
+        }
+    }
+
+    @NonNull
+    private static PermissionEntry getPermissionEntry(@NonNull String permissionName) {
+        PermissionEntry entry = PERMISSION_ENTRY_MAP.get(permissionName);
+        if (entry != null) {
+            return entry;
+        }
+        // Only allocates the first time a permission is recorded
+        entry = new PermissionEntry();
+        PermissionEntry existEntry = PERMISSION_ENTRY_MAP.putIfAbsent(permissionName, entry);
+        return existEntry != null ? existEntry : entry;
+    }
+
+    @NonNull
+    private static LatencyHistogram[] createHistograms(int count) {
+        LatencyHistogram[] histograms = new LatencyHistogram[count];
+        for (int i = 0; i < count; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    /**
+     * Metrics of one permission, copied by {@link #snapshot()}
+     */
+    public static final class PermissionSnapshot {
+
+        @NonNull
+        private final Map<PermissionCounter, Long> mCounters;
+
+        @NonNull
+        private final Map<PermissionLatency, LatencyHistogram.Snapshot> mLatencies;
+
+        PermissionSnapshot(@NonNull Map<PermissionCounter, Long> counters,
+                           @NonNull Map<PermissionLatency, LatencyHistogram.Snapshot> latencies) {
+            mCounters = Collections.unmodifiableMap(counters);
+            mLatencies = Collections.unmodifiableMap(latencies);
+        }
+
+        public long getCount(@NonNull PermissionCounter counter) {
+            Long count = mCounters.get(counter);
+            return count != null ? count : 0;
+        }
+
+        @NonNull
+        public Map<PermissionCounter, Long> getCounters() {
+            return mCounters;
+        }
+
+        @NonNull
+        public Map<PermissionLatency, LatencyHistogram.Snapshot> getLatencies() {
+            return mLatencies;
+        }
+
+        /**
+         * Get the share of the finished requests that ended with the permission granted (0 if it never finished).
+         */
+        public double getGrantRatio() {
+            long finished = getCount(PermissionCounter.GRANTED) + getCount(PermissionCounter.DENIED);
+            return finished == 0 ? 0 : (double) getCount(PermissionCounter.GRANTED) / finished;
+        }
+    }
+
+    /**
+     * Every metric, copied by {@link #snapshot()}
+     */
+    public static final class Snapshot {
+
+        @NonNull
+        private final Map<String, PermissionSnapshot> mPermissions;
+
+        @NonNull
+        private final Map<GlobalCounter, Long> mGlobalCounters;
+
+        @NonNull
+        private final Map<GlobalLatency, LatencyHistogram.Snapshot> mGlobalLatencies;
+
+        Snapshot(@NonNull Map<String, PermissionSnapshot> permissions,
+                 @NonNull Map<GlobalCounter, Long> globalCounters,
+                 @NonNull Map<GlobalLatency, LatencyHistogram.Snapshot> globalLatencies) {
+            mPermissions = Collections.unmodifiableMap(permissions);
+            mGlobalCounters = Collections.unmodifiableMap(globalCounters);
+            mGlobalLatencies = Collections.unmodifiableMap(globalLatencies);
+        }
+
+        /**
+         * Get the metrics per permission name, sorted by name.
+         */
+        @NonNull
+        public Map<String, PermissionSnapshot> getPermissions() {
+            return mPermissions;
+        }
+
+        @NonNull
+        public Map<GlobalCounter, Long> getGlobalCounters() {
+            return mGlobalCounters;
+        }
+
+        @NonNull
+        public Map<GlobalLatency, LatencyHistogram.Snapshot> getGlobalLatencies() {
+            return mGlobalLatencies;
+        }
+    }
+}
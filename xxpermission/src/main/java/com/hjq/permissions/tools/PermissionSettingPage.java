@@ -6,7 +6,6 @@ import android.os.Bundle;
 import android.provider.Settings;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import com.hjq.device.compat.DeviceOs;
 import com.hjq.permissions.permission.base.IPermission;
 import java.util.ArrayList;
 import java.util.List;
@@ -193,7 +192,7 @@ public final class PermissionSettingPage {
     public static Intent getApplicationDetailsSettingsIntent(@NonNull Context context, @Nullable IPermission... permissions) {
         Intent intent = new Intent(Settings.ACTION_APPLICATION_DETAILS_SETTINGS);
         intent.setData(PermissionUtils.getPackageNameUri(context));
-        if (permissions != null && permissions.length > 0 && DeviceOs.isColorOs()) {
+        if (permissions != null && permissions.length > 0 && DeviceProfile.get().isColorOs()) {
             // OPPO blocked permission redirection optimization: https://open.oppomobile.com/new/developmentDoc/info?id=12983
             Bundle bundle = new Bundle();
             List<String> permissionList = PermissionUtils.convertPermissionList(permissions);
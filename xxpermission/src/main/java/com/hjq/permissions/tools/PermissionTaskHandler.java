@@ -2,21 +2,33 @@ package com.hjq.permissions.tools;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.os.Process;
 import android.os.SystemClock;
+import android.util.Printer;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.PrintWriter;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  *    author : Android 轮子哥
  *    github : https://github.com/getActivity/XXPermissions
  *    time   : 2025/05/26
  *    desc   : Permission task handler.
- *             Schedules and runs permission-related tasks on the main thread.
+ *             Schedules and runs permission-related tasks on the main thread, and the ones nothing waits for
+ *             on the single background thread of the framework.
  */
 public final class PermissionTaskHandler {
 
     /** Handler object bound to the main thread */
     private static final Handler HANDLER = new Handler(Looper.getMainLooper());
 
+    /** Executor of the background tasks, created on the first task, its thread exits when idle */
+    @Nullable
+    private static ThreadPoolExecutor sBackgroundExecutor;
+
     /**
      * Post a delayed task.
      */
@@ -42,4 +54,66 @@ public final class PermissionTaskHandler {
         // Remove all callbacks and messages linked to this token
         HANDLER.removeCallbacksAndMessages(token);
     }
+
+    /**
+     * Run a task on the background thread (tasks run one at a time, in order).
+     *
+     * Meant for work nothing waits for: work prepared ahead of time (warm-up, prefetching), whose result is checked again
+     * on the main thread before it is used, and reports (the compliance audit). This is the only background thread of the
+     * framework, a long task delays the ones queued after it, so split the work into short tasks where possible.
+     */
+    public static void sendBackgroundTask(@NonNull Runnable runnable) {
+        getBackgroundExecutor().execute(() -> {
+            try {
+                runnable.run();
+            } catch (Throwable e) {
+                // Nothing waits for the task: the main thread does the work again if it needs it
+                PermissionLog.log("Background task failed", e);
+            }
+        });
+    }
+
+    @NonNull
+    private static synchronized ThreadPoolExecutor getBackgroundExecutor() {
+        if (sBackgroundExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(() -> {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }, "XXPermissions-Background");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            sBackgroundExecutor = executor;
+        }
+        return sBackgroundExecutor;
+    }
+
+    /**
+     * Print the framework tasks still queued on the main thread.
+     *
+     * The main queue is shared with the app, so only the messages whose callback belongs to the framework are printed.
+     */
+    public static void dump(@NonNull String prefix, @NonNull PrintWriter writer) {
+        String packagePrefix = "com.hjq.permissions.";
+        int[] taskCount = new int[1];
+        Printer printer = line -> {
+            if (line == null || !line.contains(packagePrefix)) {
+                return;
+            }
+            taskCount[0]++;
+            writer.print(prefix);
+            writer.print("  ");
+            writer.println(line.trim());
+        };
+        writer.print(prefix);
+        writer.println("Pending tasks:");
+        HANDLER.dump(printer, "");
+        writer.print(prefix);
+        writer.print("  (Total: ");
+        writer.print(taskCount[0]);
+        writer.println(")");
+    }
 }
@@ -0,0 +1,105 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.tools.PermissionTracer.Stage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/26
+ *    desc   : Dispatches the request stages to the global {@link PermissionTracer}.
+ */
+public final class PermissionTrace {
+
+    /** Id meaning "no request" */
+    public static final int NO_REQUEST_ID = 0;
+
+    /** Global tracer, null means tracing is disabled */
+    @Nullable
+    private static volatile PermissionTracer sPermissionTracer = PermissionTracer.SYSTEM;
+
+    /** Last request id handed out */
+    private static final AtomicInteger REQUEST_ID = new AtomicInteger();
+
+    /**
+     * Id of the request being started on the current thread, it lets the request logic created by the
+     * interceptor (see OnPermissionInterceptor#dispatchPermissionRequest) continue the trace of the request
+     */
+    private static final ThreadLocal<Integer> CURRENT_REQUEST_ID = new ThreadLocal<>();
+
+    private PermissionTrace() {
+        // default implementation ignored
+    }
+
+    /**
+     * Set the global tracer.
+     *
+     * @param permissionTracer      pass null to disable tracing
+     */
+    public static void setPermissionTracer(@Nullable PermissionTracer permissionTracer) {
+        sPermissionTracer = permissionTracer;
+    }
+
+    /**
+     * Hand out the id of a new request.
+     */
+    public static int newRequestId() {
+        int requestId = REQUEST_ID.incrementAndGet();
+        if (requestId == NO_REQUEST_ID) {
+            // Wrapped around
+            requestId = REQUEST_ID.incrementAndGet();
+        }
+        return requestId;
+    }
+
+    /**
+     * Set (or clear, with {@link #NO_REQUEST_ID}) the id of the request being started on the current thread.
+     */
+    public static void setCurrentRequestId(int requestId) {
+        if (requestId == NO_REQUEST_ID) {
+            CURRENT_REQUEST_ID.remove();
+        } else {
+            CURRENT_REQUEST_ID.set(requestId);
+        }
+    }
+
+    /**
+     * Get the id of the request being started on the current thread.
+     *
+     * @return {@link #NO_REQUEST_ID} if there is none
+     */
+    public static int getCurrentRequestId() {
+        Integer requestId = CURRENT_REQUEST_ID.get();
+        return requestId != null ? requestId : NO_REQUEST_ID;
+    }
+
+    /**
+     * Take over the id of the request being started on the current thread, it is cleared so that only one request
+     * logic continues the trace (and the caller can tell whether the request was dispatched).
+     *
+     * @return {@link #NO_REQUEST_ID} if there is none
+     */
+    public static int takeCurrentRequestId() {
+        int requestId = getCurrentRequestId();
+        CURRENT_REQUEST_ID.remove();
+        return requestId;
+    }
+
+    public static void beginStage(int requestId, @NonNull Stage stage) {
+        PermissionTracer permissionTracer = sPermissionTracer;
+        if (permissionTracer == null) {
+            return;
+        }
+        permissionTracer.onStageBegin(requestId, stage);
+    }
+
+    public static void endStage(int requestId, @NonNull Stage stage) {
+        PermissionTracer permissionTracer = sPermissionTracer;
+        if (permissionTracer == null) {
+            return;
+        }
+        permissionTracer.onStageEnd(requestId, stage);
+    }
+}
@@ -0,0 +1,94 @@
+package com.hjq.permissions.tools;
+
+import androidx.annotation.NonNull;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/26
+ *    desc   : Permission request tracer.
+ *             Receives the begin and end of every stage of a permission request, so the time of a slow
+ *             request can be attributed to a stage. Set through {@link com.hjq.permissions.XXPermissions#setPermissionTracer(PermissionTracer)},
+ *             {@link #SYSTEM} (android.os.Trace) is used by default.
+ */
+public interface PermissionTracer {
+
+    /** Tracer that emits android.os.Trace sections, visible in Perfetto / systrace */
+    PermissionTracer SYSTEM = new SystemPermissionTracer();
+
+    /**
+     * Stages of a permission request
+     *
+     * A synchronous stage begins and ends on the same thread (the main thread), within the same call, and stages
+     * nest; an asynchronous stage ends in a later message (e.g. after the system dialog is answered).
+     */
+    enum Stage {
+
+        /** The whole request, from {@link com.hjq.permissions.XXPermissions#request} to the result */
+        REQUEST("Request", true),
+
+        /** Activity, Fragment and permission list checks (check mode only) */
+        CHECK_MODE("CheckMode", false),
+
+        /** Manifest parsing for the checks (check mode only, the first request pays for it) */
+        MANIFEST_PARSING("ManifestParsing", false),
+
+        /** {@link com.hjq.permissions.OnPermissionInterceptor#onRequestPermissionStart} */
+        INTERCEPTOR_START("InterceptorStart", false),
+
+        /** Grouping of the permissions into request batches, and the selection of the next batch */
+        PLAN_BUILDING("PlanBuilding", false),
+
+        /** The description handler deciding (or asking the user) whether to request a batch */
+        DESCRIPTION("Description", true),
+
+        /** Creation and commit of the request Fragment */
+        FRAGMENT_COMMIT("FragmentCommit", false),
+
+        /** From the Fragment commit to its onResume, where the request is actually made */
+        WAIT_FOR_RESUME("WaitForResume", true),
+
+        /** The system dialog or settings page, until its result is delivered */
+        SYSTEM_DIALOG("SystemDialog", true),
+
+        /** The wait for the system to settle the permission state (see IPermission.getResultWaitTime) */
+        RESULT_WAIT("ResultWait", true),
+
+        /** The wait between two batches (see IPermission.getRequestIntervalTime) */
+        REQUEST_INTERVAL("RequestInterval", true),
+
+        /** {@link com.hjq.permissions.OnPermissionInterceptor#onRequestPermissionEnd} */
+        INTERCEPTOR_END("InterceptorEnd", false);
+
+        @NonNull
+        private final String mTraceName;
+
+        private final boolean mAsync;
+
+        Stage(@NonNull String traceName, boolean async) {
+            mTraceName = traceName;
+            mAsync = async;
+        }
+
+        @NonNull
+        public String getTraceName() {
+            return mTraceName;
+        }
+
+        public boolean isAsync() {
+            return mAsync;
+        }
+    }
+
+    /**
+     * A stage of a request begins.
+     *
+     * @param requestId         id of the request, unique within the process
+     */
+    void onStageBegin(int requestId, @NonNull Stage stage);
+
+    /**
+     * A stage of a request ends.
+     */
+    void onStageEnd(int requestId, @NonNull Stage stage);
+}
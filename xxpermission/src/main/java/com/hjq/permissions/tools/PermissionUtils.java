@@ -9,6 +9,8 @@ import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageManager;
 import android.content.pm.PackageManager.ResolveInfoFlags;
 import android.net.Uri;
+import android.os.Bundle;
+import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -18,6 +20,9 @@ import com.hjq.permissions.permission.base.IPermission;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *    author : Android 轮子哥
@@ -183,6 +188,38 @@ public final class PermissionUtils {
         return reverseEqualsString(permission1.getPermissionName(), permission2.getPermissionName());
     }
 
+    /**
+     * Whether two permission objects are the same permission bound to the same parameters.
+     */
+    public static boolean equalsPermissionIdentity(@NonNull IPermission permission1, @NonNull IPermission permission2) {
+        return equalsPermission(permission1, permission2) &&
+                TextUtils.equals(permission1.getPermissionParameters(), permission2.getPermissionParameters());
+    }
+
+    /**
+     * Whether a collection of permission objects contains the same permission bound to the same parameters.
+     */
+    public static boolean containsPermissionIdentity(@NonNull Collection<IPermission> permissions, @NonNull IPermission permission) {
+        for (IPermission item : permissions) {
+            if (equalsPermissionIdentity(permission, item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the identity of a permission: its name and the parameters it is bound to, the same in every process.
+     */
+    @NonNull
+    public static String getPermissionIdentity(@NonNull IPermission permission) {
+        String parameters = permission.getPermissionParameters();
+        if (parameters == null) {
+            return permission.getPermissionName();
+        }
+        return permission.getPermissionName() + "(" + parameters + ")";
+    }
+
     /**
      * Whether a collection of permission objects contains a given permission.
      */
@@ -265,6 +302,9 @@ public final class PermissionUtils {
         return Uri.parse("package:" + context.getPackageName());
     }
 
+    /** Cached results of {@link #isClassExist(String)}, classes cannot appear or disappear while the process is alive */
+    private static final Map<String, Boolean> CLASS_EXIST_CACHE = new ConcurrentHashMap<>();
+
     /**
      * Whether a class name exists on the classpath.
      */
@@ -272,24 +312,70 @@ public final class PermissionUtils {
         if (className == null || className.isEmpty()) {
             return false;
         }
+        Boolean cacheResult = CLASS_EXIST_CACHE.get(className);
+        if (cacheResult != null) {
+            return cacheResult;
+        }
+        boolean result;
         try {
             Class.forName(className);
-            return true;
+            result = true;
         } catch (ClassNotFoundException e) {
-            e.printStackTrace();
-            return false;
+            // Only the first lookup of a missing class pays for the exception
+            PermissionLog.log("The class \"" + className + "\" does not exist");
+            result = false;
         }
+        CLASS_EXIST_CACHE.put(className, result);
+        return result;
     }
 
     /**
-     * Compare two lists of Intents for equality (order and filterEquals match).
+     * Compare two lists of Intents for equality (order and {@link #equalsIntent(Intent, Intent)} match).
      */
     public static boolean equalsIntentList(@NonNull List<Intent> intentList1, @NonNull List<Intent> intentList2) {
         if (intentList1.size() != intentList2.size()) {
             return false;
         }
         for (int i = 0; i < intentList1.size(); i++) {
-            if (!intentList1.get(i).filterEquals(intentList2.get(i))) {
+            if (!equalsIntent(intentList1.get(i), intentList2.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether two Intents lead to the same page: {@link Intent#filterEquals(Intent)}, plus the extras, since a settings
+     * page may show something else for other extras (e.g. the id of a notification channel).
+     */
+    public static boolean equalsIntent(@NonNull Intent intent1, @NonNull Intent intent2) {
+        return intent1.filterEquals(intent2) && equalsExtras(intent1.getExtras(), intent2.getExtras());
+    }
+
+    /**
+     * Get the hash code of an Intent that matches {@link #equalsIntent(Intent, Intent)}.
+     */
+    public static int getIntentHashCode(@NonNull Intent intent) {
+        int hashCode = intent.filterHashCode();
+        Bundle extras = intent.getExtras();
+        if (extras != null) {
+            for (String key : extras.keySet()) {
+                // Summed, the order of the extras does not matter
+                hashCode += key.hashCode() ^ Objects.hashCode(extras.get(key));
+            }
+        }
+        return hashCode;
+    }
+
+    private static boolean equalsExtras(@Nullable Bundle extras1, @Nullable Bundle extras2) {
+        if (extras1 == null || extras1.isEmpty()) {
+            return extras2 == null || extras2.isEmpty();
+        }
+        if (extras2 == null || extras1.size() != extras2.size()) {
+            return false;
+        }
+        for (String key : extras1.keySet()) {
+            if (!extras2.containsKey(key) || !Objects.equals(extras1.get(key), extras2.get(key))) {
                 return false;
             }
         }
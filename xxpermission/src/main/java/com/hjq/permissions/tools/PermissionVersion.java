@@ -3,6 +3,8 @@ package com.hjq.permissions.tools;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.os.Build;
+import androidx.annotation.ChecksSdkIntAtLeast;
+import com.hjq.permissions.XXPermissionsConfig;
 
 /**
  *    author : Android 轮子哥
@@ -52,22 +54,27 @@ public final class PermissionVersion {
     public static final int ANDROID_2_0 = Build.VERSION_CODES.ECLAIR;
 
     /**
-     * Get the current Android SDK version.
+     * Get the current Android SDK version (as seen through the permission environment).
+     *
+     * Only for the decisions of the permission logic (e.g. whether a permission exists yet on this version), which a
+     * {@link com.hjq.permissions.environment.FakePermissionEnvironment} can simulate. The isAndroidXX methods below
+     * guard framework API calls, so they always read {@link Build.VERSION#SDK_INT} of the running device.
      */
     public static int getCurrentVersion() {
-        return Build.VERSION.SDK_INT;
+        return XXPermissionsConfig.getPermissionEnvironment().getCurrentVersion();
     }
 
     /**
      * Get the targetSdkVersion of the application.
      */
     public static int getTargetVersion(Context context) {
-        return context.getApplicationInfo().targetSdkVersion;
+        return XXPermissionsConfig.getPermissionEnvironment().getTargetVersion(context);
     }
 
     /**
      * Is the device running Android 16 (Baklava) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_16)
     public static boolean isAndroid16() {
         return Build.VERSION.SDK_INT >= ANDROID_16;
     }
@@ -75,6 +82,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 15 (Vanilla Ice Cream) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_15)
     public static boolean isAndroid15() {
         return Build.VERSION.SDK_INT >= ANDROID_15;
     }
@@ -82,6 +90,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 14 (Upside Down Cake) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_14)
     public static boolean isAndroid14() {
         return Build.VERSION.SDK_INT >= ANDROID_14;
     }
@@ -89,6 +98,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 13 (Tiramisu) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_13)
     public static boolean isAndroid13() {
         return Build.VERSION.SDK_INT >= ANDROID_13;
     }
@@ -96,6 +106,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 12 (Snow Cone) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_12)
     public static boolean isAndroid12() {
         return Build.VERSION.SDK_INT >= ANDROID_12;
     }
@@ -103,6 +114,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 11 (R) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_11)
     public static boolean isAndroid11() {
         return Build.VERSION.SDK_INT >= ANDROID_11;
     }
@@ -110,6 +122,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 10 (Q) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_10)
     public static boolean isAndroid10() {
         return Build.VERSION.SDK_INT >= ANDROID_10;
     }
@@ -117,6 +130,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 9 (Pie) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_9)
     public static boolean isAndroid9() {
         return Build.VERSION.SDK_INT >= ANDROID_9;
     }
@@ -124,6 +138,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 8.1 (Oreo MR1) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_8_1)
     public static boolean isAndroid8_1() {
         return Build.VERSION.SDK_INT >= ANDROID_8_1;
     }
@@ -131,6 +146,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 8.0 (Oreo) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_8)
     public static boolean isAndroid8() {
         return Build.VERSION.SDK_INT >= ANDROID_8;
     }
@@ -138,6 +154,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 7.1 (Nougat MR1) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_7_1)
     public static boolean isAndroid7_1() {
         return Build.VERSION.SDK_INT >= ANDROID_7_1;
     }
@@ -145,6 +162,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 7.0 (Nougat) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_7)
     public static boolean isAndroid7() {
         return Build.VERSION.SDK_INT >= ANDROID_7;
     }
@@ -152,6 +170,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 6.0 (Marshmallow) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_6)
     public static boolean isAndroid6() {
         return Build.VERSION.SDK_INT >= ANDROID_6;
     }
@@ -159,6 +178,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 5.1 (Lollipop MR1) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_5_1)
     public static boolean isAndroid5_1() {
         return Build.VERSION.SDK_INT >= ANDROID_5_1;
     }
@@ -166,6 +186,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 5.0 (Lollipop) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_5)
     public static boolean isAndroid5() {
         return Build.VERSION.SDK_INT >= ANDROID_5;
     }
@@ -173,6 +194,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 4.4 (KitKat) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_4_4)
     public static boolean isAndroid4_4() {
         return Build.VERSION.SDK_INT >= ANDROID_4_4;
     }
@@ -180,6 +202,7 @@ public final class PermissionVersion {
     /**
      * Is the device running Android 4.3 (Jelly Bean MR2) or above?
      */
+    @ChecksSdkIntAtLeast(api = ANDROID_4_3)
     public static boolean isAndroid4_3() {
         return Build.VERSION.SDK_INT >= ANDROID_4_3;
     }
@@ -0,0 +1,145 @@
+package com.hjq.permissions.tools;
+
+import android.app.Application;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.OnPermissionWarmUpCallback;
+import com.hjq.permissions.XXPermissionsConfig;
+import com.hjq.permissions.manifest.AndroidManifestParser;
+import com.hjq.permissions.permission.PermissionLists;
+import com.hjq.permissions.permission.PermissionNames;
+import com.hjq.permissions.permission.base.BasePermission;
+import com.hjq.permissions.permission.base.IPermission;
+import com.hjq.permissions.start.StartActivityRouteCache;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/23
+ *    desc   : Permission warm-up task.
+ *             Pays the one-off costs of the first request (class loading, OEM system probing,
+ *             AppOps reflection, manifest parsing) on the background thread of the framework, within a time budget.
+ *             The budget is checked before each step: a step is never interrupted, so the last step started may
+ *             overrun the budget by its own duration.
+ */
+public final class PermissionWarmUp implements Runnable {
+
+    /** Default time budget, in milliseconds */
+    public static final long DEFAULT_BUDGET_MILLIS = 500;
+
+    /** Classes initialized by the warm-up, in the order the first request needs them */
+    private static final Class<?>[] WARM_UP_CLASSES = {
+            PermissionNames.class,
+            PermissionLists.class,
+            PermissionApi.class,
+            PermissionUtils.class,
+            PermissionChecker.class
+    };
+
+    @NonNull
+    private final Application mApplication;
+
+    @NonNull
+    private final List<IPermission> mPermissions;
+
+    private final long mBudgetMillis;
+
+    @Nullable
+    private final OnPermissionWarmUpCallback mCallback;
+
+    @NonNull
+    private final List<String> mPreloadedList = new ArrayList<>();
+
+    @NonNull
+    private final List<String> mSkippedList = new ArrayList<>();
+
+    /** Uptime at which the budget runs out */
+    private long mDeadline;
+
+    /**
+     * Start warming up on the background thread of the framework (see {@link PermissionTaskHandler#sendBackgroundTask(Runnable)}).
+     */
+    public static void start(@NonNull Application application, @Nullable List<IPermission> permissions,
+                             long budgetMillis, @Nullable OnPermissionWarmUpCallback callback) {
+        PermissionTaskHandler.sendBackgroundTask(new PermissionWarmUp(application, permissions, budgetMillis, callback));
+    }
+
+    private PermissionWarmUp(@NonNull Application application, @Nullable List<IPermission> permissions,
+                             long budgetMillis, @Nullable OnPermissionWarmUpCallback callback) {
+        mApplication = application;
+        // Copy the list, the caller may keep modifying it on the main thread
+        mPermissions = permissions != null ? new ArrayList<>(permissions) : new ArrayList<>();
+        mBudgetMillis = Math.max(budgetMillis, 0);
+        mCallback = callback;
+    }
+
+    @Override
+    public void run() {
+        // The background thread already runs with a background priority, so it does not compete with the main thread
+        long startTime = SystemClock.uptimeMillis();
+        mDeadline = startTime + mBudgetMillis;
+
+        for (Class<?> clazz : WARM_UP_CLASSES) {
+            runStep("Class: " + clazz.getSimpleName(), () ->
+                    Class.forName(clazz.getName(), true, clazz.getClassLoader()));
+        }
+
+        runStep("DeviceProfile", DeviceProfile::get);
+
+        // Only queues the load behind this task, it does not count against the budget
+        runStep("LearnedRoutes", () -> StartActivityRouteCache.preloadLearnedRoutes(mApplication));
+
+        if (PermissionVersion.isAndroid4_4()) {
+            // Loads AppOpsManager and caches the op most special permissions are checked with
+            runStep("AppOpsManager", () -> BasePermission.isExistOpPermission("OP_SYSTEM_ALERT_WINDOW"));
+        }
+
+        if (XXPermissionsConfig.isCheckMode(mApplication)) {
+            // Only needed by the request checks, so only parsed in check mode
+            runStep("AndroidManifest", () -> AndroidManifestParser.getAndroidManifestInfo(mApplication));
+        }
+
+        for (IPermission permission : mPermissions) {
+            runStep("Permission: " + permission.getPermissionName(), () -> {
+                permission.getPermissionChannel(mApplication);
+                PermissionApi.getOldPermissionsByCurrentVersion(mApplication, permission);
+                // Also resolves the reflection and system services the permission checks with
+                permission.isGrantedPermission(mApplication);
+            });
+        }
+
+        long costTime = SystemClock.uptimeMillis() - startTime;
+        PermissionLog.log("Warm-up finished in " + costTime + "ms, preloaded " + mPreloadedList + ", skipped " + mSkippedList);
+        OnPermissionWarmUpCallback callback = mCallback;
+        if (callback == null) {
+            return;
+        }
+        PermissionTaskHandler.sendTask(() -> callback.onWarmUpFinish(mPreloadedList, mSkippedList, costTime), 0);
+    }
+
+    /**
+     * Run a step if the budget is not exhausted yet; a step that throws does not stop the warm-up.
+     * The budget only decides whether the step starts, a step that has started runs to its end.
+     */
+    private void runStep(@NonNull String stepName, @NonNull WarmUpStep step) {
+        if (SystemClock.uptimeMillis() >= mDeadline) {
+            mSkippedList.add(stepName);
+            return;
+        }
+        try {
+            step.run();
+            mPreloadedList.add(stepName);
+        } catch (Throwable e) {
+            PermissionLog.log("Warm-up step failed: " + stepName, e);
+            mSkippedList.add(stepName);
+        }
+    }
+
+    private interface WarmUpStep {
+
+        void run() throws Throwable;
+    }
+}
@@ -0,0 +1,57 @@
+package com.hjq.permissions.tools;
+
+import android.os.Build;
+import android.os.Trace;
+import androidx.annotation.NonNull;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/09/26
+ *    desc   : Tracer emitting android.os.Trace sections.
+ *
+ * Synchronous stages become trace sections on the main thread, asynchronous stages become async slices
+ * (Android 10 and above) with the request id as cookie. Every name carries the request id, e.g.
+ * "XXPermissions#3 SystemDialog", so all the stages of one request can be found in a Perfetto trace.
+ */
+public final class SystemPermissionTracer implements PermissionTracer {
+
+    SystemPermissionTracer() {
+        // default implementation ignored
+    }
+
+    @Override
+    public void onStageBegin(int requestId, @NonNull Stage stage) {
+        if (stage.isAsync()) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && Trace.isEnabled()) {
+                Trace.beginAsyncSection(getSectionName(requestId, stage), requestId);
+            }
+            return;
+        }
+        // Below Android 10 there is no way to know whether tracing is on, the section is always emitted
+        // (the system drops it when no one is tracing)
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && !Trace.isEnabled()) {
+            return;
+        }
+        Trace.beginSection(getSectionName(requestId, stage));
+    }
+
+    @Override
+    public void onStageEnd(int requestId, @NonNull Stage stage) {
+        if (stage.isAsync()) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && Trace.isEnabled()) {
+                Trace.endAsyncSection(getSectionName(requestId, stage), requestId);
+            }
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && !Trace.isEnabled()) {
+            return;
+        }
+        Trace.endSection();
+    }
+
+    @NonNull
+    private static String getSectionName(int requestId, @NonNull Stage stage) {
+        return "XXPermissions#" + requestId + " " + stage.getTraceName();
+    }
+}
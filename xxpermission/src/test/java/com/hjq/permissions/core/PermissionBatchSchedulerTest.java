@@ -0,0 +1,158 @@
+package com.hjq.permissions.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import android.app.Activity;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/10/19
+ *    desc   : Tests of the batch ordering and pruning of {@link PermissionBatchScheduler}
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public final class PermissionBatchSchedulerTest {
+
+    private Activity mActivity;
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).get();
+    }
+
+    @Test
+    public void keepsRequestOrderWithoutDependency() {
+        List<List<IPermission>> batchList = batches(
+                batch(new TestPermission("camera")),
+                batch(new TestPermission("microphone")));
+
+        assertSame(batchList, PermissionBatchScheduler.sortByDependency(mActivity, batchList));
+    }
+
+    @Test
+    public void movesForegroundBatchBeforeBackgroundBatch() {
+        TestPermission fineLocation = new TestPermission("fine_location");
+        TestPermission backgroundLocation = new TestPermission("background_location", fineLocation);
+        List<IPermission> backgroundBatch = batch(backgroundLocation);
+        List<IPermission> cameraBatch = batch(new TestPermission("camera"));
+        List<IPermission> foregroundBatch = batch(fineLocation);
+
+        List<List<IPermission>> sortedList = PermissionBatchScheduler.sortByDependency(mActivity,
+                batches(backgroundBatch, cameraBatch, foregroundBatch));
+
+        // The batches without dependency keep their request order, the background batch waits for the foreground one
+        assertEquals(batches(cameraBatch, foregroundBatch, backgroundBatch), sortedList);
+    }
+
+    @Test
+    public void dependsOnForegroundPermissionByName() {
+        // The foreground permission declared by the background permission is another instance of the requested one
+        List<IPermission> backgroundBatch = batch(new TestPermission("background_location", new TestPermission("fine_location")));
+        List<IPermission> foregroundBatch = batch(new TestPermission("fine_location"));
+
+        List<List<IPermission>> sortedList = PermissionBatchScheduler.sortByDependency(mActivity,
+                batches(backgroundBatch, foregroundBatch));
+
+        assertEquals(batches(foregroundBatch, backgroundBatch), sortedList);
+    }
+
+    @Test
+    public void keepsRequestOrderOnCycle() {
+        TestPermission permissionA = new TestPermission("a");
+        TestPermission permissionB = new TestPermission("b", permissionA);
+        // Not something a well-formed permission declares, but the scheduler must not loop or drop a batch
+        TestPermission permissionC = new TestPermission("c", permissionB);
+        List<IPermission> firstBatch = batch(permissionA, permissionC);
+        List<IPermission> secondBatch = batch(permissionB);
+        List<IPermission> independentBatch = batch(new TestPermission("d"));
+
+        List<List<IPermission>> sortedList = PermissionBatchScheduler.sortByDependency(mActivity,
+                batches(firstBatch, secondBatch, independentBatch));
+
+        // The independent batch is ready first, the two batches of the cycle follow in request order
+        assertEquals(batches(independentBatch, firstBatch, secondBatch), sortedList);
+    }
+
+    @Test
+    public void movesOldPermissionBatchBeforeNewPermissionBatch() {
+        TestPermission readStorage = new TestPermission("read_external_storage");
+        List<IPermission> newBatch = batch(new TestPermission("manage_external_storage").setOldPermissions(readStorage));
+        List<IPermission> oldBatch = batch(new TestPermission("read_external_storage"));
+
+        List<List<IPermission>> sortedList = PermissionBatchScheduler.sortByDependency(mActivity,
+                batches(newBatch, oldBatch));
+
+        assertEquals(batches(oldBatch, newBatch), sortedList);
+    }
+
+    @Test
+    public void keepsBatchWhoseForegroundPermissionIsGranted() {
+        TestPermission coarseLocation = new TestPermission("coarse_location").setGranted(false);
+        TestPermission fineLocation = new TestPermission("fine_location").setGranted(true);
+        List<IPermission> backgroundBatch = batch(new TestPermission("background_location", coarseLocation, fineLocation));
+        List<List<IPermission>> batchList = batches(backgroundBatch);
+
+        assertEquals(0, PermissionBatchScheduler.pruneUnreachableBatches(mActivity, batchList, 0));
+        assertEquals(batches(backgroundBatch), batchList);
+    }
+
+    @Test
+    public void keepsBatchWhoseForegroundPermissionIsRequestedBefore() {
+        TestPermission fineLocation = new TestPermission("fine_location").setGranted(false);
+        List<IPermission> foregroundBatch = batch(fineLocation);
+        List<IPermission> backgroundBatch = batch(new TestPermission("background_location", fineLocation));
+        List<List<IPermission>> batchList = batches(foregroundBatch, backgroundBatch);
+
+        assertEquals(0, PermissionBatchScheduler.pruneUnreachableBatches(mActivity, batchList, 0));
+        assertEquals(batches(foregroundBatch, backgroundBatch), batchList);
+    }
+
+    @Test
+    public void prunesBatchWhoseForegroundPermissionIsDenied() {
+        // A request made only of a background permission, whose foreground permission the user denied earlier
+        TestPermission fineLocation = new TestPermission("fine_location").setGranted(false);
+        List<IPermission> cameraBatch = batch(new TestPermission("camera"));
+        List<List<IPermission>> batchList = batches(batch(new TestPermission("background_location", fineLocation)), cameraBatch);
+
+        assertEquals(1, PermissionBatchScheduler.pruneUnreachableBatches(mActivity, batchList, 0));
+        assertEquals(batches(cameraBatch), batchList);
+    }
+
+    @Test
+    public void prunesDependentBatchesInOnePass() {
+        // The foreground batch was just requested and denied: the background batch that waits for it goes, and so does
+        // the batch that only waits for the background one
+        TestPermission fineLocation = new TestPermission("fine_location").setGranted(false);
+        TestPermission backgroundLocation = new TestPermission("background_location", fineLocation).setGranted(false);
+        List<IPermission> cameraBatch = batch(new TestPermission("camera"));
+        List<List<IPermission>> batchList = batches(batch(fineLocation), batch(backgroundLocation),
+                batch(new TestPermission("background_beacon", backgroundLocation)), cameraBatch);
+
+        assertEquals(2, PermissionBatchScheduler.pruneUnreachableBatches(mActivity, batchList, 1));
+        assertEquals(batches(batch(fineLocation), cameraBatch), batchList);
+    }
+
+    private static List<IPermission> batch(IPermission... permissions) {
+        return new ArrayList<>(Arrays.asList(permissions));
+    }
+
+    @SafeVarargs
+    private static List<List<IPermission>> batches(List<IPermission>... batches) {
+        List<List<IPermission>> batchList = new ArrayList<>(batches.length);
+        Collections.addAll(batchList, batches);
+        return batchList;
+    }
+}
@@ -0,0 +1,154 @@
+package com.hjq.permissions.core;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.content.pm.ActivityInfo;
+import android.content.pm.ResolveInfo;
+import android.net.Uri;
+import android.provider.Settings;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.annotation.Config;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/10/19
+ *    desc   : Tests of the batches planned by {@link PermissionRequestMainLogic#getUnauthorizedList(Activity, List)}
+ *             and of the settings visits they share
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public final class PermissionRequestMainLogicTest {
+
+    private static final String NOTIFICATION_SERVICE = "android.permission.NOTIFICATION_SERVICE";
+
+    private Activity mActivity;
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).get();
+    }
+
+    @Test
+    public void mergesChannelsLeadingToTheSamePage() {
+        // While notifications are off, every channel leads to the notification page of the app
+        addResolvableIntent(newAppNotificationIntent());
+        IPermission channel1 = newNotificationPermission("channel_1", newAppNotificationIntent());
+        IPermission channel2 = newNotificationPermission("channel_2", newAppNotificationIntent());
+        IPermission channel3 = newNotificationPermission("channel_3", newAppNotificationIntent());
+
+        List<List<IPermission>> planList = PermissionRequestMainLogic.getUnauthorizedList(mActivity,
+                Arrays.asList(channel1, channel2, channel3));
+
+        assertEquals(Arrays.asList(planList.get(1), planList.get(2)),
+                PermissionRequestMainLogic.findSettingsVisitBatches(mActivity, planList, 0));
+    }
+
+    @Test
+    public void keepsChannelPagesApart() {
+        // While notifications are on, every channel leads to its own page
+        addResolvableIntent(newChannelNotificationIntent("channel_1"));
+        addResolvableIntent(newAppNotificationIntent());
+        IPermission channel1 = newNotificationPermission("channel_1", newChannelNotificationIntent("channel_1"), newAppNotificationIntent());
+        IPermission channel2 = newNotificationPermission("channel_2", newChannelNotificationIntent("channel_2"), newAppNotificationIntent());
+
+        List<List<IPermission>> planList = PermissionRequestMainLogic.getUnauthorizedList(mActivity,
+                Arrays.asList(channel1, channel2));
+
+        assertEquals(Collections.emptyList(), PermissionRequestMainLogic.findSettingsVisitBatches(mActivity, planList, 0));
+    }
+
+    @Test
+    public void mergesPermissionsLandingOnTheAppDetailsPage() {
+        // Without the dedicated pages, both chains fall back to the app details page
+        addResolvableIntent(newAppDetailsIntent());
+        List<List<IPermission>> planList = PermissionRequestMainLogic.getUnauthorizedList(mActivity,
+                Arrays.asList(newOverlayPermission(), newWriteSettingsPermission()));
+
+        assertEquals(Collections.singletonList(planList.get(1)),
+                PermissionRequestMainLogic.findSettingsVisitBatches(mActivity, planList, 0));
+    }
+
+    @Test
+    public void keepsDedicatedPagesApart() {
+        addResolvableIntent(newPackageIntent(Settings.ACTION_MANAGE_OVERLAY_PERMISSION));
+        addResolvableIntent(newPackageIntent(Settings.ACTION_MANAGE_WRITE_SETTINGS));
+        addResolvableIntent(newAppDetailsIntent());
+        List<List<IPermission>> planList = PermissionRequestMainLogic.getUnauthorizedList(mActivity,
+                Arrays.asList(newOverlayPermission(), newWriteSettingsPermission()));
+
+        assertEquals(Collections.emptyList(), PermissionRequestMainLogic.findSettingsVisitBatches(mActivity, planList, 0));
+    }
+
+    @Test
+    public void requestsTheSameChannelOnce() {
+        IPermission channel1 = newNotificationPermission("channel_1", newAppNotificationIntent());
+        IPermission otherChannel1 = newNotificationPermission("channel_1", newAppNotificationIntent());
+        IPermission channel2 = newNotificationPermission("channel_2", newAppNotificationIntent());
+
+        List<List<IPermission>> unauthorizedList = PermissionRequestMainLogic.getUnauthorizedList(mActivity,
+                Arrays.asList(channel1, otherChannel1, channel2));
+
+        assertEquals(Arrays.asList(Collections.singletonList(channel1), Collections.singletonList(channel2)), unauthorizedList);
+    }
+
+    private static IPermission newNotificationPermission(String channelId, Intent... settingIntents) {
+        return new TestPermission(NOTIFICATION_SERVICE)
+                .setPermissionParameters(channelId)
+                .setPermissionSettingIntents(settingIntents);
+    }
+
+    private IPermission newOverlayPermission() {
+        return new TestPermission("android.permission.SYSTEM_ALERT_WINDOW")
+                .setPermissionSettingIntents(newPackageIntent(Settings.ACTION_MANAGE_OVERLAY_PERMISSION), newAppDetailsIntent());
+    }
+
+    private IPermission newWriteSettingsPermission() {
+        return new TestPermission("android.permission.WRITE_SETTINGS")
+                .setPermissionSettingIntents(newPackageIntent(Settings.ACTION_MANAGE_WRITE_SETTINGS), newAppDetailsIntent());
+    }
+
+    private Intent newPackageIntent(String action) {
+        return new Intent(action, Uri.parse("package:" + mActivity.getPackageName()));
+    }
+
+    private Intent newAppDetailsIntent() {
+        return newPackageIntent(Settings.ACTION_APPLICATION_DETAILS_SETTINGS);
+    }
+
+    /**
+     * Let the package manager resolve the Intent, as if a settings page handled it
+     */
+    private void addResolvableIntent(Intent intent) {
+        ResolveInfo resolveInfo = new ResolveInfo();
+        resolveInfo.isDefault = true;
+        resolveInfo.activityInfo = new ActivityInfo();
+        resolveInfo.activityInfo.packageName = "com.android.settings";
+        resolveInfo.activityInfo.name = "com.android.settings.SettingsActivity";
+        Shadows.shadowOf(mActivity.getPackageManager()).addResolveInfoForIntent(intent, resolveInfo);
+    }
+
+    private Intent newAppNotificationIntent() {
+        Intent intent = new Intent(Settings.ACTION_APP_NOTIFICATION_SETTINGS);
+        intent.putExtra(Settings.EXTRA_APP_PACKAGE, mActivity.getPackageName());
+        return intent;
+    }
+
+    private Intent newChannelNotificationIntent(String channelId) {
+        Intent intent = new Intent(Settings.ACTION_CHANNEL_NOTIFICATION_SETTINGS);
+        intent.putExtra(Settings.EXTRA_APP_PACKAGE, mActivity.getPackageName());
+        intent.putExtra(Settings.EXTRA_CHANNEL_ID, channelId);
+        return intent;
+    }
+}
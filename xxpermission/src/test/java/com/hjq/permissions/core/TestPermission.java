@@ -0,0 +1,141 @@
+package com.hjq.permissions.core;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Parcel;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.hjq.permissions.permission.PermissionChannel;
+import com.hjq.permissions.permission.PermissionPageType;
+import com.hjq.permissions.permission.base.IPermission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/10/19
+ *    desc   : Permission with a fixed grant state, foreground / old permissions and settings pages, for the planning tests
+ */
+final class TestPermission implements IPermission {
+
+    @NonNull
+    private final String mPermissionName;
+
+    @NonNull
+    private final List<IPermission> mForegroundPermissions;
+
+    @Nullable
+    private String mPermissionParameters;
+
+    @NonNull
+    private List<IPermission> mOldPermissions = new ArrayList<>(0);
+
+    @NonNull
+    private List<Intent> mPermissionSettingIntents = new ArrayList<>(0);
+
+    private boolean mGranted;
+
+    TestPermission(@NonNull String permissionName, @NonNull IPermission... foregroundPermissions) {
+        mPermissionName = permissionName;
+        mForegroundPermissions = new ArrayList<>(Arrays.asList(foregroundPermissions));
+    }
+
+    TestPermission setGranted(boolean granted) {
+        mGranted = granted;
+        return this;
+    }
+
+    TestPermission setPermissionParameters(@Nullable String permissionParameters) {
+        mPermissionParameters = permissionParameters;
+        return this;
+    }
+
+    TestPermission setOldPermissions(@NonNull IPermission... oldPermissions) {
+        mOldPermissions = new ArrayList<>(Arrays.asList(oldPermissions));
+        return this;
+    }
+
+    /**
+     * Set the settings pages of the permission, which then is granted on a settings page instead of a system dialog.
+     */
+    TestPermission setPermissionSettingIntents(@NonNull Intent... intents) {
+        mPermissionSettingIntents = new ArrayList<>(Arrays.asList(intents));
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public String getPermissionName() {
+        return mPermissionName;
+    }
+
+    @Nullable
+    @Override
+    public String getPermissionParameters() {
+        return mPermissionParameters;
+    }
+
+    @NonNull
+    @Override
+    public PermissionChannel getPermissionChannel(@NonNull Context context) {
+        return mPermissionSettingIntents.isEmpty() ? PermissionChannel.REQUEST_PERMISSIONS : PermissionChannel.START_ACTIVITY_FOR_RESULT;
+    }
+
+    @NonNull
+    @Override
+    public PermissionPageType getPermissionPageType(@NonNull Context context) {
+        return PermissionPageType.TRANSPARENT_ACTIVITY;
+    }
+
+    @Override
+    public int getFromAndroidVersion(@NonNull Context context) {
+        return 0;
+    }
+
+    @Nullable
+    @Override
+    public List<IPermission> getForegroundPermissions(@NonNull Context context) {
+        return mForegroundPermissions.isEmpty() ? null : mForegroundPermissions;
+    }
+
+    @Nullable
+    @Override
+    public List<IPermission> getOldPermissions(Context context) {
+        return mOldPermissions.isEmpty() ? null : mOldPermissions;
+    }
+
+    @Override
+    public boolean isGrantedPermission(@NonNull Context context, boolean skipRequest) {
+        return mGranted;
+    }
+
+    @Override
+    public boolean isDoNotAskAgainPermission(@NonNull Activity activity) {
+        return false;
+    }
+
+    @NonNull
+    @Override
+    public List<Intent> getPermissionSettingIntents(@NonNull Context context, boolean skipRequest) {
+        return new ArrayList<>(mPermissionSettingIntents);
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(@NonNull Parcel dest, int flags) {
+        dest.writeString(mPermissionName);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return mPermissionParameters == null ? mPermissionName : mPermissionName + "(" + mPermissionParameters + ")";
+    }
+}
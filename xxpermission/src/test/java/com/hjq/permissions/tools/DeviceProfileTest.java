@@ -0,0 +1,62 @@
+package com.hjq.permissions.tools;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/10/19
+ *    desc   : Tests of the HyperOS 2.0.0 ~ 2.0.5 version matching of {@link DeviceProfile}, which replaced "^2\.0\.[0-5]\.\d+$"
+ */
+public final class DeviceProfileTest {
+
+    @Test
+    public void matchesBrokenHyperOsVersions() {
+        assertTrue(isPermissionPageBroken("2.0.0.1"));
+        assertTrue(isPermissionPageBroken("2.0.3.42"));
+        assertTrue(isPermissionPageBroken("2.0.5.0"));
+        assertTrue(isPermissionPageBroken("2.0.5.1234567"));
+    }
+
+    @Test
+    public void ignoresOtherPatchVersions() {
+        assertFalse(isPermissionPageBroken("2.0.6.1"));
+        assertFalse(isPermissionPageBroken("2.0.9.0"));
+        assertFalse(isPermissionPageBroken("2.0.10.1"));
+        assertFalse(isPermissionPageBroken("2.1.0.1"));
+        assertFalse(isPermissionPageBroken("1.0.5.1"));
+        assertFalse(isPermissionPageBroken("12.0.5.1"));
+    }
+
+    @Test
+    public void ignoresMalformedVersions() {
+        assertFalse(isPermissionPageBroken(""));
+        assertFalse(isPermissionPageBroken("2.0."));
+        assertFalse(isPermissionPageBroken("2.0.5"));
+        assertFalse(isPermissionPageBroken("2.0.5."));
+        assertFalse(isPermissionPageBroken("2.0.5x1"));
+        assertFalse(isPermissionPageBroken("2.0.5.1a"));
+        assertFalse(isPermissionPageBroken("2.0.5.1.0"));
+        assertFalse(isPermissionPageBroken("V2.0.5.1"));
+    }
+
+    @Test
+    public void onlyAppliesToHyperOs() {
+        DeviceProfile deviceProfile = new DeviceProfile.Builder()
+                .setMiui(true)
+                .setOsVersionName("2.0.3.1")
+                .build();
+        assertFalse(deviceProfile.isHyperOsPermissionPageBroken());
+    }
+
+    private static boolean isPermissionPageBroken(String osVersionName) {
+        return new DeviceProfile.Builder()
+                .setHyperOs(true)
+                .setOsVersionName(osVersionName)
+                .build()
+                .isHyperOsPermissionPageBroken();
+    }
+}
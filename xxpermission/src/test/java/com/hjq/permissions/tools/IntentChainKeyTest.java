@@ -0,0 +1,90 @@
+package com.hjq.permissions.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import android.content.Intent;
+import android.net.Uri;
+import android.provider.Settings;
+import com.hjq.permissions.tools.PermissionApi.IntentChainKey;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/10/19
+ *    desc   : Tests of the grouping of settings Intent chains by {@link IntentChainKey}
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public final class IntentChainKeyTest {
+
+    private static final Uri PACKAGE_URI = Uri.parse("package:com.hjq.permissions.demo");
+
+    @Test
+    public void groupsChainsLeadingToTheSamePages() {
+        IntentChainKey chainKey1 = new IntentChainKey(Arrays.asList(
+                new Intent(Settings.ACTION_APPLICATION_DETAILS_SETTINGS, PACKAGE_URI),
+                new Intent(Settings.ACTION_SETTINGS)));
+        IntentChainKey chainKey2 = new IntentChainKey(Arrays.asList(
+                new Intent(Settings.ACTION_APPLICATION_DETAILS_SETTINGS, PACKAGE_URI),
+                new Intent(Settings.ACTION_SETTINGS)));
+
+        assertEquals(chainKey1, chainKey2);
+        assertEquals(chainKey1.hashCode(), chainKey2.hashCode());
+    }
+
+    @Test
+    public void comparesExtras() {
+        // The extras may change the page an Intent leads to (e.g. the notification channel to show)
+        IntentChainKey chainKey1 = new IntentChainKey(Arrays.asList(newChannelNotificationIntent("channel_1")));
+        IntentChainKey chainKey2 = new IntentChainKey(Arrays.asList(newChannelNotificationIntent("channel_1")));
+
+        assertEquals(chainKey1, chainKey2);
+        assertEquals(chainKey1.hashCode(), chainKey2.hashCode());
+        assertNotEquals(chainKey1, new IntentChainKey(Arrays.asList(newChannelNotificationIntent("channel_2"))));
+    }
+
+    @Test
+    public void separatesDifferentPagesAndOrders() {
+        Intent detailsIntent = new Intent(Settings.ACTION_APPLICATION_DETAILS_SETTINGS, PACKAGE_URI);
+        Intent settingsIntent = new Intent(Settings.ACTION_SETTINGS);
+        IntentChainKey chainKey = new IntentChainKey(Arrays.asList(detailsIntent, settingsIntent));
+
+        assertNotEquals(chainKey, new IntentChainKey(Arrays.asList(settingsIntent, detailsIntent)));
+        assertNotEquals(chainKey, new IntentChainKey(Arrays.asList(detailsIntent)));
+        assertNotEquals(chainKey, new IntentChainKey(Arrays.asList(
+                new Intent(Settings.ACTION_APPLICATION_DETAILS_SETTINGS, Uri.parse("package:com.hjq.permissions.other")),
+                settingsIntent)));
+    }
+
+    @Test
+    public void keepsTheFirstChainOfEachGroupInRequestOrder() {
+        List<Intent> overlayChain = Arrays.asList(new Intent(Settings.ACTION_MANAGE_OVERLAY_PERMISSION, PACKAGE_URI));
+        List<Intent> detailsChain = Arrays.asList(new Intent(Settings.ACTION_APPLICATION_DETAILS_SETTINGS, PACKAGE_URI));
+        List<Intent> otherDetailsChain = Arrays.asList(new Intent(Settings.ACTION_APPLICATION_DETAILS_SETTINGS, PACKAGE_URI));
+
+        Set<IntentChainKey> chainGroups = new LinkedHashSet<>();
+        chainGroups.add(new IntentChainKey(detailsChain));
+        chainGroups.add(new IntentChainKey(overlayChain));
+        chainGroups.add(new IntentChainKey(otherDetailsChain));
+
+        assertEquals(2, chainGroups.size());
+        assertEquals(Arrays.asList(new IntentChainKey(detailsChain), new IntentChainKey(overlayChain)),
+                Arrays.asList(chainGroups.toArray()));
+    }
+
+    private static Intent newChannelNotificationIntent(String channelId) {
+        Intent intent = new Intent(Settings.ACTION_CHANNEL_NOTIFICATION_SETTINGS);
+        intent.putExtra(Settings.EXTRA_APP_PACKAGE, "com.hjq.permissions.demo");
+        intent.putExtra(Settings.EXTRA_CHANNEL_ID, channelId);
+        return intent;
+    }
+}
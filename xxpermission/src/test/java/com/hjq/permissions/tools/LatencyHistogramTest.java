@@ -0,0 +1,96 @@
+package com.hjq.permissions.tools;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ *    author : Android 轮子哥
+ *    github : https://github.com/getActivity/XXPermissions
+ *    time   : 2025/10/19
+ *    desc   : Tests of the bucketing of {@link LatencyHistogram}
+ */
+public final class LatencyHistogramTest {
+
+    @Test
+    public void recordsBoundsInclusively() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(50);
+        histogram.record(51);
+        histogram.record(100);
+        histogram.record(300000);
+        histogram.record(300001);
+
+        long[] expected = new long[LatencyHistogram.Snapshot.getBucketBounds().length + 1];
+        // 50 and 100 are the upper bounds of the first two buckets, 51 is the first value of the second one
+        expected[0] = 1;
+        expected[1] = 2;
+        // 300000 is the bound of the last bounded bucket, anything above goes to the unbounded one
+        expected[expected.length - 2] = 1;
+        expected[expected.length - 1] = 1;
+        assertArrayEquals(expected, histogram.snapshot().getBucketCounts());
+    }
+
+    @Test
+    public void recordsNegativeValuesAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-10);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1, snapshot.getCount());
+        assertEquals(0, snapshot.getSum());
+        assertEquals(1, snapshot.getBucketCounts()[0]);
+    }
+
+    @Test
+    public void computesCountSumAndMean() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(20);
+        histogram.record(90);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(3, snapshot.getCount());
+        assertEquals(120, snapshot.getSum());
+        assertEquals(40, snapshot.getMean());
+    }
+
+    @Test
+    public void returnsBucketBoundOfPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(30);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(700);
+        }
+        histogram.record(400000);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(50, snapshot.getPercentile(50));
+        assertEquals(50, snapshot.getPercentile(90));
+        assertEquals(1000, snapshot.getPercentile(99));
+        assertEquals(Long.MAX_VALUE, snapshot.getPercentile(100));
+    }
+
+    @Test
+    public void emptyHistogramReturnsZero() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMean());
+        assertEquals(0, snapshot.getPercentile(99));
+    }
+
+    @Test
+    public void resetForgetsEveryValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(100000);
+        histogram.reset();
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getSum());
+    }
+}